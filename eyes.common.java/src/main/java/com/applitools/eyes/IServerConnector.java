@@ -22,6 +22,7 @@ public interface IServerConnector {
     String RESOURCES_SHA_256 = "/resources/sha256/";
     String RENDER_STATUS = "/render-status";
     String RENDER = "/render";
+    String RESOURCES_EXIST = "/query/resources-exist";
 
     int TIMEOUT = 1000 * 60 * 5; // 5 Minutes
     String API_PATH = "/" + API_SESSIONS + "/running";
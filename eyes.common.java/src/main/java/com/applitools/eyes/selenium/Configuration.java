@@ -3,6 +3,7 @@ package com.applitools.eyes.selenium;
 import com.applitools.eyes.ImageMatchSettings;
 import com.applitools.eyes.RectangleSize;
 import com.applitools.eyes.visualgrid.model.*;
+import com.applitools.eyes.visualgrid.services.ServiceExecutorConfiguration;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,6 +24,8 @@ public class Configuration extends com.applitools.eyes.config.Configuration impl
 
     private List<DesktopBrowserInfo> browsersInfo = new ArrayList<>();
 
+    private ServiceExecutorConfiguration serviceExecutorConfiguration = null;
+
     @SuppressWarnings("IncompleteCopyConstructor")
     public Configuration(IConfigurationGetter other) {
         super(other);
@@ -33,6 +36,7 @@ public class Configuration extends com.applitools.eyes.config.Configuration impl
         this.hideCaret = other.getHideCaret();
         this.isRenderingConfig = other.isRenderingConfig();
         this.browsersInfo.addAll(other.getBrowsersInfo());
+        this.serviceExecutorConfiguration = other.getServiceExecutorConfiguration();
         this.defaultMatchSettings = new ImageMatchSettings(other.getDefaultMatchSettings());
     }
 
@@ -265,6 +269,17 @@ public class Configuration extends com.applitools.eyes.config.Configuration impl
         return this;
     }
 
+    @Override
+    public ServiceExecutorConfiguration getServiceExecutorConfiguration() {
+        return serviceExecutorConfiguration;
+    }
+
+    @Override
+    public IConfigurationSetter setServiceExecutorConfiguration(ServiceExecutorConfiguration serviceExecutorConfiguration) {
+        this.serviceExecutorConfiguration = serviceExecutorConfiguration;
+        return this;
+    }
+
     @Override
     public String toString() {
         return super.toString() +
@@ -2,6 +2,7 @@ package com.applitools.eyes.selenium;
 
 import com.applitools.eyes.config.Configuration;
 import com.applitools.eyes.visualgrid.model.DesktopBrowserInfo;
+import com.applitools.eyes.visualgrid.services.ServiceExecutorConfiguration;
 
 import java.util.List;
 
@@ -28,4 +29,6 @@ public interface IConfigurationGetter extends com.applitools.eyes.config.IConfig
     Configuration cloneConfig();
 
     boolean isVisualGrid();
+
+    ServiceExecutorConfiguration getServiceExecutorConfiguration();
 }
@@ -1,6 +1,7 @@
 package com.applitools.eyes.selenium;
 
 import com.applitools.eyes.visualgrid.model.*;
+import com.applitools.eyes.visualgrid.services.ServiceExecutorConfiguration;
 
 import java.util.List;
 
@@ -45,4 +46,10 @@ public interface IConfigurationSetter extends com.applitools.eyes.config.IConfig
 
     IConfigurationSetter setRenderingConfig(boolean renderingConfig);
 
+    /**
+     * Sets the thread pool settings of the services of the visual grid runner the test is opened with.
+     * The settings are applied when the first test of the runner is opened.
+     */
+    IConfigurationSetter setServiceExecutorConfiguration(ServiceExecutorConfiguration serviceExecutorConfiguration);
+
 }
@@ -1,8 +1,6 @@
 package com.applitools.eyes.visualgrid.model;
 
 
-import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 public class BlobData {
@@ -12,7 +10,8 @@ public class BlobData {
 
     private String type;
 
-    private String value;
+    // Decoded by the json parser from the base64 value, without an intermediate string
+    private byte[] value;
 
     public BlobData() {
     }
@@ -33,12 +32,15 @@ public class BlobData {
         this.type = type;
     }
 
-    public String getValue() {
+    public byte[] getValue() {
         return value;
     }
 
-    public void setValue(String value) {
-        this.value = value.getBytes(StandardCharsets.UTF_8).length > MAX_RESOURCE_SIZE ? new String(Arrays.copyOf(value.getBytes(StandardCharsets.UTF_8), MAX_RESOURCE_SIZE)) : value;
+    public void setValue(byte[] value) {
+        if (value == null) {
+            value = new byte[0];
+        }
+        this.value = value.length > MAX_RESOURCE_SIZE ? Arrays.copyOf(value, MAX_RESOURCE_SIZE) : value;
     }
 
     @Override
@@ -0,0 +1,40 @@
+package com.applitools.eyes.visualgrid.model;
+
+public class HashObject {
+
+    private String hashFormat;
+
+    private String hash;
+
+    public HashObject() {
+    }
+
+    public HashObject(String hashFormat, String hash) {
+        this.hashFormat = hashFormat;
+        this.hash = hash;
+    }
+
+    public String getHashFormat() {
+        return hashFormat;
+    }
+
+    public void setHashFormat(String hashFormat) {
+        this.hashFormat = hashFormat;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    @Override
+    public String toString() {
+        return "HashObject{" +
+                "hashFormat='" + hashFormat + '\'' +
+                ", hash='" + hash + '\'' +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.applitools.eyes.visualgrid.model;
 
+import com.applitools.eyes.EyesException;
 import com.applitools.eyes.Logger;
 import com.applitools.utils.GeneralUtils;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -9,16 +10,23 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 
 public class RGridDom {
 
     public static final String CONTENT_TYPE = "x-applitools-html/cdt";
 
+    /**
+     * Sorted properties make the serialized dom, and therefore its hash, deterministic.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+
     @JsonIgnore
     private List domNodes = null;
 
@@ -40,6 +48,8 @@ public class RGridDom {
     private String msg;
     @JsonIgnore
     private RGridResource gridResource;
+    @JsonIgnore
+    private byte[] content;
 
     public RGridDom() {
     }
@@ -52,65 +62,96 @@ public class RGridDom {
         this.msg = msg;
     }
 
-    public void addResource(RGridResource resource) {
+    public synchronized void addResource(RGridResource resource) {
         this.resources.put(resource.getUrl(), resource);
+        clearSerialization();
     }
 
+    /**
+     * @return A read only view of the dom nodes, since changing them would leave the kept serialization stale.
+     */
     public List getDomNodes() {
-        return domNodes;
+        return domNodes == null ? null : Collections.unmodifiableList(domNodes);
     }
 
-    public void setDomNodes(List domNodes) {
+    public synchronized void setDomNodes(List domNodes) {
         this.domNodes = domNodes;
+        clearSerialization();
     }
 
+    /**
+     * @return A read only view of the resources, use {@link #addResource} to add a resource.
+     */
     public Map<String, RGridResource> getResources() {
-        return resources;
+        return resources == null ? null : Collections.unmodifiableMap(resources);
     }
 
-    public void setResources(Map<String, RGridResource> resources) {
+    public synchronized void setResources(Map<String, RGridResource> resources) {
         this.resources = resources;
+        clearSerialization();
     }
 
     @JsonProperty("hash")
-    public String getSha256() throws JsonProcessingException {
-        if (this.sha256 == null) {
-            sha256 = GeneralUtils.getSha256hash((getStringObjectMap().getBytes(StandardCharsets.UTF_8)));
-        }
+    public synchronized String getSha256() throws JsonProcessingException {
+        serialize();
         return sha256;
     }
 
-    private String getStringObjectMap() throws JsonProcessingException {
+    /**
+     * Serializes the dom in a single pass which calculates its sha256 while writing its bytes.
+     * The result is kept until the dom changes.
+     */
+    private synchronized void serialize() throws JsonProcessingException {
+        if (content != null) {
+            return;
+        }
 
         Map<String, Object> map = new HashMap<>();
         map.put("domNodes", this.domNodes);
         map.put("resources", this.resources);
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            DigestOutputStream digestOutputStream = new DigestOutputStream(outputStream, digest);
+            objectMapper.writeValue(digestOutputStream, map);
+            content = outputStream.toByteArray();
+            sha256 = GeneralUtils.toHexString(digest.digest());
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new EyesException("Failed serializing dom", e);
+        }
+    }
 
-        return objectMapper.writeValueAsString(map);
+    private void clearSerialization() {
+        content = null;
+        sha256 = null;
+        gridResource = null;
     }
 
     public String getHashFormat() {
         return hashFormat;
     }
 
-    public RGridResource asResource() throws JsonProcessingException {
-       if (gridResource == null) {
-           gridResource =  new RGridResource(this.url, CONTENT_TYPE, getStringObjectMap().getBytes(StandardCharsets.UTF_8));
-       }
+    public synchronized RGridResource asResource() throws JsonProcessingException {
+        if (gridResource == null) {
+            serialize();
+            gridResource = new RGridResource(this.url, CONTENT_TYPE, content, sha256);
+        }
         return gridResource;
     }
 
-    public void addResources(ArrayList<RGridResource> frameResourceUrlsMapping) {
+    public synchronized void addResources(ArrayList<RGridResource> frameResourceUrlsMapping) {
         for (RGridResource gridResource : frameResourceUrlsMapping) {
             this.resources.put(gridResource.getUrl(), gridResource);
         }
+        clearSerialization();
     }
 
-    public void setUrl(String url) {
+    public synchronized void setUrl(String url) {
         this.url = url;
+        gridResource = null;
     }
 
 
@@ -44,6 +44,21 @@ public class RGridResource {
         this.url = url;
     }
 
+    /**
+     * Creates a resource whose sha256 was already calculated while its content was produced.
+     */
+    RGridResource(String url, String contentType, byte[] content, String sha256) {
+        this.contentType = contentType;
+        if (content.length > MAX_RESOURCE_SIZE) {
+            this.content = Arrays.copyOf(content, MAX_RESOURCE_SIZE);
+            this.sha256 = GeneralUtils.getSha256hash(this.content);
+        } else {
+            this.content = content;
+            this.sha256 = sha256;
+        }
+        this.url = url;
+    }
+
     public String getContentType() {
         return contentType;
     }
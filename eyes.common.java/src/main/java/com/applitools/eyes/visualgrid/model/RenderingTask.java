@@ -7,6 +7,12 @@ import com.applitools.eyes.Logger;
 import com.applitools.eyes.TaskListener;
 import com.applitools.eyes.UserAgent;
 import com.applitools.eyes.visualgrid.services.IEyesConnector;
+import com.applitools.eyes.visualgrid.services.InFlightRequests;
+import com.applitools.eyes.visualgrid.services.RenderRequestBatcher;
+import com.applitools.eyes.visualgrid.services.RenderStatusPoller;
+import com.applitools.eyes.visualgrid.services.ResourceFetchScheduler;
+import com.applitools.eyes.visualgrid.services.ResourceStatusBatcher;
+import com.applitools.eyes.visualgrid.services.RunningTest;
 import com.applitools.eyes.visualgrid.services.VisualGridRunner;
 import com.applitools.eyes.visualgrid.services.VisualGridTask;
 import com.applitools.utils.GeneralUtils;
@@ -17,7 +23,6 @@ import com.helger.commons.collection.impl.ICommonsList;
 import com.helger.css.ECSSVersion;
 import com.helger.css.decl.*;
 import com.helger.css.reader.CSSReader;
-import org.apache.commons.codec.binary.Base64;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -29,10 +34,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Phaser;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -63,31 +65,32 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
     private FrameData domData;
     private AtomicInteger framesLevel = new AtomicInteger();
     private RGridDom dom = null;
-    private Timer timer = new Timer("VG_StopWatch", true);
-    private AtomicBoolean isTimeElapsed = new AtomicBoolean(false);
+
+    // Executor for parsing downloaded resources, so the http callback threads aren't blocked by css / svg parsing
+    private ExecutorService parsingExecutor;
+
+    // Groups the existence checks of resources with the checks of other rendering tasks
+    private ResourceStatusBatcher resourceStatusBatcher;
+
+    // Groups the render requests with the requests of other rendering tasks
+    private RenderRequestBatcher renderRequestBatcher;
+
+    // Polls the status of the renders of all rendering tasks, so no thread waits for the renders of this task
+    private RenderStatusPoller renderStatusPoller;
+
+    // The requests of the running renders by their render id and the open tasks waiting for them by their test, guarded by this
+    private Map<String, RenderRequest> requestsByRenderId;
+    private Map<RunningTest, List<VisualGridTask>> openTasksByTest;
+    private final Set<String> doneRenderIds = new HashSet<>();
 
     // Phaser for syncing all futures downloading resources
     Phaser resourcesPhaser = new Phaser();
 
-    // Listener for putResource tasks
-    private TaskListener<Boolean> putListener = new TaskListener<Boolean>() {
-        @Override
-        public void onComplete(Boolean isSucceeded) {
-            try {
-                if (!isSucceeded) {
-                    logger.log("Failed putting resource");
-                }
-            } finally {
-                resourcesPhaser.arriveAndDeregister();
-            }
-        }
-
-        @Override
-        public void onFail() {
-            resourcesPhaser.arriveAndDeregister();
-            logger.log("Failed putting resource");
-        }
-    };
+    // Shared between all rendering tasks so concurrent requests for the same resource use a single network operation
+    private InFlightRequests<RGridResource> inFlightDownloads;
+    private InFlightRequests<Boolean> inFlightPuts;
+    private ResourceFetchScheduler resourceFetchScheduler;
+    private volatile long resourcesFetchTime = -1;
 
     @SuppressWarnings({"unused", "FieldCanBeLocal"})
     private boolean isTaskStarted = false;
@@ -105,13 +108,20 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
     }
 
     RenderingTask(IEyesConnector eyesConnector, List<VisualGridTask> visualGridTaskList, UserAgent userAgent) {
+        this(eyesConnector, visualGridTaskList, userAgent, null);
+    }
+
+    RenderingTask(IEyesConnector eyesConnector, List<VisualGridTask> visualGridTaskList, UserAgent userAgent, ExecutorService parsingExecutor) {
         this.eyesConnector = eyesConnector;
+        this.parsingExecutor = parsingExecutor;
         this.visualGridTaskList = visualGridTaskList;
         this.userAgent = userAgent;
         fetchedCacheMap = new HashMap<>();
         logger = new Logger();
         regionSelectors = new ArrayList<>();
         putResourceCache = new HashMap<>();
+        inFlightDownloads = new InFlightRequests<>(logger);
+        inFlightPuts = new InFlightRequests<>(logger);
     }
 
     public RenderingTask(IEyesConnector eyesConnector, FrameData domData, ICheckSettings checkSettings,
@@ -127,6 +137,13 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         this.fetchedCacheMap = renderingGridManager.getCachedResources();
         this.putResourceCache = renderingGridManager.getPutResourceCache();
         this.logger = renderingGridManager.getLogger();
+        this.parsingExecutor = renderingGridManager.getResourceParsingExecutor();
+        this.resourceStatusBatcher = renderingGridManager.getResourceStatusBatcher();
+        this.renderRequestBatcher = renderingGridManager.getRenderRequestBatcher();
+        this.renderStatusPoller = renderingGridManager.getRenderStatusPoller();
+        this.inFlightDownloads = renderingGridManager.getInFlightDownloads();
+        this.inFlightPuts = renderingGridManager.getInFlightPuts();
+        this.resourceFetchScheduler = renderingGridManager.getResourceFetchScheduler();
         this.debugResourceWriter = debugResourceWriter;
         this.userAgent = userAgent;
         this.regionSelectors = regionSelectors;
@@ -159,7 +176,7 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
             List<RunningRender> runningRenders = null;
             do {
                 try {
-                    runningRenders = this.eyesConnector.render(requests);
+                    runningRenders = renderRequestBatcher.render(this.eyesConnector, requests);
                 } catch (Exception e) {
                     Thread.sleep(1500);
                     logger.verbose("/render throws exception... sleeping for 1.5s");
@@ -222,17 +239,14 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
 
             } while (stillRunning);
 
-            Map<RunningRender, RenderRequest> mapping = mapRequestToRunningRender(runningRenders, requests);
-
             logger.verbose("step 4");
-            pollRenderingStatus(mapping);
-
-            isTaskCompleted = true;
+            pollRenderingStatus(mapRequestsByRenderId(runningRenders, requests));
         } catch (Throwable e) {
             GeneralUtils.logExceptionStackTrace(logger, e);
             for (VisualGridTask visualGridTask : this.visualGridTaskList) {
                 visualGridTask.setExceptionAndAbort(e);
             }
+            notifyFailureAllListeners(e instanceof Exception ? (Exception) e : new EyesException("Rendering task failed", e));
         }
         logger.verbose("Finished rendering task - exit");
 
@@ -249,14 +263,14 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
 
     private void forcePutAllResources(Map<String, RGridResource> resources, RGridDom dom, RunningRender runningRender) {
         resourcesPhaser = new Phaser();
-        Set<String> strings = resources.keySet();
+        Map<String, RGridResource> resourcesToPut = new HashMap<>();
+        List<RGridResource> domResources = new ArrayList<>();
         try {
-            resourcesPhaser.register();
-            this.eyesConnector.renderPutResource(runningRender, dom.asResource(), userAgent.getOriginalUserAgentString(), putListener);
+            domResources.add(dom.asResource());
         } catch (JsonProcessingException e) {
-            e.printStackTrace();
+            GeneralUtils.logExceptionStackTrace(logger, e);
         }
-        for (String url : strings) {
+        for (String url : resources.keySet()) {
             try {
                 logger.verbose("trying to get url from map - " + url);
                 RGridResource resource = null;
@@ -273,25 +287,108 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
                     continue;
                 }
 
-                resourcesPhaser.register();
-                this.eyesConnector.renderPutResource(runningRender, resource, userAgent.getOriginalUserAgentString(), putListener);
-                logger.verbose("locking putResourceCache");
-                synchronized (putResourceCache) {
-                    String contentType = resource.getContentType();
-                    if (contentType != null && !contentType.equalsIgnoreCase(RGridDom.CONTENT_TYPE)) {
-                        putResourceCache.put(url, resource);
-                    }
-                }
+                resourcesToPut.put(url, resource);
+            } catch (Exception e) {
+                GeneralUtils.logExceptionStackTrace(logger, e);
+            }
+        }
+
+        // Force put uploads all the resources again, even those which exist on the server
+        for (RGridResource domResource : domResources) {
+            putResource(runningRender, domResource.getUrl(), domResource);
+        }
+
+        for (Map.Entry<String, RGridResource> entry : resourcesToPut.entrySet()) {
+            try {
+                putResource(runningRender, entry.getKey(), entry.getValue());
             } catch (Exception e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
             }
         }
     }
 
+    private void putResourceIfMissing(RunningRender runningRender, String url, RGridResource resource, Set<String> missingHashes) {
+        if (!missingHashes.contains(resource.getSha256())) {
+            logger.verbose("resource(" + resource.getUrl() + ") already exists on the server");
+            addToPutResourceCache(url, resource);
+            return;
+        }
+
+        putResource(runningRender, url, resource);
+    }
+
+    /**
+     * Puts a resource, or joins the put of the same resource if another rendering task is already putting it.
+     * The resource is added to the put cache only after the put succeeded.
+     */
+    private void putResource(RunningRender runningRender, final String url, final RGridResource resource) {
+        resourcesPhaser.register();
+        TaskListener<Boolean> listener = new TaskListener<Boolean>() {
+            @Override
+            public void onComplete(Boolean isSucceeded) {
+                try {
+                    if (isSucceeded) {
+                        addToPutResourceCache(url, resource);
+                    } else {
+                        logger.log("Failed putting resource");
+                    }
+                } finally {
+                    resourcesPhaser.arriveAndDeregister();
+                }
+            }
+
+            @Override
+            public void onFail() {
+                resourcesPhaser.arriveAndDeregister();
+                logger.log("Failed putting resource");
+            }
+        };
+
+        TaskListener<Boolean> putListener = inFlightPuts.register(resource.getSha256(), listener);
+        if (putListener == null) {
+            logger.verbose("resource(" + resource.getUrl() + ") is already being put by another task");
+            return;
+        }
+
+        this.eyesConnector.renderPutResource(runningRender, resource, userAgent.getOriginalUserAgentString(), putListener);
+    }
+
+    private void addToPutResourceCache(String url, RGridResource resource) {
+        String contentType = resource.getContentType();
+        if (contentType == null || contentType.equalsIgnoreCase(RGridDom.CONTENT_TYPE)) {
+            return;
+        }
+
+        synchronized (putResourceCache) {
+            putResourceCache.put(url, resource);
+        }
+    }
+
+    /**
+     * Checks which resources are missing on the server. The check is batched with the checks of other rendering tasks.
+     * @return The hashes of the missing resources
+     */
+    private Set<String> getMissingHashes(Collection<RGridResource> resources) {
+        Set<String> hashes = new HashSet<>();
+        for (RGridResource resource : resources) {
+            hashes.add(resource.getSha256());
+        }
+
+        if (resourceStatusBatcher == null) {
+            return hashes;
+        }
+
+        Set<String> missingHashes = resourceStatusBatcher.getMissingHashes(eyesConnector, hashes);
+        logger.verbose(String.format("%d of %d resources are missing on the server", missingHashes.size(), hashes.size()));
+        return missingHashes;
+    }
+
     private void setRenderErrorToTasks(RenderRequest[] requests) {
+        Map<RunningTest, List<VisualGridTask>> openTasks = indexOpenTasksByTest();
         for (RenderRequest renderRequest : requests) {
-            for (VisualGridTask openTask : openVisualGridTaskList) {
-                if (openTask.getRunningTest() == renderRequest.getVisualGridTask().getRunningTest()) {
+            List<VisualGridTask> testOpenTasks = openTasks.get(renderRequest.getVisualGridTask().getRunningTest());
+            if (testOpenTasks != null) {
+                for (VisualGridTask openTask : testOpenTasks) {
                     openTask.setRenderError(null, "Invalid response for render request");
                 }
             }
@@ -299,18 +396,38 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         }
     }
 
+    private Map<RunningTest, List<VisualGridTask>> indexOpenTasksByTest() {
+        Map<RunningTest, List<VisualGridTask>> openTasks = new HashMap<>();
+        if (openVisualGridTaskList == null) {
+            return openTasks;
+        }
+        for (VisualGridTask openTask : openVisualGridTaskList) {
+            List<VisualGridTask> testOpenTasks = openTasks.get(openTask.getRunningTest());
+            if (testOpenTasks == null) {
+                testOpenTasks = new ArrayList<>(1);
+                openTasks.put(openTask.getRunningTest(), testOpenTasks);
+            }
+            testOpenTasks.add(openTask);
+        }
+        return openTasks;
+    }
+
     private void notifySuccessAllListeners() {
         for (RenderTaskListener listener : listeners) {
             listener.onRenderSuccess();
         }
     }
 
-    private Map<RunningRender, RenderRequest> mapRequestToRunningRender(List<RunningRender> runningRenders, RenderRequest[] requests) {
-        Map<RunningRender, RenderRequest> mapping = new HashMap<>();
+    private void notifyFailureAllListeners(Exception e) {
+        for (RenderTaskListener listener : listeners) {
+            listener.onRenderFailed(e);
+        }
+    }
+
+    private Map<String, RenderRequest> mapRequestsByRenderId(List<RunningRender> runningRenders, RenderRequest[] requests) {
+        Map<String, RenderRequest> mapping = new LinkedHashMap<>();
         for (int i = 0; i < requests.length; i++) {
-            RenderRequest request = requests[i];
-            RunningRender runningRender = runningRenders.get(i);
-            mapping.put(runningRender, request);
+            mapping.put(runningRenders.get(i).getRenderId(), requests[i]);
         }
         return mapping;
     }
@@ -332,36 +449,49 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         return worstStatus;
     }
 
-    private List<String> getRenderIds(Collection<RunningRender> runningRenders) {
-        List<String> ids = new ArrayList<>();
-        for (RunningRender runningRender : runningRenders) {
-            ids.add(runningRender.getRenderId());
-        }
-        return ids;
-    }
-
+    /**
+     * Puts the resources the renders need. Resources which other rendering tasks have put meanwhile are skipped,
+     * with a single existence check which is batched with the checks of the other rendering tasks.
+     */
     private void sendMissingResources(List<RunningRender> runningRenders, RGridDom dom, Map<String, RGridResource> resources, boolean isNeedMoreDom) {
         logger.verbose("enter");
         resourcesPhaser = new Phaser();
+        Map<RunningRender, Map<String, RGridResource>> resourcesByRender = new LinkedHashMap<>();
+        List<RGridResource> allResources = new ArrayList<>();
+        RGridResource domResource = null;
         if (isNeedMoreDom) {
-            RunningRender runningRender = runningRenders.get(0);
             try {
-                resourcesPhaser.register();
-                this.eyesConnector.renderPutResource(runningRender, dom.asResource(), userAgent.getOriginalUserAgentString(), putListener);
+                domResource = dom.asResource();
+                allResources.add(domResource);
             } catch (Throwable e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
             }
         }
 
-        logger.verbose("creating PutFutures for " + runningRenders.size() + " runningRenders");
-
+        logger.verbose("collecting missing resources of " + runningRenders.size() + " runningRenders");
         for (RunningRender runningRender : runningRenders) {
-            createPutFutures(runningRender, resources);
+            Map<String, RGridResource> renderResources = collectNeededResources(runningRender, resources);
+            resourcesByRender.put(runningRender, renderResources);
+            allResources.addAll(renderResources.values());
+        }
+
+        Set<String> missingHashes = getMissingHashes(allResources);
+        if (domResource != null) {
+            putResourceIfMissing(runningRenders.get(0), domResource.getUrl(), domResource, missingHashes);
+        }
+        for (Map.Entry<RunningRender, Map<String, RGridResource>> renderResources : resourcesByRender.entrySet()) {
+            for (Map.Entry<String, RGridResource> entry : renderResources.getValue().entrySet()) {
+                putResourceIfMissing(renderResources.getKey(), entry.getKey(), entry.getValue(), missingHashes);
+            }
         }
         logger.verbose("exit");
     }
 
-    private void createPutFutures(RunningRender runningRender, Map<String, RGridResource> resources) {
+    /**
+     * @return The resources the render needs which weren't put yet, by their urls.
+     */
+    private Map<String, RGridResource> collectNeededResources(RunningRender runningRender, Map<String, RGridResource> resources) {
+        Map<String, RGridResource> neededResources = new LinkedHashMap<>();
         List<String> needMoreResources = runningRender.getNeedMoreResources();
         for (String url : needMoreResources) {
             if (putResourceCache.containsKey(url)) {
@@ -381,15 +511,9 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
                 continue;
             }
             logger.verbose("resource(" + resource.getUrl() + ") hash : " + resource.getSha256());
-            resourcesPhaser.register();
-            this.eyesConnector.renderPutResource(runningRender, resource, userAgent.getOriginalUserAgentString(), putListener);
-            String contentType = resource.getContentType();
-            if (!putResourceCache.containsKey(url) && (contentType != null && !contentType.equalsIgnoreCase(RGridDom.CONTENT_TYPE))) {
-                synchronized (putResourceCache) {
-                    putResourceCache.put(url, resource);
-                }
-            }
+            neededResources.put(url, resource);
         }
+        return neededResources;
     }
 
     private RenderRequest[] prepareDataForRG(FrameData domData) {
@@ -403,6 +527,7 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         logger.verbose("fetching " + resourceUrls.size() + " resources...");
 
         //Fetch all resources
+        long fetchStartTime = System.currentTimeMillis();
         resourcesPhaser = new Phaser();
         fetchAllResources(allBlobs, resourceUrls, domData);
         try {
@@ -414,7 +539,8 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
             resourcesPhaser.forceTermination();
         }
 
-        logger.verbose("done fetching resources.");
+        resourcesFetchTime = System.currentTimeMillis() - fetchStartTime;
+        logger.verbose(String.format("done fetching resources in %dms.", resourcesFetchTime));
 
         List<RGridResource> unparsedResources = addBlobsToCache(allBlobs);
 
@@ -462,7 +588,23 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         return asArray;
     }
 
-    private void buildAllRGDoms(Map<String, RGridResource> resourceMapping, FrameData domData) {
+    private static class FrameNode {
+        private final FrameData frameData;
+        private final String url;
+        private final List<FrameNode> children = new ArrayList<>();
+        private RGridResource domResource;
+
+        FrameNode(FrameData frameData, String url) {
+            this.frameData = frameData;
+            this.url = url;
+        }
+    }
+
+    /**
+     * Builds the doms of all the frames bottom up, so each frame's dom already contains the doms of its frames.
+     * Frames of the same depth don't depend on each other, so they are serialized in parallel.
+     */
+    private void buildAllRGDoms(final Map<String, RGridResource> resourceMapping, FrameData domData) {
         URL baseUrl = null;
         String domDataUrl = domData.getUrl();
         logger.verbose("url in DOM: " + domDataUrl);
@@ -472,39 +614,79 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
             GeneralUtils.logExceptionStackTrace(logger, e);
         }
         logger.verbose("baseUrl: " + baseUrl);
-        List<FrameData> allFrame = domData.getFrames();
-        logger.verbose("FrameData count: " + allFrame.size());
-        Map<String, RGridResource> mapping = new HashMap<>();
-        for (FrameData frameObj : allFrame) {
-            List<BlobData> allFramesBlobs = frameObj.getBlobs();
-            @SuppressWarnings("unchecked")
-            List<String> allResourceUrls = frameObj.getResourceUrls();
+        logger.verbose("FrameData count: " + domData.getFrames().size());
+
+        List<List<FrameNode>> levels = new ArrayList<>();
+        collectFrameNodes(domData, baseUrl, 0, levels);
+
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            List<Runnable> buildTasks = new ArrayList<>();
+            for (final FrameNode frameNode : levels.get(i)) {
+                buildTasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        buildFrameDom(frameNode, resourceMapping);
+                    }
+                });
+            }
+            runAllParsingTasks(buildTasks, "building the doms of frames at depth " + i);
+
+            // Only the calling thread writes the mapping, the frames of the level only read from it
+            for (FrameNode frameNode : levels.get(i)) {
+                if (frameNode.domResource != null) {
+                    resourceMapping.put(frameNode.url, frameNode.domResource);
+                }
+            }
+        }
+    }
+
+    private List<FrameNode> collectFrameNodes(FrameData parentFrame, URL parentUrl, int depth, List<List<FrameNode>> levels) {
+        List<FrameNode> frameNodes = new ArrayList<>();
+        for (FrameData frameObj : parentFrame.getFrames()) {
             URL frameUrl;
             try {
-                frameUrl = new URL(baseUrl, frameObj.getUrl());
+                frameUrl = new URL(parentUrl, frameObj.getUrl());
             } catch (MalformedURLException e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
                 continue;
             }
-            for (BlobData blob : allFramesBlobs) {
-                String blobUrl = blob.getUrl();
-                RGridResource rGridResource = resourceMapping.get(blobUrl);
-                mapping.put(blobUrl, rGridResource);
 
+            FrameNode frameNode = new FrameNode(frameObj, frameUrl.toString());
+            if (levels.size() == depth) {
+                levels.add(new ArrayList<FrameNode>());
             }
-            for (String resourceUrl : allResourceUrls) {
-                RGridResource rGridResource = resourceMapping.get(resourceUrl);
-                mapping.put(resourceUrl, rGridResource);
-            }
-            List<CdtData> cdt = frameObj.getCdt();
-            RGridDom rGridDom = new RGridDom(cdt, mapping, frameUrl.toString(), logger, "buildAllRGDoms");
-            try {
-                resourceMapping.put(frameUrl.toString(), rGridDom.asResource());
-                buildAllRGDoms(resourceMapping, frameObj);
-            } catch (JsonProcessingException e) {
-                GeneralUtils.logExceptionStackTrace(logger, e);
+            levels.get(depth).add(frameNode);
+            frameNode.children.addAll(collectFrameNodes(frameObj, frameUrl, depth + 1, levels));
+            frameNodes.add(frameNode);
+        }
+        return frameNodes;
+    }
+
+    private void buildFrameDom(FrameNode frameNode, Map<String, RGridResource> resourceMapping) {
+        FrameData frameObj = frameNode.frameData;
+        Map<String, RGridResource> mapping = new HashMap<>();
+        for (BlobData blob : frameObj.getBlobs()) {
+            String blobUrl = blob.getUrl();
+            mapping.put(blobUrl, resourceMapping.get(blobUrl));
+        }
+        @SuppressWarnings("unchecked")
+        List<String> allResourceUrls = frameObj.getResourceUrls();
+        for (String resourceUrl : allResourceUrls) {
+            mapping.put(resourceUrl, resourceMapping.get(resourceUrl));
+        }
+        for (FrameNode child : frameNode.children) {
+            if (child.domResource != null) {
+                mapping.put(child.url, child.domResource);
             }
         }
+
+        List<CdtData> cdt = frameObj.getCdt();
+        RGridDom rGridDom = new RGridDom(cdt, mapping, frameNode.url, logger, "buildAllRGDoms");
+        try {
+            frameNode.domResource = rGridDom.asResource();
+        } catch (Throwable e) {
+            GeneralUtils.logExceptionStackTrace(logger, e);
+        }
     }
 
     private void writeFrameDataAsResource(FrameData domData) {
@@ -521,7 +703,6 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
     }
 
     private void parseScriptResult(FrameData domData, Map<String, RGridResource> allBlobs, Set<URI> resourceUrls) {
-        Base64 codec = new Base64();
 
         String baseUrlStr = domData.getUrl();
 
@@ -534,7 +715,7 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
             GeneralUtils.logExceptionStackTrace(logger, e);
         }
 
-        parseBlobs(allBlobs, codec, baseUrl, domData.getBlobs());
+        parseBlobs(allBlobs, baseUrl, domData.getBlobs());
 
         parseResourceUrls(domData, resourceUrls, baseUrl);
 
@@ -572,10 +753,10 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         logger.verbose("exit");
     }
 
-    private void parseBlobs(Map<String, RGridResource> allBlobs, Base64 codec, URI baseUrl, List<BlobData> value) {
+    private void parseBlobs(Map<String, RGridResource> allBlobs, URI baseUrl, List<BlobData> value) {
         //TODO check if empty
         for (BlobData blob : value) {
-            RGridResource resource = parseBlobToGridResource(codec, baseUrl, blob);
+            RGridResource resource = parseBlobToGridResource(baseUrl, blob);
             if (!allBlobs.containsKey(resource.getUrl())) {
                 allBlobs.put(resource.getUrl(), resource);
             }
@@ -627,10 +808,8 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         return allRequestsForRG;
     }
 
-    private RGridResource parseBlobToGridResource(Base64 codec, URI baseUrl, BlobData blobAsMap) {
-        // TODO - handle non-String values (probably empty json objects)
-        String contentAsString = blobAsMap.getValue();
-        byte[] content = codec.decode(contentAsString);
+    private RGridResource parseBlobToGridResource(URI baseUrl, BlobData blobAsMap) {
+        byte[] content = blobAsMap.getValue();
         String urlAsString = blobAsMap.getUrl();
         try {
             URI url = baseUrl.resolve(urlAsString);
@@ -645,12 +824,94 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         return resource;
     }
 
-    private void parseAndCollectExternalResources(List<RGridResource> allBlobs, String baseUrl, Set<URI> resourceUrls) {
-        for (RGridResource blob : allBlobs) {
-            getAndParseResource(blob, baseUrl, resourceUrls);
+    private void parseAndCollectExternalResources(List<RGridResource> allBlobs, final String baseUrl, Set<URI> resourceUrls) {
+        final Set<URI> collectedUrls = Collections.synchronizedSet(new HashSet<URI>());
+        List<Runnable> parsingTasks = new ArrayList<>();
+        for (final RGridResource blob : allBlobs) {
+            parsingTasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    getAndParseResource(blob, baseUrl, collectedUrls);
+                }
+            });
+        }
+        runAllParsingTasks(parsingTasks, "parsing resources");
+
+        synchronized (collectedUrls) {
+            resourceUrls.addAll(collectedUrls);
         }
     }
 
+    /**
+     * Runs the tasks in parallel on the parsing executor and waits for all of them.
+     * The calling thread runs every task the pool hasn't started yet, so it only waits for tasks already in progress.
+     * That way the wait doesn't depend on the pool having free threads, even when the caller is a thread of the pool.
+     *
+     * @throws EyesException If the tasks in progress don't finish in time, since results without them are incomplete.
+     */
+    void runAllParsingTasks(List<Runnable> tasks, String description) {
+        if (parsingExecutor == null || tasks.size() < 2) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(tasks.size());
+        List<Runnable> claimableTasks = new ArrayList<>();
+        for (final Runnable task : tasks) {
+            final AtomicBoolean isClaimed = new AtomicBoolean(false);
+            Runnable claimableTask = new Runnable() {
+                @Override
+                public void run() {
+                    if (!isClaimed.compareAndSet(false, true)) {
+                        return;
+                    }
+                    try {
+                        task.run();
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            };
+            claimableTasks.add(claimableTask);
+            try {
+                parsingExecutor.execute(claimableTask);
+            } catch (RejectedExecutionException e) {
+                logger.verbose("Parsing executor rejected the task, parsing on the current thread");
+            }
+        }
+
+        for (Runnable claimableTask : claimableTasks) {
+            claimableTask.run();
+        }
+
+        try {
+            if (!latch.await(FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new EyesException("Timed out while " + description);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EyesException("Interrupted while " + description, e);
+        }
+    }
+
+    /**
+     * Runs a parsing task on the parsing executor, or on the current thread if there is no executor available.
+     */
+    private void runParsingTask(Runnable parsingTask) {
+        if (parsingExecutor != null) {
+            try {
+                parsingExecutor.execute(parsingTask);
+                return;
+            } catch (RejectedExecutionException e) {
+                logger.verbose("Parsing executor rejected the task, parsing on the current thread");
+            }
+        }
+
+        parsingTask.run();
+    }
+
     private void getAndParseResource(RGridResource blob, String baseUrl, Set<URI> resourceUrls) {
         URI baseUri = URI.create(baseUrl);
         TextualDataResource tdr = tryGetTextualData(blob, baseUri);
@@ -845,7 +1106,16 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
             return;
         }
 
-        for (final URI uri : resourceUrls) {
+        // Start stylesheets first, their own resources are discovered only after they are parsed
+        List<URI> sortedResourceUrls = new ArrayList<>(resourceUrls);
+        Collections.sort(sortedResourceUrls, new Comparator<URI>() {
+            @Override
+            public int compare(URI uri1, URI uri2) {
+                return ResourceFetchScheduler.getPriority(uri1).compareTo(ResourceFetchScheduler.getPriority(uri2));
+            }
+        });
+
+        for (final URI uri : sortedResourceUrls) {
             final String uriStr = GeneralUtils.sanitizeURL(uri.toString(), logger);
 
             synchronized (this.fetchedCacheMap) {
@@ -859,25 +1129,36 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
                 IEyesConnector eyesConnector = this.visualGridTaskList.get(0).getEyesConnector();
                 try {
                     resourcesPhaser.register();
-                    eyesConnector.getResource(uri, userAgent.getOriginalUserAgentString(), result.getUrl(),
-                            new TaskListener<RGridResource>() {
+                    TaskListener<RGridResource> listener = new TaskListener<RGridResource>() {
                         @Override
-                        public void onComplete(RGridResource taskResponse) {
-                            try {
-                                if (taskResponse == null) {
-                                    logger.log(String.format("Resource is null for url %s", uriStr));
-                                    return;
-                                }
-
-                                Set<URI> newResourceUrls = handleCollectedResource(uri, taskResponse, allBlobs, result);
-                                if (newResourceUrls.isEmpty()) {
-                                    return;
-                                }
-
-                                fetchAllResources(allBlobs, newResourceUrls, result);
-                            } finally {
+                        public void onComplete(final RGridResource taskResponse) {
+                            if (taskResponse == null) {
+                                logger.log(String.format("Resource is null for url %s", uriStr));
                                 resourcesPhaser.arriveAndDeregister();
+                                return;
                             }
+
+                            synchronized (fetchedCacheMap) {
+                                fetchedCacheMap.put(uri.toString(), taskResponse);
+                            }
+
+                            // The party registered for this download is released only after parsing is done,
+                            // so the phaser can't advance before the child resources are registered.
+                            runParsingTask(new Runnable() {
+                                @Override
+                                public void run() {
+                                    try {
+                                        Set<URI> newResourceUrls = handleCollectedResource(uri, taskResponse, allBlobs, result);
+                                        if (newResourceUrls.isEmpty()) {
+                                            return;
+                                        }
+
+                                        fetchAllResources(allBlobs, newResourceUrls, result);
+                                    } finally {
+                                        resourcesPhaser.arriveAndDeregister();
+                                    }
+                                }
+                            });
                         }
 
                         @Override
@@ -885,7 +1166,19 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
                             resourcesPhaser.arriveAndDeregister();
                             logger.log(String.format("Failed downloading from uri %s", uriStr));
                         }
-                    });
+                    };
+
+                    TaskListener<RGridResource> downloadListener = inFlightDownloads.register(uriStr, listener);
+                    if (downloadListener == null) {
+                        logger.verbose("resource " + uriStr + " is already being downloaded by another task");
+                        continue;
+                    }
+
+                    if (resourceFetchScheduler == null) {
+                        eyesConnector.getResource(uri, userAgent.getOriginalUserAgentString(), result.getUrl(), downloadListener);
+                    } else {
+                        resourceFetchScheduler.fetch(eyesConnector, uri, userAgent.getOriginalUserAgentString(), result.getUrl(), downloadListener);
+                    }
                 } catch (Exception e) {
                     logger.log("error converting " + uri + " to url");
                     GeneralUtils.logExceptionStackTrace(logger, e);
@@ -902,9 +1195,6 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
     private Set<URI> handleCollectedResource(URI url, RGridResource resource, Map<String, RGridResource> allBlobs, FrameData result) {
         Set<URI> newResourceUrls = new HashSet<>();
         try {
-            synchronized (fetchedCacheMap) {
-                fetchedCacheMap.put(url.toString(), resource);
-            }
             this.debugResourceWriter.write(resource);
         } catch (Exception e) {
             GeneralUtils.logExceptionStackTrace(logger, e);
@@ -919,132 +1209,127 @@ public class RenderingTask implements Callable<RenderStatusResults>, Completable
         return newResourceUrls;
     }
 
-    private void pollRenderingStatus(Map<RunningRender, RenderRequest> runningRenders) {
+    void pollRenderingStatus(Map<String, RenderRequest> requestsByRenderId) {
         logger.verbose("enter");
-        List<String> ids = getRenderIds(runningRenders.keySet());
-        logger.verbose("render ids : " + ids);
-        timer.schedule(new TimeoutTask(), HOUR);
-        do {
-            List<RenderStatusResults> renderStatusResultsList;
-            try {
-                renderStatusResultsList = this.eyesConnector.renderStatusById(ids.toArray(new String[0]));
-            } catch (Exception e) {
-                GeneralUtils.logExceptionStackTrace(logger, e);
-                continue;
-            }
-            if (renderStatusResultsList == null || renderStatusResultsList.isEmpty() || renderStatusResultsList.get(0) == null) {
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    GeneralUtils.logExceptionStackTrace(logger, e);
-                }
-                continue;
-            }
-
-            sampleRenderingStatus(runningRenders, ids, renderStatusResultsList);
+        Map<String, String> renderTypes = new LinkedHashMap<>();
+        for (Map.Entry<String, RenderRequest> entry : requestsByRenderId.entrySet()) {
+            DesktopBrowserInfo browserInfo = entry.getValue().getVisualGridTask().getBrowserInfo();
+            renderTypes.put(entry.getKey(), RenderStatusPoller.getRenderType(browserInfo));
+        }
+        logger.verbose("render ids : " + renderTypes.keySet());
+        if (renderTypes.isEmpty()) {
+            onAllRendersDone();
+            return;
+        }
 
-            if (ids.size() > 0) {
+        synchronized (this) {
+            this.requestsByRenderId = requestsByRenderId;
+            this.openTasksByTest = indexOpenTasksByTest();
+        }
+        renderStatusPoller.poll(eyesConnector, renderTypes, new RenderStatusPoller.RenderStatusListener() {
+            @Override
+            public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
                 try {
-                    Thread.sleep(1500);
-                } catch (InterruptedException e) {
-                    GeneralUtils.logExceptionStackTrace(logger, e);
+                    sampleRenderingStatus(renderId, renderStatusResults);
+                } finally {
+                    if (markRenderDone(renderId)) {
+                        onAllRendersDone();
+                    }
                 }
             }
 
-        } while (!ids.isEmpty() && !isTimeElapsed.get());
-
-        timer.cancel();
-        if (!ids.isEmpty()) {
-            logger.verbose("Render ids that didn't complete in time : ");
-            logger.verbose(ids.toString());
-        }
-
-        for (String id : ids) {
-            for (RunningRender renderedRender : runningRenders.keySet()) {
-                String renderId = renderedRender.getRenderId();
-                if (renderId.equalsIgnoreCase(id)) {
-                    logger.verbose("removing failed render id: " + id);
-                    VisualGridTask visualGridTask = runningRenders.get(renderedRender).getVisualGridTask();
-                    visualGridTask.setRenderError(id, "too long rendering(rendering exceeded 150 sec)");
-                    break;
+            @Override
+            public void onRenderTimeout(String renderId) {
+                try {
+                    logger.verbose("Render id that didn't complete in time : " + renderId);
+                    RenderRequest renderRequest = getRunningRenderRequest(renderId);
+                    if (renderRequest != null) {
+                        logger.verbose("removing failed render id: " + renderId);
+                        renderRequest.getVisualGridTask().setRenderError(renderId, "too long rendering(rendering exceeded 150 sec)");
+                    }
+                } finally {
+                    if (markRenderDone(renderId)) {
+                        onAllRendersDone();
+                    }
                 }
             }
-        }
+        });
+        logger.verbose("exit");
+    }
 
+    private void onAllRendersDone() {
+        isTaskCompleted = true;
         ICheckSettingsInternal rcInternal = (ICheckSettingsInternal) checkSettings;
         logger.verbose("marking task as complete: " + rcInternal.getName());
         this.isTaskComplete.set(true);
         this.notifySuccessAllListeners();
-        logger.verbose("exit");
     }
 
-    private void sampleRenderingStatus(Map<RunningRender, RenderRequest> runningRenders, List<String> ids, List<RenderStatusResults> renderStatusResultsList) {
-        logger.verbose("enter - renderStatusResultsList.size: " + renderStatusResultsList.size());
+    private synchronized RenderRequest getRunningRenderRequest(String renderId) {
+        return doneRenderIds.contains(renderId) ? null : requestsByRenderId.get(renderId);
+    }
 
-        for (int i = 0, j = 0; i < renderStatusResultsList.size(); i++) {
-            RenderStatusResults renderStatusResults = renderStatusResultsList.get(i);
-            if (renderStatusResults == null) {
-                continue;
+    /**
+     * @return Whether this was the last running render of this task. Ids of other renders are ignored.
+     */
+    private synchronized boolean markRenderDone(String renderId) {
+        if (!requestsByRenderId.containsKey(renderId)) {
+            return false;
+        }
+        return doneRenderIds.add(renderId) && doneRenderIds.size() == requestsByRenderId.size();
+    }
+
+    private void sampleRenderingStatus(String renderId, RenderStatusResults renderStatusResults) {
+        logger.verbose("renderStatusResults - " + renderStatusResults);
+        VisualGridTask visualGridTask;
+        List<VisualGridTask> openTasks;
+        // Only the indexes are read under the lock. The tasks get their results after it's released,
+        // since setting a result dispatches the next stage of the task.
+        synchronized (this) {
+            RenderRequest renderRequest = getRunningRenderRequest(renderId);
+            if (renderRequest == null) {
+                return;
             }
+            visualGridTask = renderRequest.getVisualGridTask();
+            // The open tasks of a test get the result of its first render
+            openTasks = openTasksByTest.remove(visualGridTask.getRunningTest());
+        }
 
-            RenderStatus renderStatus = renderStatusResults.getStatus();
-            boolean isRenderedStatus = renderStatus == RenderStatus.RENDERED;
-            boolean isErrorStatus = renderStatus == RenderStatus.ERROR;
-            logger.verbose("renderStatusResults - " + renderStatusResults);
-            if (isRenderedStatus || isErrorStatus) {
-
-                String removedId = ids.remove(j);
-
-                for (RunningRender renderedRender : runningRenders.keySet()) {
-                    String renderId = renderedRender.getRenderId();
-                    if (renderId.equalsIgnoreCase(removedId)) {
-                        VisualGridTask visualGridTask = runningRenders.get(renderedRender).getVisualGridTask();
-                        Iterator<VisualGridTask> iterator = openVisualGridTaskList.iterator();
-                        while (iterator.hasNext()) {
-                            VisualGridTask openVisualGridTask = iterator.next();
-                            if (openVisualGridTask.getRunningTest() == visualGridTask.getRunningTest()) {
-                                if (isRenderedStatus) {
-                                    logger.verbose("setting openVisualGridTask " + openVisualGridTask + " render result: " + renderStatusResults + " to url " + this.domData.getUrl());
-                                    openVisualGridTask.setRenderResult(renderStatusResults);
-                                } else {
-                                    logger.verbose("setting openVisualGridTask " + openVisualGridTask + " render error: " + removedId + " to url " + this.domData.getUrl());
-                                    openVisualGridTask.setRenderError(removedId, renderStatusResults.getError());
-                                }
-                                iterator.remove();
-                            }
-                        }
-                        logger.verbose("setting visualGridTask " + visualGridTask + " render result: " + renderStatusResults + " to url " + this.domData.getUrl());
-                        String error = renderStatusResults.getError();
-                        if (error != null) {
-                            GeneralUtils.logExceptionStackTrace(logger, new Exception(error));
-                            visualGridTask.setRenderError(renderId, error);
-                        }
-                        visualGridTask.setRenderResult(renderStatusResults);
-                        break;
-                    }
+        boolean isRenderedStatus = renderStatusResults.getStatus() == RenderStatus.RENDERED;
+        if (openTasks != null) {
+            for (VisualGridTask openVisualGridTask : openTasks) {
+                if (isRenderedStatus) {
+                    logger.verbose("setting openVisualGridTask " + openVisualGridTask + " render result: " + renderStatusResults + " to url " + this.domData.getUrl());
+                    openVisualGridTask.setRenderResult(renderStatusResults);
+                } else {
+                    logger.verbose("setting openVisualGridTask " + openVisualGridTask + " render error: " + renderId + " to url " + this.domData.getUrl());
+                    openVisualGridTask.setRenderError(renderId, renderStatusResults.getError());
                 }
-            } else {
-                j++;
             }
         }
-        logger.verbose("exit");
+        logger.verbose("setting visualGridTask " + visualGridTask + " render result: " + renderStatusResults + " to url " + this.domData.getUrl());
+        String error = renderStatusResults.getError();
+        if (error != null) {
+            GeneralUtils.logExceptionStackTrace(logger, new Exception(error));
+            visualGridTask.setRenderError(renderId, error);
+        }
+        visualGridTask.setRenderResult(renderStatusResults);
     }
 
     public boolean getIsTaskComplete() {
         return isTaskComplete.get();
     }
 
+    /**
+     * @return The time in milliseconds it took to fetch all the resources of this task, or -1 if they weren't fetched yet.
+     */
+    public long getResourcesFetchTime() {
+        return resourcesFetchTime;
+    }
+
     public void addListener(RenderTaskListener listener) {
         this.listeners.add(listener);
     }
 
-
-    private class TimeoutTask extends TimerTask {
-        @Override
-        public void run() {
-            logger.verbose("VG is Timed out!");
-            isTimeElapsed.set(true);
-        }
-    }
 }
 
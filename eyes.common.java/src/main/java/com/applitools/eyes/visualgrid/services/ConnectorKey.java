@@ -0,0 +1,58 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.visualgrid.model.RenderingInfo;
+
+import java.net.URI;
+
+/**
+ * Identifies the server and the credentials a connector sends its requests with.
+ * Requests of different rendering tasks are only sent together if their connectors have equal keys.
+ */
+final class ConnectorKey {
+
+    private final URI serverUrl;
+    private final String apiKey;
+    private final String renderingServiceUrl;
+    private final String renderingAccessToken;
+
+    private ConnectorKey(URI serverUrl, String apiKey, String renderingServiceUrl, String renderingAccessToken) {
+        this.serverUrl = serverUrl;
+        this.apiKey = apiKey;
+        this.renderingServiceUrl = renderingServiceUrl;
+        this.renderingAccessToken = renderingAccessToken;
+    }
+
+    static ConnectorKey of(IEyesConnector connector) {
+        RenderingInfo renderingInfo = connector.getRenderingInfo();
+        return new ConnectorKey(connector.getServerUrl(), connector.getApiKey(),
+                renderingInfo == null ? null : renderingInfo.getServiceUrl(),
+                renderingInfo == null ? null : renderingInfo.getAccessToken());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConnectorKey)) {
+            return false;
+        }
+        ConnectorKey other = (ConnectorKey) o;
+        return equals(serverUrl, other.serverUrl) && equals(apiKey, other.apiKey)
+                && equals(renderingServiceUrl, other.renderingServiceUrl)
+                && equals(renderingAccessToken, other.renderingAccessToken);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = serverUrl != null ? serverUrl.hashCode() : 0;
+        result = 31 * result + (apiKey != null ? apiKey.hashCode() : 0);
+        result = 31 * result + (renderingServiceUrl != null ? renderingServiceUrl.hashCode() : 0);
+        result = 31 * result + (renderingAccessToken != null ? renderingAccessToken.hashCode() : 0);
+        return result;
+    }
+
+    private static boolean equals(Object first, Object second) {
+        return first == null ? second == null : first.equals(second);
+    }
+}
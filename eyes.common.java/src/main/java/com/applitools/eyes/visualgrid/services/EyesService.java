@@ -4,18 +4,42 @@ import com.applitools.eyes.Logger;
 import com.applitools.eyes.TestResultContainer;
 import com.applitools.utils.GeneralUtils;
 
+import java.util.Queue;
 import java.util.concurrent.*;
 
 public class EyesService extends Thread {
 
+    private static final long ROOM_WAIT_MILLIS = 1000;
+
     protected final int threadPoolSize;
-    protected ExecutorService executor;
+    protected volatile ThreadPoolExecutor executor;
     protected final EyesService.EyesServiceListener listener;
     private final Object debugLock;
     protected final Tasker tasker;
-    protected boolean isServiceOn = true;
-    private boolean isPaused;
-
+    protected volatile boolean isServiceOn = true;
+    private volatile boolean isPaused;
+
+    // Tasks which were submitted while the pool was full, submitted again by the service thread
+    private final Queue<Runnable> handedBackTasks = new ConcurrentLinkedQueue<>();
+    private final ServiceSignal roomSignal = new ServiceSignal();
+    private ServiceSignal taskSignal = null;
+
+    private final RejectedExecutionHandler handBackPolicy = new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                // The service thread has stopped, so nobody would submit the task again
+                task.run();
+                return;
+            }
+            handedBackTasks.add(task);
+            roomSignal.signal();
+            ServiceSignal signal = taskSignal;
+            if (signal != null) {
+                signal.signal();
+            }
+        }
+    };
 
     protected Logger logger;
 
@@ -36,9 +60,14 @@ public class EyesService extends Thread {
     }
 
     public EyesService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object debugLock, EyesServiceListener listener, Tasker tasker) {
+        this(serviceName, servicesGroup, logger, threadPoolSize, debugLock, listener, tasker, new ServiceExecutorConfiguration());
+    }
+
+    public EyesService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object debugLock, EyesServiceListener listener, Tasker tasker,
+                       ServiceExecutorConfiguration executorConfiguration) {
         super(servicesGroup, serviceName);
         this.threadPoolSize = threadPoolSize;
-        this.executor = new ThreadPoolExecutor(this.threadPoolSize, threadPoolSize, 1, TimeUnit.DAYS, new ArrayBlockingQueue<Runnable>(20));
+        this.executor = executorConfiguration.createExecutor(threadPoolSize, threadPoolSize, handBackPolicy);
         this.listener = listener;
         this.logger = logger;
         this.debugLock = debugLock;
@@ -52,7 +81,14 @@ public class EyesService extends Thread {
             logger.log("Service '" + this.getName() + "' had started");
             while (isServiceOn) {
                 pauseIfNeeded();
-                runNextTask();
+                submitHandedBackTasks();
+                if (waitForRoom()) {
+                    runNextTask();
+                }
+            }
+            Runnable task;
+            while ((task = handedBackTasks.poll()) != null) {
+                task.run();
             }
             if (this.executor != null) {
                 this.executor.shutdown();
@@ -81,8 +117,70 @@ public class EyesService extends Thread {
         final FutureTask<TestResultContainer> task = this.listener.getNextTask(tasker);
         if (task != null) {
             pauseIfNeeded();
-            this.executor.submit(task);
+            submit(task);
+        }
+    }
+
+    protected void submit(final FutureTask<TestResultContainer> task) {
+        this.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    roomSignal.signal();
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets the signal which wakes the service thread when it waits for new tasks, so handed back tasks don't wait for the next rescan.
+     */
+    void setTaskSignal(ServiceSignal taskSignal) {
+        this.taskSignal = taskSignal;
+    }
+
+    /**
+     * @return true if a task submitted now would start or be queued without being rejected.
+     */
+    boolean hasRoom() {
+        return executor.getActiveCount() < executor.getMaximumPoolSize() || executor.getQueue().remainingCapacity() > 0;
+    }
+
+    /**
+     * Waits until the pool has room, so the next task is left on the task list until it can be submitted.
+     *
+     * @return true if the pool has room.
+     */
+    private boolean waitForRoom() {
+        try {
+            while (isServiceOn && !hasRoom()) {
+                roomSignal.await(ROOM_WAIT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            GeneralUtils.logExceptionStackTrace(logger, e);
         }
+        return isServiceOn && hasRoom();
+    }
+
+    private void submitHandedBackTasks() {
+        // Only the tasks handed back so far, since a task rejected again is added back to the queue
+        int count = handedBackTasks.size();
+        for (int i = 0; i < count && hasRoom(); i++) {
+            Runnable task = handedBackTasks.poll();
+            if (task == null) {
+                return;
+            }
+            this.executor.execute(task);
+        }
+    }
+
+    /**
+     * @return true if tasks can be submitted to the service's pool directly, without waiting for the service thread.
+     */
+    boolean isAcceptingDirectTasks() {
+        return isServiceOn && !isPaused;
     }
 
     private void debugNotify() {
@@ -93,6 +191,21 @@ public class EyesService extends Thread {
         }
     }
 
+    /**
+     * Replaces the pool of the service with a pool built from the given settings.
+     * Must be called before any task was submitted to the service.
+     */
+    void setExecutorConfiguration(ServiceExecutorConfiguration executorConfiguration) {
+        ThreadPoolExecutor previousExecutor = executor;
+        executor = executorConfiguration.createExecutor(threadPoolSize, threadPoolSize, handBackPolicy);
+        previousExecutor.shutdown();
+        roomSignal.signal();
+    }
+
+    public ServiceMetrics getMetrics() {
+        return new ServiceMetrics(getName(), executor);
+    }
+
     public void debugPauseService() {
         this.isPaused = true;
     }
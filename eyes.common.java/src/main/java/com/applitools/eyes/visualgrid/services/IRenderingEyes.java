@@ -16,10 +16,6 @@ public interface IRenderingEyes {
 
     void setListener(EyesListener listener);
 
-    ScoreTask getBestScoreTaskForCheck();
-
-    ScoreTask getBestScoreTaskForOpen();
-
     Collection<Future<TestResultContainer>> close();
 
     Logger getLogger();
@@ -0,0 +1,19 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.visualgrid.model.HashObject;
+
+/**
+ * A connector which can check the existence of many resources on the server in a single request.
+ * The resources of rendering tasks whose connectors don't implement it are treated as missing.
+ */
+public interface IResourceStatusChecker {
+
+    /**
+     * Check which of the given resources exist on the server, in a single request
+     *
+     * @param renderId The running render id, or {@code null} if there is no running render yet
+     * @param hashes The hashes of the resources to check
+     * @return An array in the same order as {@code hashes}, {@code true} for every resource that exists on the server
+     */
+    Boolean[] checkResourceStatus(String renderId, HashObject... hashes);
+}
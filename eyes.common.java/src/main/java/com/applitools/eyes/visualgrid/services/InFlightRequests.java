@@ -0,0 +1,96 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TaskListener;
+import com.applitools.utils.GeneralUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares a single network operation between all the concurrent requesters of the same key.
+ * The first requester of a key starts the operation, the rest only wait for its result.
+ */
+public class InFlightRequests<T> {
+
+    private final Logger logger;
+    private final Map<String, List<TaskListener<T>>> requests = new HashMap<>();
+
+    public InFlightRequests(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Registers a listener for the operation of the given key.
+     *
+     * @param key      The key of the operation (e.g. a url or a hash).
+     * @param listener The listener to notify when the operation ends.
+     * @return A listener to pass to the operation if this is the first request for the key,
+     * or {@code null} if the operation is already in flight and {@code listener} will be notified when it ends.
+     */
+    public TaskListener<T> register(final String key, TaskListener<T> listener) {
+        synchronized (requests) {
+            List<TaskListener<T>> listeners = requests.get(key);
+            if (listeners != null) {
+                listeners.add(listener);
+                return null;
+            }
+
+            listeners = new ArrayList<>();
+            listeners.add(listener);
+            requests.put(key, listeners);
+        }
+
+        return new TaskListener<T>() {
+            @Override
+            public void onComplete(T taskResponse) {
+                complete(key, taskResponse, false);
+            }
+
+            @Override
+            public void onFail() {
+                complete(key, null, true);
+            }
+        };
+    }
+
+    public boolean isInFlight(String key) {
+        synchronized (requests) {
+            return requests.containsKey(key);
+        }
+    }
+
+    /**
+     * Notifies the listeners while the key is still registered, so a requester can't miss both the
+     * in flight operation and whatever the listeners cached from its result.
+     */
+    private void complete(String key, T taskResponse, boolean isFailed) {
+        int notifiedCount = 0;
+        while (true) {
+            List<TaskListener<T>> pendingListeners;
+            synchronized (requests) {
+                List<TaskListener<T>> listeners = requests.get(key);
+                pendingListeners = new ArrayList<>(listeners.subList(notifiedCount, listeners.size()));
+                if (pendingListeners.isEmpty()) {
+                    requests.remove(key);
+                    return;
+                }
+            }
+
+            for (TaskListener<T> listener : pendingListeners) {
+                try {
+                    if (isFailed) {
+                        listener.onFail();
+                    } else {
+                        listener.onComplete(taskResponse);
+                    }
+                } catch (Throwable e) {
+                    GeneralUtils.logExceptionStackTrace(logger, e);
+                }
+            }
+            notifiedCount += pendingListeners.size();
+        }
+    }
+}
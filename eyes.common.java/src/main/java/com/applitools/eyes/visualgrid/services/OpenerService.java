@@ -10,11 +10,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class OpenerService extends EyesService{
 
     private AtomicInteger concurrentSession = new AtomicInteger();
-    private final Object concurrencyLock;
+    private final ServiceSignal concurrencySignal;
 
-    public OpenerService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object openerServiceLock, EyesServiceListener listener, Object debugLock, Tasker tasker) {
-        super(serviceName, servicesGroup, logger, threadPoolSize, debugLock, listener, tasker);
-        this.concurrencyLock = openerServiceLock;
+    public OpenerService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, ServiceSignal concurrencySignal, EyesServiceListener listener, Object debugLock, Tasker tasker) {
+        this(serviceName, servicesGroup, logger, threadPoolSize, concurrencySignal, listener, debugLock, tasker, new ServiceExecutorConfiguration());
+    }
+
+    public OpenerService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, ServiceSignal concurrencySignal, EyesServiceListener listener, Object debugLock, Tasker tasker,
+                         ServiceExecutorConfiguration executorConfiguration) {
+        super(serviceName, servicesGroup, logger, threadPoolSize, debugLock, listener, tasker, executorConfiguration);
+        this.concurrencySignal = concurrencySignal;
+        setTaskSignal(concurrencySignal);
     }
 
     void runNextTask() {
@@ -25,18 +31,16 @@ public class OpenerService extends EyesService{
                 this.concurrentSession.incrementAndGet();
                 pauseIfNeeded();
                 logger.verbose("open concurrent sessions: " + concurrentSession);
-                this.executor.submit(task);
+                submit(task);
             }
         }
         else{
-            synchronized (concurrencyLock){
-                try {
-                    logger.verbose("Waiting for concurrency to be free");
-                    concurrencyLock.wait();
-                    logger.verbose("concurrency free");
-                } catch (InterruptedException e) {
-                    GeneralUtils.logExceptionStackTrace(logger ,e);
-                }
+            try {
+                logger.verbose("Waiting for concurrency to be free");
+                concurrencySignal.await(0);
+                logger.verbose("concurrency free");
+            } catch (InterruptedException e) {
+                GeneralUtils.logExceptionStackTrace(logger ,e);
             }
         }
     }
@@ -45,9 +49,12 @@ public class OpenerService extends EyesService{
     void stopService() {
         logger.verbose("concurrency on stop = "+this.concurrentSession);
         super.stopService();
+        concurrencySignal.signal();
     }
 
     public synchronized int decrementConcurrency(){
-        return this.concurrentSession.decrementAndGet();
+        int concurrency = this.concurrentSession.decrementAndGet();
+        concurrencySignal.signal();
+        return concurrency;
     }
 }
@@ -0,0 +1,222 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.utils.ArgumentGuard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * A future which is completed by the stage producing its value and lets the next stages run when it's done.
+ * Stages are chained with {@link #then(Stage, Executor)} and bounded with {@link #withTimeout(long, ScheduledExecutorService, String)}.
+ * The first completion wins, later ones are ignored.
+ */
+public class PipelineFuture<T> implements Future<T> {
+
+    private final CountDownLatch doneLatch = new CountDownLatch(1);
+    private final List<Runnable> listeners = new ArrayList<>();
+    private boolean isDone = false;
+    private T value;
+    private Throwable error;
+
+    /**
+     * A pipeline stage, turning the value of the previous stage into its own value.
+     */
+    public interface Stage<I, O> {
+        O apply(I input) throws Exception;
+    }
+
+    public static <T> PipelineFuture<T> completed(T value) {
+        PipelineFuture<T> future = new PipelineFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    public boolean complete(T value) {
+        return finish(value, null);
+    }
+
+    public boolean fail(Throwable error) {
+        ArgumentGuard.notNull(error, "error");
+        return finish(null, error);
+    }
+
+    private boolean finish(T value, Throwable error) {
+        List<Runnable> listenersToRun;
+        synchronized (this) {
+            if (isDone) {
+                return false;
+            }
+            this.value = value;
+            this.error = error;
+            this.isDone = true;
+            listenersToRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        doneLatch.countDown();
+        for (Runnable listener : listenersToRun) {
+            listener.run();
+        }
+        return true;
+    }
+
+    /**
+     * Runs the listener on the executor when the future is done, or right away if it's already done.
+     */
+    public void addListener(final Runnable listener, final Executor executor) {
+        ArgumentGuard.notNull(listener, "listener");
+        ArgumentGuard.notNull(executor, "executor");
+        Runnable executingListener = new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(listener);
+            }
+        };
+        synchronized (this) {
+            if (!isDone) {
+                listeners.add(executingListener);
+                return;
+            }
+        }
+        executingListener.run();
+    }
+
+    /**
+     * @return A future of the given stage, which runs on the executor once this future succeeds.
+     * A failure of this future skips the stage and fails the returned future.
+     */
+    public <R> PipelineFuture<R> then(final Stage<? super T, R> stage, Executor executor) {
+        ArgumentGuard.notNull(stage, "stage");
+        final PipelineFuture<R> next = new PipelineFuture<>();
+        addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (error != null) {
+                    next.fail(error);
+                    return;
+                }
+                try {
+                    next.complete(stage.apply(value));
+                } catch (Throwable e) {
+                    next.fail(e);
+                }
+            }
+        }, executor);
+        return next;
+    }
+
+    /**
+     * @return A future with the result of this one, which fails with a {@link TimeoutException} if this future isn't done in time.
+     * A timeout of 0 means no timeout.
+     */
+    public PipelineFuture<T> withTimeout(final long timeoutMillis, ScheduledExecutorService scheduler, final String stageName) {
+        ArgumentGuard.greaterThanOrEqualToZero(timeoutMillis, "timeoutMillis");
+        if (timeoutMillis == 0) {
+            return this;
+        }
+        final PipelineFuture<T> bounded = new PipelineFuture<>();
+        final ScheduledFuture<?> timeout = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                bounded.fail(new TimeoutException(String.format("Stage %s timed out after %dms", stageName, timeoutMillis)));
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        addListener(new Runnable() {
+            @Override
+            public void run() {
+                timeout.cancel(false);
+                if (error != null) {
+                    bounded.fail(error);
+                } else {
+                    bounded.complete(value);
+                }
+            }
+        }, DIRECT_EXECUTOR);
+        return bounded;
+    }
+
+    /**
+     * @return A future of the values of all the given futures, which fails with the first failure among them.
+     */
+    public static <T> PipelineFuture<List<T>> allOf(final List<PipelineFuture<T>> futures) {
+        final PipelineFuture<List<T>> all = new PipelineFuture<>();
+        if (futures.isEmpty()) {
+            all.complete(new ArrayList<T>());
+            return all;
+        }
+        final CountDownLatch remaining = new CountDownLatch(futures.size());
+        for (final PipelineFuture<T> future : futures) {
+            future.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.error != null) {
+                        all.fail(future.error);
+                        return;
+                    }
+                    remaining.countDown();
+                    if (remaining.getCount() == 0) {
+                        List<T> values = new ArrayList<>();
+                        for (PipelineFuture<T> done : futures) {
+                            values.add(done.value);
+                        }
+                        all.complete(values);
+                    }
+                }
+            }, DIRECT_EXECUTOR);
+        }
+        return all;
+    }
+
+    /**
+     * Runs listeners on the thread completing the future. Only for short listeners which don't block.
+     */
+    public static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return fail(new CancellationException());
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return error instanceof CancellationException;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return isDone;
+    }
+
+    public synchronized boolean isFailed() {
+        return error != null;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        doneLatch.await();
+        return getValue();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!doneLatch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return getValue();
+    }
+
+    private synchronized T getValue() throws ExecutionException {
+        if (error instanceof CancellationException) {
+            throw (CancellationException) error;
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return value;
+    }
+}
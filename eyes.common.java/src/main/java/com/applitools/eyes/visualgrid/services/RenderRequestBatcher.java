@@ -0,0 +1,192 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.EyesException;
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.visualgrid.model.RenderRequest;
+import com.applitools.eyes.visualgrid.model.RunningRender;
+import com.applitools.utils.ArgumentGuard;
+import com.applitools.utils.GeneralUtils;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Groups the render requests of concurrent rendering tasks into a single render call.
+ * The first task in a batch waits for {@link #getBatchWindowMillis()}, or until the batch has
+ * {@link #getMaxRequestsPerBatch()} requests, and then sends the batch on its own thread.
+ * Only requests of connectors with the same server and rendering info are batched together.
+ */
+public class RenderRequestBatcher {
+
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 20;
+    public static final int DEFAULT_MAX_REQUESTS_PER_BATCH = 100;
+
+    private final Logger logger;
+    private volatile long batchWindowMillis = DEFAULT_BATCH_WINDOW_MILLIS;
+    private volatile int maxRequestsPerBatch = DEFAULT_MAX_REQUESTS_PER_BATCH;
+
+    // The batches new requests join, by the server and rendering info of their connectors, guarded by this
+    private final Map<ConnectorKey, Batch> currentBatches = new HashMap<>();
+
+    private static class Batch {
+        private final ConnectorKey connectorKey;
+        private final List<PendingRender> renders = new ArrayList<>();
+        private int requestsCount = 0;
+        private boolean isClosed = false;
+
+        Batch(ConnectorKey connectorKey) {
+            this.connectorKey = connectorKey;
+        }
+    }
+
+    private static class PendingRender {
+        private final IEyesConnector connector;
+        private final RenderRequest[] requests;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private List<RunningRender> runningRenders;
+        private RuntimeException error;
+        private boolean shouldRenderAlone = false;
+
+        PendingRender(IEyesConnector connector, RenderRequest[] requests) {
+            this.connector = connector;
+            this.requests = requests;
+        }
+    }
+
+    public RenderRequestBatcher(Logger logger) {
+        this.logger = logger;
+    }
+
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    public void setBatchWindowMillis(long batchWindowMillis) {
+        ArgumentGuard.greaterThanOrEqualToZero(batchWindowMillis, "batchWindowMillis");
+        this.batchWindowMillis = batchWindowMillis;
+    }
+
+    public int getMaxRequestsPerBatch() {
+        return maxRequestsPerBatch;
+    }
+
+    public void setMaxRequestsPerBatch(int maxRequestsPerBatch) {
+        ArgumentGuard.greaterThanZero(maxRequestsPerBatch, "maxRequestsPerBatch");
+        this.maxRequestsPerBatch = maxRequestsPerBatch;
+    }
+
+    /**
+     * Sends the render requests with the requests of other rendering tasks. Blocks until the batch containing them is sent.
+     *
+     * @param connector The connector to send the requests with.
+     * @param requests  The render requests of a single rendering task.
+     * @return The running renders of the given requests, in the order of the requests, or {@code null} if the response didn't contain them.
+     */
+    public List<RunningRender> render(IEyesConnector connector, RenderRequest[] requests) {
+        ArgumentGuard.notNull(connector, "connector");
+        ArgumentGuard.notNull(requests, "requests");
+
+        PendingRender pendingRender = new PendingRender(connector, requests);
+        ConnectorKey connectorKey = ConnectorKey.of(connector);
+        Batch batch;
+        boolean isBatchSender;
+        synchronized (this) {
+            batch = currentBatches.get(connectorKey);
+            isBatchSender = batch == null;
+            if (isBatchSender) {
+                batch = new Batch(connectorKey);
+                currentBatches.put(connectorKey, batch);
+            }
+            batch.renders.add(pendingRender);
+            batch.requestsCount += requests.length;
+            if (batch.requestsCount >= maxRequestsPerBatch) {
+                closeBatch(batch);
+            }
+        }
+
+        if (isBatchSender) {
+            waitForBatch(batch);
+            send(batch.renders);
+        }
+
+        try {
+            pendingRender.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EyesException("Interrupted while waiting for render requests", e);
+        }
+
+        if (pendingRender.shouldRenderAlone) {
+            return connector.render(requests);
+        }
+        if (pendingRender.error != null) {
+            throw pendingRender.error;
+        }
+        return pendingRender.runningRenders;
+    }
+
+    // Guarded by this
+    private void closeBatch(Batch batch) {
+        batch.isClosed = true;
+        if (currentBatches.get(batch.connectorKey) == batch) {
+            currentBatches.remove(batch.connectorKey);
+        }
+        notifyAll();
+    }
+
+    private synchronized void waitForBatch(Batch batch) {
+        long deadline = System.currentTimeMillis() + batchWindowMillis;
+        long remaining = batchWindowMillis;
+        try {
+            while (!batch.isClosed && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeBatch(batch);
+    }
+
+    private void send(List<PendingRender> renders) {
+        try {
+            List<RenderRequest> allRequests = new ArrayList<>();
+            for (PendingRender pendingRender : renders) {
+                allRequests.addAll(Arrays.asList(pendingRender.requests));
+            }
+
+            List<RunningRender> allRunningRenders;
+            try {
+                logger.verbose(String.format("sending %d render requests of %d rendering tasks", allRequests.size(), renders.size()));
+                allRunningRenders = renders.get(0).connector.render(allRequests.toArray(new RenderRequest[0]));
+            } catch (RuntimeException e) {
+                if (renders.size() == 1) {
+                    renders.get(0).error = e;
+                    return;
+                }
+
+                // A single invalid request fails the whole batch, so each task sends its own requests
+                logger.log("Failed sending a batch of render requests, sending the requests of each rendering task separately");
+                GeneralUtils.logExceptionStackTrace(logger, e);
+                for (PendingRender pendingRender : renders) {
+                    pendingRender.shouldRenderAlone = true;
+                }
+                return;
+            }
+
+            // The running renders are returned in the order of the requests
+            int offset = 0;
+            for (PendingRender pendingRender : renders) {
+                int end = offset + pendingRender.requests.length;
+                if (allRunningRenders != null && allRunningRenders.size() >= end) {
+                    pendingRender.runningRenders = new ArrayList<>(allRunningRenders.subList(offset, end));
+                }
+                offset = end;
+            }
+        } finally {
+            for (PendingRender pendingRender : renders) {
+                pendingRender.latch.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.visualgrid.model.DesktopBrowserInfo;
+import com.applitools.eyes.visualgrid.model.RenderStatus;
+import com.applitools.eyes.visualgrid.model.RenderStatusResults;
+import com.applitools.utils.ArgumentGuard;
+import com.applitools.utils.GeneralUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Polls the status of the renders of all rendering tasks with merged requests.
+ * Rendering tasks register their render ids and return, and the poller notifies them when each render is done,
+ * so no thread is held while a render is running. Only renders whose connectors send their requests to the same
+ * server with the same credentials are merged.
+ * <p>
+ * The poller learns how long renders of each browser or device take during the run. A render is first polled
+ * around its expected completion, and then with a growing, jittered interval until it's done.
+ */
+public class RenderStatusPoller {
+
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1500;
+    public static final long DEFAULT_FIRST_POLL_DELAY_MILLIS = 500;
+    public static final long DEFAULT_RENDER_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    public static final int MAX_IDS_PER_REQUEST = 100;
+    public static final String DEFAULT_RENDER_TYPE = "default";
+
+    private static final long MIN_BACKOFF_MILLIS = 250;
+    private static final double BACKOFF_FACTOR = 1.5;
+    private static final double JITTER = 0.2;
+    // Renders due within this window are polled together with the due ones
+    private static final long MERGE_WINDOW_MILLIS = 100;
+    // Weight of the latest render in the expected duration of its type
+    private static final double DURATION_SMOOTHING = 0.3;
+    // A render done at its first poll might have been done earlier, so its type's renders are polled a bit earlier next time
+    private static final double FIRST_POLL_HIT_FACTOR = 0.8;
+    // Listeners only hand the results to their tasks, so a few threads keep up with any number of renders
+    private static final int CALLBACK_THREADS = 4;
+
+    private final Logger logger;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService callbackExecutor;
+    private final Random random = new Random();
+    private volatile long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+    private volatile long renderTimeoutMillis = DEFAULT_RENDER_TIMEOUT_MILLIS;
+
+    private final Map<String, PendingRender> pendingRenders = new LinkedHashMap<>();
+    private final Map<String, RenderTiming> renderTimings = new HashMap<>();
+    private ScheduledFuture<?> scheduledPoll = null;
+    private long scheduledPollTime = Long.MAX_VALUE;
+
+    private final Runnable pollTask = new Runnable() {
+        @Override
+        public void run() {
+            poll();
+        }
+    };
+
+    public interface RenderStatusListener {
+
+        /**
+         * Called once the render is done, with a {@link RenderStatus#RENDERED} or {@link RenderStatus#ERROR} status.
+         */
+        void onRenderStatus(String renderId, RenderStatusResults renderStatusResults);
+
+        void onRenderTimeout(String renderId);
+    }
+
+    /**
+     * The render durations of a browser or device type in this run.
+     */
+    public static class RenderTiming {
+        private final String renderType;
+        private long expectedDurationMillis;
+        private int rendersCount = 0;
+        private int pollsCount = 0;
+
+        RenderTiming(String renderType, long expectedDurationMillis) {
+            this.renderType = renderType;
+            this.expectedDurationMillis = expectedDurationMillis;
+        }
+
+        RenderTiming(RenderTiming other) {
+            this.renderType = other.renderType;
+            this.expectedDurationMillis = other.expectedDurationMillis;
+            this.rendersCount = other.rendersCount;
+            this.pollsCount = other.pollsCount;
+        }
+
+        public String getRenderType() {
+            return renderType;
+        }
+
+        public long getExpectedDurationMillis() {
+            return expectedDurationMillis;
+        }
+
+        public int getRendersCount() {
+            return rendersCount;
+        }
+
+        /**
+         * @return The number of status polls of the finished renders of this type.
+         */
+        public int getPollsCount() {
+            return pollsCount;
+        }
+
+        @Override
+        public String toString() {
+            return "RenderTiming{" +
+                    "renderType='" + renderType + '\'' +
+                    ", expectedDurationMillis=" + expectedDurationMillis +
+                    ", rendersCount=" + rendersCount +
+                    ", pollsCount=" + pollsCount +
+                    '}';
+        }
+    }
+
+    private static class PendingRender {
+        private final String renderId;
+        private final String renderType;
+        private final IEyesConnector connector;
+        private final ConnectorKey connectorKey;
+        private final RenderStatusListener listener;
+        private final long startTime = System.currentTimeMillis();
+        private long nextPollTime;
+        private long lastPollTime = 0;
+        private int pollsCount = 0;
+
+        PendingRender(String renderId, String renderType, IEyesConnector connector, RenderStatusListener listener) {
+            this.renderId = renderId;
+            this.renderType = renderType;
+            this.connector = connector;
+            this.connectorKey = ConnectorKey.of(connector);
+            this.listener = listener;
+        }
+    }
+
+    public RenderStatusPoller(Logger logger, ThreadFactory threadFactory) {
+        this.logger = logger;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        // Listeners set the render results of their tasks, which might dispatch more work, so they don't run on the polling thread
+        ThreadPoolExecutor callbackExecutor = new ThreadPoolExecutor(CALLBACK_THREADS, CALLBACK_THREADS, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<Runnable>(), threadFactory);
+        callbackExecutor.allowCoreThreadTimeOut(true);
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * @return A key of the browser or device of a render, whose renders take a similar time.
+     */
+    public static String getRenderType(DesktopBrowserInfo browserInfo) {
+        if (browserInfo == null) {
+            return DEFAULT_RENDER_TYPE;
+        }
+        if (browserInfo.getIosDeviceInfo() != null) {
+            return "ios:" + browserInfo.getIosDeviceInfo().getDeviceName();
+        }
+        if (browserInfo.getEmulationInfo() != null) {
+            return "emulation:" + browserInfo.getEmulationInfo().getDeviceName();
+        }
+        return browserInfo.getBrowserType() != null ? browserInfo.getBrowserType().name() : DEFAULT_RENDER_TYPE;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    /**
+     * Sets the maximum interval between two polls of a render which isn't done yet.
+     */
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        ArgumentGuard.greaterThanZero(pollIntervalMillis, "pollIntervalMillis");
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public long getRenderTimeoutMillis() {
+        return renderTimeoutMillis;
+    }
+
+    public void setRenderTimeoutMillis(long renderTimeoutMillis) {
+        ArgumentGuard.greaterThanZero(renderTimeoutMillis, "renderTimeoutMillis");
+        this.renderTimeoutMillis = renderTimeoutMillis;
+    }
+
+    /**
+     * @return The learned render durations of each browser or device type.
+     */
+    public synchronized Map<String, RenderTiming> getRenderTimings() {
+        Map<String, RenderTiming> timings = new HashMap<>();
+        for (Map.Entry<String, RenderTiming> entry : renderTimings.entrySet()) {
+            timings.put(entry.getKey(), new RenderTiming(entry.getValue()));
+        }
+        return timings;
+    }
+
+    /**
+     * Adds the render ids to the next status requests. The listener is notified once for each render id.
+     *
+     * @param connector The connector to poll these renders with, together with renders of connectors of the same server and credentials.
+     */
+    public void poll(IEyesConnector connector, Collection<String> renderIds, RenderStatusListener listener) {
+        ArgumentGuard.notNull(renderIds, "renderIds");
+        Map<String, String> renderTypes = new LinkedHashMap<>();
+        for (String renderId : renderIds) {
+            renderTypes.put(renderId, DEFAULT_RENDER_TYPE);
+        }
+        poll(connector, renderTypes, listener);
+    }
+
+    /**
+     * Adds the render ids to the next status requests. The listener is notified once for each render id.
+     *
+     * @param connector   The connector to poll these renders with, together with renders of connectors of the same server and credentials.
+     * @param renderTypes The render ids, mapped to their render type as returned by {@link #getRenderType(DesktopBrowserInfo)}.
+     */
+    public void poll(IEyesConnector connector, Map<String, String> renderTypes, RenderStatusListener listener) {
+        ArgumentGuard.notNull(connector, "connector");
+        ArgumentGuard.notNull(renderTypes, "renderTypes");
+        ArgumentGuard.notNull(listener, "listener");
+        synchronized (this) {
+            for (Map.Entry<String, String> entry : renderTypes.entrySet()) {
+                String renderType = entry.getValue() != null ? entry.getValue() : DEFAULT_RENDER_TYPE;
+                PendingRender pendingRender = new PendingRender(entry.getKey(), renderType, connector, listener);
+                pendingRender.nextPollTime = pendingRender.startTime + getExpectedDuration(renderType);
+                pendingRenders.put(pendingRender.renderId, pendingRender);
+            }
+            scheduleNextPoll();
+        }
+    }
+
+    private long getExpectedDuration(String renderType) {
+        RenderTiming timing = renderTimings.get(renderType);
+        return timing != null ? timing.expectedDurationMillis : DEFAULT_FIRST_POLL_DELAY_MILLIS;
+    }
+
+    synchronized int getPendingRendersCount() {
+        return pendingRenders.size();
+    }
+
+    void poll() {
+        Map<ConnectorKey, List<PendingRender>> dueRenders = new LinkedHashMap<>();
+        List<PendingRender> timedOutRenders = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            scheduledPoll = null;
+            scheduledPollTime = Long.MAX_VALUE;
+            for (PendingRender pendingRender : pendingRenders.values()) {
+                if (now - pendingRender.startTime > renderTimeoutMillis) {
+                    timedOutRenders.add(pendingRender);
+                } else if (pendingRender.nextPollTime <= now + MERGE_WINDOW_MILLIS) {
+                    List<PendingRender> keyRenders = dueRenders.get(pendingRender.connectorKey);
+                    if (keyRenders == null) {
+                        keyRenders = new ArrayList<>();
+                        dueRenders.put(pendingRender.connectorKey, keyRenders);
+                    }
+                    keyRenders.add(pendingRender);
+                }
+            }
+        }
+
+        for (PendingRender pendingRender : timedOutRenders) {
+            onRenderDone(pendingRender, null);
+        }
+
+        // Each request is sent with the server and credentials of the renders in it
+        for (List<PendingRender> keyRenders : dueRenders.values()) {
+            for (int start = 0; start < keyRenders.size(); start += MAX_IDS_PER_REQUEST) {
+                List<PendingRender> chunk = keyRenders.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, keyRenders.size()));
+                pollChunk(chunk);
+            }
+        }
+
+        synchronized (this) {
+            scheduleNextPoll();
+        }
+    }
+
+    private void pollChunk(List<PendingRender> chunk) {
+        String[] renderIds = new String[chunk.size()];
+        for (int i = 0; i < renderIds.length; i++) {
+            renderIds[i] = chunk.get(i).renderId;
+        }
+
+        List<RenderStatusResults> renderStatusResultsList = null;
+        try {
+            logger.verbose(String.format("polling status of %d renders", renderIds.length));
+            renderStatusResultsList = chunk.get(0).connector.renderStatusById(renderIds);
+        } catch (Throwable e) {
+            GeneralUtils.logExceptionStackTrace(logger, e);
+        }
+
+        long pollTime = System.currentTimeMillis();
+        Set<PendingRender> doneRenders = new HashSet<>();
+        if (renderStatusResultsList != null) {
+            // The statuses are returned in the order of the requested ids
+            for (int i = 0; i < renderStatusResultsList.size() && i < renderIds.length; i++) {
+                RenderStatusResults renderStatusResults = renderStatusResultsList.get(i);
+                if (renderStatusResults == null) {
+                    continue;
+                }
+                RenderStatus status = renderStatusResults.getStatus();
+                if (status == RenderStatus.RENDERED || status == RenderStatus.ERROR) {
+                    PendingRender pendingRender = chunk.get(i);
+                    pendingRender.pollsCount++;
+                    if (status == RenderStatus.RENDERED) {
+                        learnRenderDuration(pendingRender, pollTime);
+                    }
+                    doneRenders.add(pendingRender);
+                    onRenderDone(pendingRender, renderStatusResults);
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (PendingRender pendingRender : chunk) {
+                if (doneRenders.contains(pendingRender)) {
+                    continue;
+                }
+                pendingRender.pollsCount++;
+                pendingRender.lastPollTime = pollTime;
+                pendingRender.nextPollTime = pollTime + getBackoffDelay(pendingRender.pollsCount);
+            }
+        }
+    }
+
+    private long getBackoffDelay(int pollsCount) {
+        double delay = Math.min(pollIntervalMillis, MIN_BACKOFF_MILLIS * Math.pow(BACKOFF_FACTOR, pollsCount - 1));
+        double jitter = 1 + JITTER * (2 * random.nextDouble() - 1);
+        return Math.max(1, (long) (delay * jitter));
+    }
+
+    private synchronized void learnRenderDuration(PendingRender pendingRender, long doneTime) {
+        long duration;
+        if (pendingRender.lastPollTime == 0) {
+            duration = (long) ((doneTime - pendingRender.startTime) * FIRST_POLL_HIT_FACTOR);
+        } else {
+            // The render was done some time between the last two polls
+            duration = (pendingRender.lastPollTime + doneTime) / 2 - pendingRender.startTime;
+        }
+
+        RenderTiming timing = renderTimings.get(pendingRender.renderType);
+        if (timing == null) {
+            timing = new RenderTiming(pendingRender.renderType, duration);
+            renderTimings.put(pendingRender.renderType, timing);
+        } else {
+            timing.expectedDurationMillis = (long) (DURATION_SMOOTHING * duration + (1 - DURATION_SMOOTHING) * timing.expectedDurationMillis);
+        }
+        timing.rendersCount++;
+        timing.pollsCount += pendingRender.pollsCount;
+        logger.verbose(String.format("render %s of type %s was done after %dms and %d polls, expecting %dms for the next renders",
+                pendingRender.renderId, pendingRender.renderType, doneTime - pendingRender.startTime, pendingRender.pollsCount,
+                timing.expectedDurationMillis));
+    }
+
+    private void onRenderDone(final PendingRender pendingRender, final RenderStatusResults renderStatusResults) {
+        synchronized (this) {
+            if (pendingRenders.remove(pendingRender.renderId) != pendingRender) {
+                return;
+            }
+        }
+
+        Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (renderStatusResults != null) {
+                        pendingRender.listener.onRenderStatus(pendingRender.renderId, renderStatusResults);
+                    } else {
+                        pendingRender.listener.onRenderTimeout(pendingRender.renderId);
+                    }
+                } catch (Throwable e) {
+                    GeneralUtils.logExceptionStackTrace(logger, e);
+                }
+            }
+        };
+        try {
+            callbackExecutor.execute(notification);
+        } catch (RejectedExecutionException e) {
+            notification.run();
+        }
+    }
+
+    // Guarded by this
+    private void scheduleNextPoll() {
+        long nextPollTime = Long.MAX_VALUE;
+        for (PendingRender pendingRender : pendingRenders.values()) {
+            nextPollTime = Math.min(nextPollTime, pendingRender.nextPollTime);
+        }
+        if (nextPollTime == Long.MAX_VALUE || nextPollTime >= scheduledPollTime) {
+            return;
+        }
+
+        if (scheduledPoll != null) {
+            scheduledPoll.cancel(false);
+        }
+        try {
+            long delay = Math.max(0, nextPollTime - System.currentTimeMillis());
+            scheduledPoll = scheduler.schedule(pollTask, delay, TimeUnit.MILLISECONDS);
+            scheduledPollTime = nextPollTime;
+        } catch (RejectedExecutionException e) {
+            logger.log("Render status poller is shut down, not polling " + pendingRenders.size() + " renders");
+            scheduledPoll = null;
+            scheduledPollTime = Long.MAX_VALUE;
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        callbackExecutor.shutdown();
+    }
+}
@@ -12,13 +12,14 @@ public class RenderingGridService extends Thread {
     private static final int FACTOR = 5;
     private final Object debugLock;
     private final RGServiceListener listener;
-    private final int maximumPoolSize;
+    private final int threadPoolSize;
+    private volatile int maximumPoolSize;
     private boolean isServiceOn = true;
-    private ExecutorService executor;
+    private volatile ThreadPoolExecutor executor;
     protected Logger logger;
     private boolean isPaused;
     private AtomicInteger concurrentSession = new AtomicInteger(0);
-    private final Object concurrencyLock;
+    private final ServiceSignal concurrencySignal;
 
     public void setLogger(Logger logger) {
         if (this.logger == null) {
@@ -32,15 +33,22 @@ public class RenderingGridService extends Thread {
         RenderingTask getNextTask();
     }
 
-    RenderingGridService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object debugLock, RGServiceListener listener, Object concurrencyLock) {
+    RenderingGridService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object debugLock, RGServiceListener listener, ServiceSignal concurrencySignal) {
+        this(serviceName, servicesGroup, logger, threadPoolSize, debugLock, listener, concurrencySignal, new ServiceExecutorConfiguration());
+    }
+
+    RenderingGridService(String serviceName, ThreadGroup servicesGroup, Logger logger, int threadPoolSize, Object debugLock, RGServiceListener listener, ServiceSignal concurrencySignal,
+                         ServiceExecutorConfiguration executorConfiguration) {
         super(servicesGroup, serviceName);
-        maximumPoolSize = threadPoolSize * FACTOR;
-        this.executor = new ThreadPoolExecutor(threadPoolSize, maximumPoolSize, 1, TimeUnit.DAYS, new ArrayBlockingQueue<Runnable>(20));
+        this.threadPoolSize = threadPoolSize;
+        this.executor = executorConfiguration.createExecutor(threadPoolSize, threadPoolSize * FACTOR);
+        // No more renders are started than the pool can run
+        maximumPoolSize = executor.getMaximumPoolSize();
         this.debugLock = debugLock;
         this.listener = listener;
         this.logger = logger;
         this.isPaused = debugLock != null;
-        this.concurrencyLock = concurrencyLock;
+        this.concurrencySignal = concurrencySignal;
     }
 
     @Override
@@ -92,6 +100,7 @@ public class RenderingGridService extends Thread {
                     concurrentSession.incrementAndGet();
                     this.executor.submit(task);
                 } catch (Exception e) {
+                    concurrentSession.decrementAndGet();
                     logger.verbose("Exception in - this.executor.submit(task); ");
                     if(e.getMessage().contains("Read timed out")){
                         logger.verbose("Read timed out");
@@ -102,28 +111,19 @@ public class RenderingGridService extends Thread {
             }
         }
         else{
-            logger.verbose("trying to sync lock");
-            synchronized (concurrencyLock){
-                try {
-                    logger.verbose("Waiting for concurrency to be free");
-                    concurrencyLock.wait();
-                    logger.verbose("concurrency free");
-                } catch (InterruptedException e) {
-                    GeneralUtils.logExceptionStackTrace(logger ,e);
-                }
+            try {
+                logger.verbose("Waiting for concurrency to be free");
+                concurrencySignal.await(0);
+                logger.verbose("concurrency free");
+            } catch (InterruptedException e) {
+                GeneralUtils.logExceptionStackTrace(logger ,e);
             }
-            logger.verbose("releasing lock");
         }
     }
 
     private void onRenderFinish() {
         concurrentSession.decrementAndGet();
-        logger.verbose("trying to sync lock");
-        synchronized (concurrencyLock) {
-            concurrencyLock.notify();
-
-        }
-        logger.verbose("releasing lock");
+        concurrencySignal.signal();
     }
 
     private void debugNotify() {
@@ -134,11 +134,28 @@ public class RenderingGridService extends Thread {
         }
     }
 
+    /**
+     * Replaces the pool of the service with a pool built from the given settings.
+     * Must be called before any task was submitted to the service.
+     */
+    void setExecutorConfiguration(ServiceExecutorConfiguration executorConfiguration) {
+        ThreadPoolExecutor previousExecutor = executor;
+        executor = executorConfiguration.createExecutor(threadPoolSize, threadPoolSize * FACTOR);
+        maximumPoolSize = executor.getMaximumPoolSize();
+        previousExecutor.shutdown();
+        concurrencySignal.signal();
+    }
+
+    public ServiceMetrics getMetrics() {
+        return new ServiceMetrics(getName(), executor);
+    }
+
     public void debugPauseService() {
       this.isPaused = true;
     }
 
     public void stopService() {
         this.isServiceOn = false;
+        concurrencySignal.signal();
     }
 }
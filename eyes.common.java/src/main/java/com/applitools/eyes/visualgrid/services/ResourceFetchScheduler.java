@@ -0,0 +1,173 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TaskListener;
+import com.applitools.eyes.visualgrid.model.RGridResource;
+import com.applitools.utils.ArgumentGuard;
+import com.applitools.utils.GeneralUtils;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules resource downloads of all rendering tasks.
+ * Limits the concurrent downloads per host, and when a host is busy, starts stylesheets first, then fonts, then the rest,
+ * because stylesheets have to be parsed to discover more resources while images are always leaves.
+ */
+public class ResourceFetchScheduler {
+
+    public static final int DEFAULT_MAX_CONCURRENT_FETCHES_PER_HOST = 6;
+
+    public enum Priority {
+        STYLESHEET, FONT, OTHER, IMAGE
+    }
+
+    private final Logger logger;
+    private volatile int maxConcurrentFetchesPerHost = DEFAULT_MAX_CONCURRENT_FETCHES_PER_HOST;
+    private final Map<String, HostQueue> hostQueues = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private static class HostQueue {
+        private final PriorityQueue<PendingFetch> pendingFetches = new PriorityQueue<>();
+        private int activeFetches = 0;
+    }
+
+    private class PendingFetch implements Comparable<PendingFetch> {
+        private final IEyesConnector connector;
+        private final URI uri;
+        private final String userAgent;
+        private final String refererUrl;
+        private final TaskListener<RGridResource> listener;
+        private final Priority priority;
+        private final long sequenceNumber = sequence.getAndIncrement();
+        private final long queueTime = System.currentTimeMillis();
+
+        PendingFetch(IEyesConnector connector, URI uri, String userAgent, String refererUrl, TaskListener<RGridResource> listener) {
+            this.connector = connector;
+            this.uri = uri;
+            this.userAgent = userAgent;
+            this.refererUrl = refererUrl;
+            this.listener = listener;
+            this.priority = getPriority(uri);
+        }
+
+        @Override
+        public int compareTo(PendingFetch other) {
+            int result = priority.compareTo(other.priority);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    public ResourceFetchScheduler(Logger logger) {
+        this.logger = logger;
+    }
+
+    public int getMaxConcurrentFetchesPerHost() {
+        return maxConcurrentFetchesPerHost;
+    }
+
+    public void setMaxConcurrentFetchesPerHost(int maxConcurrentFetchesPerHost) {
+        ArgumentGuard.greaterThanZero(maxConcurrentFetchesPerHost, "maxConcurrentFetchesPerHost");
+        this.maxConcurrentFetchesPerHost = maxConcurrentFetchesPerHost;
+    }
+
+    /**
+     * Guesses the priority of a resource by the extension of its url, since its content type is known only after downloading it.
+     */
+    public static Priority getPriority(URI uri) {
+        String path = uri.getPath();
+        if (path == null) {
+            return Priority.OTHER;
+        }
+        path = path.toLowerCase(Locale.ROOT);
+        if (path.endsWith(".css")) {
+            return Priority.STYLESHEET;
+        }
+        if (path.endsWith(".woff") || path.endsWith(".woff2") || path.endsWith(".ttf")
+                || path.endsWith(".otf") || path.endsWith(".eot")) {
+            return Priority.FONT;
+        }
+        // svg files are parsed for more resources, so they aren't treated as images
+        if (path.endsWith(".png") || path.endsWith(".jpg") || path.endsWith(".jpeg") || path.endsWith(".gif")
+                || path.endsWith(".webp") || path.endsWith(".bmp") || path.endsWith(".ico")) {
+            return Priority.IMAGE;
+        }
+        return Priority.OTHER;
+    }
+
+    /**
+     * Downloads a resource as soon as its host has a free slot.
+     *
+     * @param listener Notified when the download ends.
+     */
+    public void fetch(IEyesConnector connector, URI uri, String userAgent, String refererUrl, TaskListener<RGridResource> listener) {
+        PendingFetch fetch = new PendingFetch(connector, uri, userAgent, refererUrl, listener);
+        String host = String.valueOf(uri.getHost());
+        synchronized (hostQueues) {
+            HostQueue hostQueue = hostQueues.get(host);
+            if (hostQueue == null) {
+                hostQueue = new HostQueue();
+                hostQueues.put(host, hostQueue);
+            }
+            if (hostQueue.activeFetches >= maxConcurrentFetchesPerHost) {
+                hostQueue.pendingFetches.add(fetch);
+                return;
+            }
+            hostQueue.activeFetches++;
+        }
+
+        start(host, fetch);
+    }
+
+    private void start(final String host, final PendingFetch fetch) {
+        final long startTime = System.currentTimeMillis();
+        TaskListener<RGridResource> listener = new TaskListener<RGridResource>() {
+            @Override
+            public void onComplete(RGridResource taskResponse) {
+                logger.verbose(String.format("fetched %s (%s) - waited %dms, downloaded in %dms", fetch.uri, fetch.priority,
+                        startTime - fetch.queueTime, System.currentTimeMillis() - startTime));
+                onFetchDone(host);
+                fetch.listener.onComplete(taskResponse);
+            }
+
+            @Override
+            public void onFail() {
+                onFetchDone(host);
+                fetch.listener.onFail();
+            }
+        };
+
+        try {
+            fetch.connector.getResource(fetch.uri, fetch.userAgent, fetch.refererUrl, listener);
+        } catch (Throwable e) {
+            logger.log("Failed starting download of " + fetch.uri);
+            GeneralUtils.logExceptionStackTrace(logger, e);
+            listener.onFail();
+        }
+    }
+
+    private void onFetchDone(String host) {
+        PendingFetch next;
+        synchronized (hostQueues) {
+            HostQueue hostQueue = hostQueues.get(host);
+            next = hostQueue.pendingFetches.poll();
+            if (next == null) {
+                hostQueue.activeFetches--;
+                if (hostQueue.activeFetches == 0) {
+                    hostQueues.remove(host);
+                }
+                return;
+            }
+        }
+
+        // The slot of the finished download passes to the next one
+        start(host, next);
+    }
+}
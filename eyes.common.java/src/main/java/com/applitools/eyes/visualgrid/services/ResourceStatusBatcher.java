@@ -0,0 +1,219 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.visualgrid.model.HashObject;
+import com.applitools.utils.ArgumentGuard;
+import com.applitools.utils.GeneralUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Groups the resource existence checks of all concurrent rendering tasks into a single request per server,
+ * of at most {@link #MAX_HASHES_PER_REQUEST} hashes.
+ * The first check in a window waits for {@link #getBatchWindowMillis()} so checks of other tasks can join it.
+ * The requests of different servers are sent concurrently, so a slow server doesn't delay the checks of the others.
+ * Only connectors which implement {@link IResourceStatusChecker} are checked, the resources of other connectors are
+ * reported as missing.
+ */
+public class ResourceStatusBatcher {
+
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 20;
+    public static final int MAX_HASHES_PER_REQUEST = 1000;
+    private static final int CHECK_TIMEOUT_SECONDS = 60;
+    private static final String HASH_FORMAT = "sha256";
+
+    private final Logger logger;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService requestExecutor;
+    private volatile long batchWindowMillis = DEFAULT_BATCH_WINDOW_MILLIS;
+
+    private List<PendingCheck> pendingChecks = new ArrayList<>();
+    private int pendingHashesCount = 0;
+    private boolean isFlushScheduled = false;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private static class PendingCheck {
+        private final IResourceStatusChecker connector;
+        private final ConnectorKey connectorKey;
+        private final Collection<String> hashes;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private Set<String> missingHashes;
+
+        PendingCheck(IEyesConnector connector, Collection<String> hashes) {
+            this.connector = (IResourceStatusChecker) connector;
+            this.connectorKey = ConnectorKey.of(connector);
+            this.hashes = hashes;
+        }
+    }
+
+    public ResourceStatusBatcher(Logger logger, ThreadFactory threadFactory) {
+        this.logger = logger;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        // A thread per server with pending checks, idle threads end after a minute
+        this.requestExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 1, TimeUnit.MINUTES,
+                new SynchronousQueue<Runnable>(), threadFactory);
+    }
+
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    public void setBatchWindowMillis(long batchWindowMillis) {
+        ArgumentGuard.greaterThanOrEqualToZero(batchWindowMillis, "batchWindowMillis");
+        this.batchWindowMillis = batchWindowMillis;
+    }
+
+    /**
+     * Checks which of the given hashes are missing on the server. Blocks until the batch containing them is resolved.
+     * If the check fails, all hashes are reported as missing.
+     *
+     * @param connector The connector to check with. Only checks of connectors with the same server and credentials are batched.
+     * @param hashes The sha256 hashes of the resources to check.
+     * @return The hashes which don't exist on the server.
+     */
+    public Set<String> getMissingHashes(IEyesConnector connector, Collection<String> hashes) {
+        ArgumentGuard.notNull(connector, "connector");
+        ArgumentGuard.notNull(hashes, "hashes");
+        if (hashes.isEmpty()) {
+            return new HashSet<>();
+        }
+        if (!(connector instanceof IResourceStatusChecker)) {
+            return new HashSet<>(hashes);
+        }
+
+        PendingCheck check = new PendingCheck(connector, hashes);
+        boolean shouldFlushNow = false;
+        synchronized (this) {
+            pendingChecks.add(check);
+            pendingHashesCount += hashes.size();
+            if (pendingHashesCount >= MAX_HASHES_PER_REQUEST) {
+                shouldFlushNow = true;
+            } else if (!isFlushScheduled) {
+                isFlushScheduled = true;
+                try {
+                    scheduler.schedule(flushTask, batchWindowMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    shouldFlushNow = true;
+                }
+            }
+        }
+
+        if (shouldFlushNow) {
+            flush();
+        }
+
+        try {
+            if (!check.latch.await(CHECK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.log("Timed out waiting for resources status");
+                return new HashSet<>(hashes);
+            }
+        } catch (InterruptedException e) {
+            GeneralUtils.logExceptionStackTrace(logger, e);
+            return new HashSet<>(hashes);
+        }
+
+        return check.missingHashes;
+    }
+
+    void flush() {
+        List<PendingCheck> checks;
+        synchronized (this) {
+            checks = pendingChecks;
+            pendingChecks = new ArrayList<>();
+            pendingHashesCount = 0;
+            isFlushScheduled = false;
+        }
+
+        if (checks.isEmpty()) {
+            return;
+        }
+
+        Map<ConnectorKey, List<PendingCheck>> checksByConnector = new LinkedHashMap<>();
+        for (PendingCheck check : checks) {
+            List<PendingCheck> connectorChecks = checksByConnector.get(check.connectorKey);
+            if (connectorChecks == null) {
+                connectorChecks = new ArrayList<>();
+                checksByConnector.put(check.connectorKey, connectorChecks);
+            }
+            connectorChecks.add(check);
+        }
+
+        // A resource which exists on one server might be missing on another, so each group gets its own answer
+        for (final List<PendingCheck> connectorChecks : checksByConnector.values()) {
+            Runnable request = new Runnable() {
+                @Override
+                public void run() {
+                    resolve(connectorChecks);
+                }
+            };
+            try {
+                requestExecutor.execute(request);
+            } catch (RejectedExecutionException e) {
+                request.run();
+            }
+        }
+    }
+
+    private void resolve(List<PendingCheck> checks) {
+        Set<String> existingHashes = new HashSet<>();
+        try {
+            existingHashes = getExistingHashes(checks);
+        } finally {
+            for (PendingCheck check : checks) {
+                Set<String> missingHashes = new HashSet<>(check.hashes);
+                missingHashes.removeAll(existingHashes);
+                check.missingHashes = missingHashes;
+                check.latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * Checks the hashes of checks which share a connector, in requests of at most {@link #MAX_HASHES_PER_REQUEST} hashes.
+     * The hashes of a failed request are treated as missing.
+     */
+    private Set<String> getExistingHashes(List<PendingCheck> checks) {
+        Set<String> allHashes = new LinkedHashSet<>();
+        for (PendingCheck check : checks) {
+            allHashes.addAll(check.hashes);
+        }
+
+        IResourceStatusChecker connector = checks.get(0).connector;
+        logger.verbose(String.format("checking %d hashes of %d rendering tasks", allHashes.size(), checks.size()));
+        Set<String> existingHashes = new HashSet<>();
+        List<HashObject> hashObjects = new ArrayList<>();
+        Iterator<String> hashesIterator = allHashes.iterator();
+        while (hashesIterator.hasNext()) {
+            hashObjects.add(new HashObject(HASH_FORMAT, hashesIterator.next()));
+            if (hashObjects.size() < MAX_HASHES_PER_REQUEST && hashesIterator.hasNext()) {
+                continue;
+            }
+
+            try {
+                Boolean[] result = connector.checkResourceStatus(null, hashObjects.toArray(new HashObject[0]));
+                for (int i = 0; i < result.length; i++) {
+                    if (Boolean.TRUE.equals(result[i])) {
+                        existingHashes.add(hashObjects.get(i).getHash());
+                    }
+                }
+            } catch (Throwable e) {
+                logger.log("Failed checking resources status, treating " + hashObjects.size() + " resources as missing");
+                GeneralUtils.logExceptionStackTrace(logger, e);
+            }
+            hashObjects = new ArrayList<>();
+        }
+        return existingHashes;
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        requestExecutor.shutdown();
+    }
+}
@@ -15,6 +15,7 @@ import java.util.*;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RunningTest {
     private final List<VisualGridTask> visualGridTaskList = Collections.synchronizedList(new ArrayList<VisualGridTask>());
@@ -33,6 +34,9 @@ public class RunningTest {
     private String appName;
     private String testName;
     private Throwable error;
+    private TaskScoreIndex scoreIndex;
+    private final AtomicLong scoreVersion = new AtomicLong();
+    private long indexedScoreVersion = 0;
 
     /******** BEGIN - PUBLIC FOR TESTING PURPOSES ONLY ********/
     public void setCloseTask(VisualGridTask task) {
@@ -93,6 +97,7 @@ public class RunningTest {
         FutureTask<TestResultContainer> futureTask = new FutureTask<>(abortTask);
         taskToFutureMapping.put(abortTask, futureTask);
         this.isCloseTaskIssued.set(true);
+        updateScoreIndex();
         return taskToFutureMapping.get(closeTask);
     }
 
@@ -108,9 +113,11 @@ public class RunningTest {
             if (next.getType() == VisualGridTask.TaskType.CHECK) {
                 counter++;
                 iterator.remove();
+                next.getResultFuture().fail(error != null ? error : new Error("Check was removed from aborted test"));
             }
         }
         logger.verbose("removed " + counter + " CHECK tasks from test");
+        updateScoreIndex();
     }
 
     public boolean isCloseTaskIssued() {
@@ -143,6 +150,7 @@ public class RunningTest {
                     RunningTest.this.isTestClose.set(true);
                     break;
             }
+            updateScoreIndex();
             if (runningTest.listener != null) {
                 RunningTest.this.listener.onTaskComplete(visualGridTask, RunningTest.this);
             }
@@ -157,6 +165,7 @@ public class RunningTest {
         @Override
         public void onRenderComplete(RenderingTask renderingTask, Throwable error) {
             logger.verbose("enter");
+            updateScoreIndex();
             listener.onRenderComplete();
             logger.verbose("exit");
         }
@@ -197,6 +206,47 @@ public class RunningTest {
         return new ScoreTask(chosenVisualGridTask, score);
     }
 
+    /**
+     * @return The first task of the test if it's an open or check task ready to be dispatched, with the score of the test.
+     */
+    ScoreTask getNextScoreTask() {
+        synchronized (this.visualGridTaskList) {
+            if (this.visualGridTaskList.isEmpty()) {
+                return null;
+            }
+            VisualGridTask visualGridTask = this.visualGridTaskList.get(0);
+            VisualGridTask.TaskType type = visualGridTask.getType();
+            if ((type != VisualGridTask.TaskType.OPEN && type != VisualGridTask.TaskType.CHECK) || !visualGridTask.isTaskReadyToCheck()) {
+                return null;
+            }
+            return getScoreTaskObjectByType(type);
+        }
+    }
+
+    void setScoreIndex(TaskScoreIndex scoreIndex) {
+        this.scoreIndex = scoreIndex;
+        updateScoreIndex();
+    }
+
+    private void updateScoreIndex() {
+        if (scoreIndex != null) {
+            scoreIndex.update(this);
+        }
+    }
+
+    long nextScoreVersion() {
+        return scoreVersion.incrementAndGet();
+    }
+
+    // Guarded by the score index
+    long getIndexedScoreVersion() {
+        return indexedScoreVersion;
+    }
+
+    void setIndexedScoreVersion(long indexedScoreVersion) {
+        this.indexedScoreVersion = indexedScoreVersion;
+    }
+
     public synchronized FutureTask<TestResultContainer> getNextCloseTask() {
 //        logger.verbose("enter");
         if (!visualGridTaskList.isEmpty() && isCloseTaskIssued.get()) {
@@ -234,6 +284,7 @@ public class RunningTest {
             logVGTasksList(visualGridTaskList);
         }
         logger.verbose("releasing visualGridTaskList");
+        updateScoreIndex();
         return visualGridTask;
     }
 
@@ -271,6 +322,7 @@ public class RunningTest {
             logVGTasksList(this.visualGridTaskList);
         }
         logger.verbose("releasing visualGridTaskList");
+        updateScoreIndex();
         FutureTask<TestResultContainer> testResultContainerFutureTask = this.taskToFutureMapping.get(visualGridTask);
         return testResultContainerFutureTask;
     }
@@ -297,6 +349,7 @@ public class RunningTest {
             logVGTasksList(visualGridTaskList);
         }
         logger.verbose("releasing visualGridTaskList");
+        updateScoreIndex();
         this.taskToFutureMapping.get(visualGridTask);
         return visualGridTask;
     }
@@ -344,6 +397,7 @@ public class RunningTest {
             openTask.setExceptionAndAbort(e);
         }
         logger.verbose("releasing visualGridTaskList.");
+        updateScoreIndex();
     }
 
     Logger getLogger() {
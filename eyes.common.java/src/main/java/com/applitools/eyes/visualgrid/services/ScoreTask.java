@@ -14,6 +14,10 @@ public class ScoreTask {
         return score;
     }
 
+    VisualGridTask.TaskType getType() {
+        return task.getType();
+    }
+
     VisualGridTask getVisualGridTask(){
         task.setIsSent();
         return task;
@@ -0,0 +1,123 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.utils.ArgumentGuard;
+
+import java.util.concurrent.*;
+
+/**
+ * The thread pool settings of the visual grid runner services.
+ * Pool sizes which aren't set are derived by each service from the runner's concurrency.
+ */
+public class ServiceExecutorConfiguration {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 20;
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private Integer corePoolSize = null;
+    private Integer maximumPoolSize = null;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+    private RejectedExecutionHandler rejectedExecutionHandler = null;
+    private ThreadFactory threadFactory = null;
+
+    public Integer getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public ServiceExecutorConfiguration setCorePoolSize(int corePoolSize) {
+        ArgumentGuard.greaterThanZero(corePoolSize, "corePoolSize");
+        this.corePoolSize = corePoolSize;
+        return this;
+    }
+
+    public Integer getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    /**
+     * Sets the number of threads the pool grows to when its queue is full.
+     * The pool only grows past its core size while the queue is full, so with an unbounded queue it never does.
+     */
+    public ServiceExecutorConfiguration setMaximumPoolSize(int maximumPoolSize) {
+        ArgumentGuard.greaterThanZero(maximumPoolSize, "maximumPoolSize");
+        this.maximumPoolSize = maximumPoolSize;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the number of tasks waiting for a free thread. 0 hands tasks directly to the threads,
+     * and {@link Integer#MAX_VALUE} makes the queue unbounded.
+     * Since an unbounded queue is never full, the pool then runs at most the core pool size of threads,
+     * and the maximum pool size is ignored.
+     */
+    public ServiceExecutorConfiguration setQueueCapacity(int queueCapacity) {
+        ArgumentGuard.greaterThanOrEqualToZero(queueCapacity, "queueCapacity");
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public ServiceExecutorConfiguration setKeepAliveMillis(long keepAliveMillis) {
+        ArgumentGuard.greaterThanZero(keepAliveMillis, "keepAliveMillis");
+        this.keepAliveMillis = keepAliveMillis;
+        return this;
+    }
+
+    public RejectedExecutionHandler getRejectedExecutionHandler() {
+        return rejectedExecutionHandler;
+    }
+
+    /**
+     * Sets the handler of tasks submitted when both the threads and the queue are full.
+     * By default such a task is handed back to the service thread, which submits it again once the pool has room.
+     */
+    public ServiceExecutorConfiguration setRejectedExecutionHandler(RejectedExecutionHandler rejectedExecutionHandler) {
+        ArgumentGuard.notNull(rejectedExecutionHandler, "rejectedExecutionHandler");
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+        return this;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    /**
+     * Sets the factory of the pool threads, for example to run the tasks on virtual threads.
+     * By default the pool uses {@link Executors#defaultThreadFactory()}.
+     */
+    public ServiceExecutorConfiguration setThreadFactory(ThreadFactory threadFactory) {
+        ArgumentGuard.notNull(threadFactory, "threadFactory");
+        this.threadFactory = threadFactory;
+        return this;
+    }
+
+    ThreadPoolExecutor createExecutor(int defaultCorePoolSize, int defaultMaximumPoolSize) {
+        return createExecutor(defaultCorePoolSize, defaultMaximumPoolSize, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @param defaultRejectedExecutionHandler The handler to use if no handler was set.
+     */
+    ThreadPoolExecutor createExecutor(int defaultCorePoolSize, int defaultMaximumPoolSize, RejectedExecutionHandler defaultRejectedExecutionHandler) {
+        int core = corePoolSize != null ? corePoolSize : defaultCorePoolSize;
+        int maximum = Math.max(core, maximumPoolSize != null ? maximumPoolSize : defaultMaximumPoolSize);
+        BlockingQueue<Runnable> queue;
+        if (queueCapacity == 0) {
+            queue = new SynchronousQueue<>();
+        } else if (queueCapacity == Integer.MAX_VALUE) {
+            queue = new LinkedBlockingQueue<>();
+        } else {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+        ThreadFactory factory = threadFactory != null ? threadFactory : Executors.defaultThreadFactory();
+        RejectedExecutionHandler handler = rejectedExecutionHandler != null ? rejectedExecutionHandler : defaultRejectedExecutionHandler;
+        return new ThreadPoolExecutor(core, maximum, keepAliveMillis, TimeUnit.MILLISECONDS, queue, factory, handler);
+    }
+}
@@ -0,0 +1,68 @@
+package com.applitools.eyes.visualgrid.services;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * A snapshot of the thread pool of a visual grid runner service.
+ */
+public class ServiceMetrics {
+
+    private final String serviceName;
+    private final int queueDepth;
+    private final int remainingQueueCapacity;
+    private final int activeThreads;
+    private final int poolSize;
+    private final int largestPoolSize;
+    private final long completedTasks;
+
+    ServiceMetrics(String serviceName, ThreadPoolExecutor executor) {
+        this.serviceName = serviceName;
+        this.queueDepth = executor.getQueue().size();
+        this.remainingQueueCapacity = executor.getQueue().remainingCapacity();
+        this.activeThreads = executor.getActiveCount();
+        this.poolSize = executor.getPoolSize();
+        this.largestPoolSize = executor.getLargestPoolSize();
+        this.completedTasks = executor.getCompletedTaskCount();
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getRemainingQueueCapacity() {
+        return remainingQueueCapacity;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getLargestPoolSize() {
+        return largestPoolSize;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceMetrics{" +
+                "serviceName='" + serviceName + '\'' +
+                ", queueDepth=" + queueDepth +
+                ", remainingQueueCapacity=" + remainingQueueCapacity +
+                ", activeThreads=" + activeThreads +
+                ", poolSize=" + poolSize +
+                ", largestPoolSize=" + largestPoolSize +
+                ", completedTasks=" + completedTasks +
+                '}';
+    }
+}
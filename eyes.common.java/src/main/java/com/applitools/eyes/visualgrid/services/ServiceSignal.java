@@ -0,0 +1,40 @@
+package com.applitools.eyes.visualgrid.services;
+
+/**
+ * Wakes a service when there might be new work for it.
+ * A signal sent while the service is busy is kept until the service waits again, so no signal is lost.
+ */
+public class ServiceSignal {
+
+    private boolean isSignaled = false;
+
+    public synchronized void signal() {
+        isSignaled = true;
+        notifyAll();
+    }
+
+    /**
+     * Waits until the service is signaled or until the timeout elapses, and clears the signal.
+     *
+     * @param timeoutMillis The maximum time to wait, or 0 to wait without a timeout.
+     * @return {@code true} if the service was signaled.
+     */
+    public synchronized boolean await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!isSignaled) {
+            if (timeoutMillis == 0) {
+                wait();
+                continue;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+
+        isSignaled = false;
+        return true;
+    }
+}
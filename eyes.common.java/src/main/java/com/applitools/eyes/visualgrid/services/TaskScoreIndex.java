@@ -0,0 +1,131 @@
+package com.applitools.eyes.visualgrid.services;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indexes the running tests which have a task ready to be dispatched, ordered by the score of the test.
+ * Tests update their own entry whenever their tasks change, so the services find the best next task in O(log n)
+ * instead of scanning all the tests of all the eyes.
+ * Tests which are left with only their close or abort task signal the closer, so it doesn't have to scan for them.
+ */
+public class TaskScoreIndex {
+
+    private final Map<VisualGridTask.TaskType, TreeSet<Entry>> indexes = new EnumMap<>(VisualGridTask.TaskType.class);
+    private final Map<RunningTest, Entry> entries = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ServiceSignal readyToCloseSignal;
+
+    public TaskScoreIndex() {
+        this(null);
+    }
+
+    /**
+     * @param readyToCloseSignal Signaled whenever an updated test is ready to close, or {@code null}.
+     */
+    public TaskScoreIndex(ServiceSignal readyToCloseSignal) {
+        this.readyToCloseSignal = readyToCloseSignal;
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        private final RunningTest runningTest;
+        private final VisualGridTask.TaskType type;
+        private final int score;
+        private final long sequenceNumber;
+
+        Entry(RunningTest runningTest, VisualGridTask.TaskType type, int score, long sequenceNumber) {
+            this.runningTest = runningTest;
+            this.type = type;
+            this.score = score;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            // Higher scores first, and the longest waiting test first between equal scores
+            int result = Integer.compare(other.score, score);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    /**
+     * Updates the entry of a test according to its current tasks.
+     * The state of the test is read outside the index lock, so a test can update the index while holding its own locks.
+     * The version makes sure an update which read an older state never overrides a newer one.
+     */
+    void update(RunningTest runningTest) {
+        long version = runningTest.nextScoreVersion();
+        ScoreTask scoreTask = runningTest.getNextScoreTask();
+        if (readyToCloseSignal != null && runningTest.isTestReadyToClose()) {
+            readyToCloseSignal.signal();
+        }
+        synchronized (this) {
+            if (version < runningTest.getIndexedScoreVersion()) {
+                return;
+            }
+            runningTest.setIndexedScoreVersion(version);
+
+            Entry entry = entries.remove(runningTest);
+            if (entry != null) {
+                indexes.get(entry.type).remove(entry);
+            }
+            if (scoreTask == null) {
+                return;
+            }
+
+            VisualGridTask.TaskType type = scoreTask.getType();
+            entry = new Entry(runningTest, type, scoreTask.getScore(),
+                    entry != null && entry.type == type ? entry.sequenceNumber : sequence.getAndIncrement());
+            TreeSet<Entry> index = indexes.get(type);
+            if (index == null) {
+                index = new TreeSet<>();
+                indexes.put(type, index);
+            }
+            index.add(entry);
+            entries.put(runningTest, entry);
+        }
+    }
+
+    /**
+     * Takes the task with the best score of the given type and marks it as sent.
+     *
+     * @return The best score task or {@code null} if there is no task of this type ready to be dispatched.
+     */
+    ScoreTask pollBest(VisualGridTask.TaskType type) {
+        while (true) {
+            RunningTest runningTest;
+            synchronized (this) {
+                TreeSet<Entry> index = indexes.get(type);
+                if (index == null || index.isEmpty()) {
+                    return null;
+                }
+                Entry entry = index.pollFirst();
+                entries.remove(entry.runningTest);
+                runningTest = entry.runningTest;
+            }
+
+            // The entry might be stale, the current state of the test decides.
+            // Checking and marking the task under the test's lock keeps two dispatchers from taking the same task.
+            ScoreTask scoreTask;
+            synchronized (runningTest.getVisualGridTaskList()) {
+                scoreTask = runningTest.getNextScoreTask();
+                if (scoreTask != null && scoreTask.getType() == type) {
+                    scoreTask.getVisualGridTask();
+                } else {
+                    scoreTask = null;
+                }
+            }
+            update(runningTest);
+            if (scoreTask != null) {
+                return scoreTask;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -3,14 +3,33 @@ package com.applitools.eyes.visualgrid.services;
 import com.applitools.ICheckSettings;
 import com.applitools.eyes.*;
 import com.applitools.eyes.visualgrid.model.*;
+import com.applitools.utils.ArgumentGuard;
 import com.applitools.utils.GeneralUtils;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class VisualGridRunner extends EyesRunner {
 
+    private static final int DEFAULT_RESOURCE_PARSING_CONCURRENCY = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
     private int concurrentOpenSessions;
+    private final Map<Service, ServiceExecutorConfiguration> executorConfigurations = new EnumMap<>(Service.class);
+    private ScheduledExecutorService stageTimeoutScheduler;
+    private volatile long renderTimeoutMillis = 0;
+    private volatile long matchTimeoutMillis = 0;
+
+    /**
+     * The services of the runner, each running a stage of the tests on its own thread pool.
+     * The render stage is a single rendering task per check. It syncs the resources, renders and polls the render status.
+     * These steps share the rendering pool, since the rendering thread only waits for asynchronous downloads and uploads.
+     * Resources are parsed on the resource parsing pool, and render statuses are polled by the shared status poller,
+     * which calls back when a render is done, so the rendering thread is released once the render starts.
+     * Separate pools for these steps would only add hand offs, and the render and match timeouts bound the time of each check.
+     */
+    public enum Service {OPENER, RENDERING, CHECKER, CLOSER}
+    private int resourceParsingConcurrency = DEFAULT_RESOURCE_PARSING_CONCURRENCY;
 
     //For Testing...
     private final Object openerServiceDebugLock;
@@ -27,16 +46,25 @@ public class VisualGridRunner extends EyesRunner {
     private final Set<IRenderingEyes> allEyes = Collections.synchronizedSet(new HashSet<IRenderingEyes>());
     private Map<String, RGridResource> cachedResources = Collections.synchronizedMap(new HashMap<String, RGridResource>());
     private Map<String, RGridResource> putResourceCache = Collections.synchronizedMap(new HashMap<String, RGridResource>());
-
-    private final Object openerServiceConcurrencyLock = new Object();
-    private final Object openerServiceLock = new Object();
-    private final Object checkerServiceLock = new Object();
-    private final Object closerServiceLock = new Object();
-    private final Object renderingServiceLock = new Object();
-    private final List<RenderingTask> renderingTaskList = Collections.synchronizedList(new ArrayList<RenderingTask>());
+    private InFlightRequests<RGridResource> inFlightDownloads;
+    private InFlightRequests<Boolean> inFlightPuts;
+    private ResourceFetchScheduler resourceFetchScheduler;
+
+    private final ServiceSignal openerServiceSignal = new ServiceSignal();
+    private final ServiceSignal checkerServiceSignal = new ServiceSignal();
+    private final ServiceSignal closerServiceSignal = new ServiceSignal();
+    private final ServiceSignal renderingServiceSignal = new ServiceSignal();
+    // Tests aborted or closed from the eyes, or aborted by a stage timeout, signal the closer through the index
+    private final TaskScoreIndex taskScoreIndex = new TaskScoreIndex(closerServiceSignal);
+    private final Queue<RenderingTask> renderingTaskQueue = new ConcurrentLinkedQueue<>();
+
+    private ThreadPoolExecutor resourceParsingExecutor;
+    private ResourceStatusBatcher resourceStatusBatcher;
+    private RenderRequestBatcher renderRequestBatcher;
+    private RenderStatusPoller renderStatusPoller;
 
     private RenderingInfo renderingInfo;
-    private IDebugResourceWriter debugResourceWriter;
+    private volatile IDebugResourceWriter debugResourceWriter;
 
     private String serverUrl = GeneralUtils.getEnvString("APPLITOOLS_SERVER_URL");
     private static final String DEFAULT_API_KEY = GeneralUtils.getEnvString("APPLITOOLS_API_KEY");
@@ -94,19 +122,15 @@ public class VisualGridRunner extends EyesRunner {
 
     }
 
-    @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
-    private FutureTask<TestResultContainer> getOrWaitForTask(Object lock, @SuppressWarnings("SpellCheckingInspection") EyesService.Tasker tasker,
+    private FutureTask<TestResultContainer> getOrWaitForTask(ServiceSignal signal, @SuppressWarnings("SpellCheckingInspection") EyesService.Tasker tasker,
                                                              String serviceName) {
         FutureTask<TestResultContainer> nextTestToOpen = tasker.getNextTask();
         if (nextTestToOpen == null) {
             try {
-//                logger.verbose("locking " + serviceName);
-                synchronized (lock) {
-                    lock.wait(500);
-                }
-//                logger.verbose("releasing " + serviceName);
+                // Services are signaled whenever there might be new work for them, so there is no need to rescan on a timer.
+                // A signal sent since the last scan is kept, so this returns immediately if the state has changed meanwhile.
+                signal.await(0);
                 nextTestToOpen = tasker.getNextTask();
-//                logger.verbose(serviceName + " tasker returned " + nextTestToOpen);
             } catch (Exception e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
             }
@@ -136,31 +160,34 @@ public class VisualGridRunner extends EyesRunner {
                             eyesToOpenList.remove(eyes);
                         }
                         logger.verbose("releasing eyesToOpenList");
+                        // The test's checks can start, or it might be ready to close
+                        dispatchReadyChecks();
+                        closerServiceSignal.signal();
                         break;
                     case ABORT:
                         logger.verbose("VisualGridTask Abort.");
                     case CLOSE:
                         logger.verbose("VisualGridTask Close.");
+                        // Frees a session for the next test to open
                         eyesOpenerService.decrementConcurrency();
-                        synchronized (openerServiceConcurrencyLock) {
-                            openerServiceConcurrencyLock.notify();
-                        }
-                        logger.verbose("releasing openerServiceConcurrencyLock");
                         logger.verbose("VisualGridTask Close.");
+                        openerServiceSignal.signal();
+                        closerServiceSignal.signal();
                         break;
                     case CHECK:
                         logger.verbose("Check complete.");
+                        dispatchReadyChecks();
+                        closerServiceSignal.signal();
                 }
             } catch (Exception e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
+                notifyAllServices();
             }
-
-            notifyAllServices();
         }
 
         @Override
         public void onRenderComplete() {
-            notifyAllServices();
+            notifyServicesOfRenderResult();
         }
 
     };
@@ -174,13 +201,51 @@ public class VisualGridRunner extends EyesRunner {
 
     }
 
+    /**
+     * @param executorConfiguration The thread pool settings of the runner's open, check, close and render services.
+     */
+    public VisualGridRunner(int concurrentOpenSessions, String suiteName, ServiceExecutorConfiguration executorConfiguration) {
+        this(concurrentOpenSessions, suiteName, null, null, null, null, createExecutorConfigurations(executorConfiguration));
+    }
+
+    /**
+     * @param executorConfigurations The thread pool settings of each of the runner's services. Services missing from the map use the default settings.
+     */
+    public VisualGridRunner(int concurrentOpenSessions, String suiteName, Map<Service, ServiceExecutorConfiguration> executorConfigurations) {
+        this(concurrentOpenSessions, suiteName, null, null, null, null, executorConfigurations);
+    }
+
     public VisualGridRunner(int concurrentOpenSessions,
                             String suiteName,
                             Object openerServiceDebugLock,
                             Object checkerServiceDebugLock,
                             Object closerServiceDebugLock,
                             Object renderServiceDebugLock) {
+        this(concurrentOpenSessions, suiteName, openerServiceDebugLock, checkerServiceDebugLock, closerServiceDebugLock,
+                renderServiceDebugLock, createExecutorConfigurations(new ServiceExecutorConfiguration()));
+    }
 
+    private static Map<Service, ServiceExecutorConfiguration> createExecutorConfigurations(ServiceExecutorConfiguration executorConfiguration) {
+        ArgumentGuard.notNull(executorConfiguration, "executorConfiguration");
+        Map<Service, ServiceExecutorConfiguration> executorConfigurations = new EnumMap<>(Service.class);
+        for (Service service : Service.values()) {
+            executorConfigurations.put(service, executorConfiguration);
+        }
+        return executorConfigurations;
+    }
+
+    private VisualGridRunner(int concurrentOpenSessions,
+                             String suiteName,
+                             Object openerServiceDebugLock,
+                             Object checkerServiceDebugLock,
+                             Object closerServiceDebugLock,
+                             Object renderServiceDebugLock,
+                             Map<Service, ServiceExecutorConfiguration> executorConfigurations) {
+        ArgumentGuard.notNull(executorConfigurations, "executorConfigurations");
+        for (Service service : Service.values()) {
+            ServiceExecutorConfiguration executorConfiguration = executorConfigurations.get(service);
+            this.executorConfigurations.put(service, executorConfiguration != null ? executorConfiguration : new ServiceExecutorConfiguration());
+        }
         this.logger = new IdPrintingLogger(suiteName);
         logger.log("runner created");
         this.suiteName = suiteName;
@@ -189,7 +254,14 @@ public class VisualGridRunner extends EyesRunner {
         this.checkerServiceDebugLock = checkerServiceDebugLock;
         this.closerServiceDebugLock = closerServiceDebugLock;
         this.renderServiceDebugLock = renderServiceDebugLock;
+        this.inFlightDownloads = new InFlightRequests<>(logger);
+        this.inFlightPuts = new InFlightRequests<>(logger);
+        this.resourceFetchScheduler = new ResourceFetchScheduler(logger);
         init();
+        this.resourceStatusBatcher = new ResourceStatusBatcher(logger, createThreadFactory("resourceStatusService"));
+        this.renderRequestBatcher = new RenderRequestBatcher(logger);
+        this.renderStatusPoller = new RenderStatusPoller(logger, createThreadFactory("renderStatusService"));
+        this.stageTimeoutScheduler = Executors.newSingleThreadScheduledExecutor(createThreadFactory("stageTimeoutService"));
         startServices();
         logger.verbose("rendering grid manager is built");
     }
@@ -202,16 +274,160 @@ public class VisualGridRunner extends EyesRunner {
         return putResourceCache;
     }
 
+    public InFlightRequests<RGridResource> getInFlightDownloads() {
+        return inFlightDownloads;
+    }
+
+    public InFlightRequests<Boolean> getInFlightPuts() {
+        return inFlightPuts;
+    }
+
+    public ResourceFetchScheduler getResourceFetchScheduler() {
+        return resourceFetchScheduler;
+    }
+
+    /**
+     * Sets the maximum number of concurrent resource downloads from a single host.
+     * Downloads waiting for a free slot start by priority: stylesheets, fonts, other resources and then images.
+     */
+    public void setMaxConcurrentFetchesPerHost(int maxConcurrentFetchesPerHost) {
+        resourceFetchScheduler.setMaxConcurrentFetchesPerHost(maxConcurrentFetchesPerHost);
+    }
+
     public RenderingInfo getRenderingInfo() {
         return renderingInfo;
     }
 
+    /**
+     * Sets the number of threads used for parsing downloaded resources (css, svg) and discovering their
+     * dependencies. Parsing runs on a dedicated pool so the http callback threads are free to complete other downloads.
+     */
+    public synchronized void setResourceParsingConcurrency(int resourceParsingConcurrency) {
+        ArgumentGuard.greaterThanZero(resourceParsingConcurrency, "resourceParsingConcurrency");
+        this.resourceParsingConcurrency = resourceParsingConcurrency;
+        if (resourceParsingExecutor == null) {
+            return;
+        }
+
+        if (resourceParsingConcurrency > resourceParsingExecutor.getMaximumPoolSize()) {
+            resourceParsingExecutor.setMaximumPoolSize(resourceParsingConcurrency);
+            resourceParsingExecutor.setCorePoolSize(resourceParsingConcurrency);
+        } else {
+            resourceParsingExecutor.setCorePoolSize(resourceParsingConcurrency);
+            resourceParsingExecutor.setMaximumPoolSize(resourceParsingConcurrency);
+        }
+    }
+
+    public synchronized int getResourceParsingConcurrency() {
+        return resourceParsingConcurrency;
+    }
+
+    public synchronized ExecutorService getResourceParsingExecutor() {
+        if (resourceParsingExecutor == null) {
+            resourceParsingExecutor = new ThreadPoolExecutor(resourceParsingConcurrency, resourceParsingConcurrency,
+                    1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(), createThreadFactory("resourceParsingService"));
+            resourceParsingExecutor.allowCoreThreadTimeOut(true);
+        }
+        return resourceParsingExecutor;
+    }
+
+    public ResourceStatusBatcher getResourceStatusBatcher() {
+        return resourceStatusBatcher;
+    }
+
+    /**
+     * Sets the time window in which resource existence checks of concurrent rendering tasks are grouped into a single request.
+     */
+    public void setResourceStatusBatchWindow(long batchWindowMillis) {
+        resourceStatusBatcher.setBatchWindowMillis(batchWindowMillis);
+    }
+
+    public RenderRequestBatcher getRenderRequestBatcher() {
+        return renderRequestBatcher;
+    }
+
+    /**
+     * Sets the time window in which the render requests of concurrent rendering tasks are grouped into a single request.
+     */
+    public void setRenderBatchWindow(long batchWindowMillis) {
+        renderRequestBatcher.setBatchWindowMillis(batchWindowMillis);
+    }
+
+    /**
+     * Sets the number of render requests which sends a batch before its time window ends.
+     */
+    public void setMaxRenderRequestsPerBatch(int maxRequestsPerBatch) {
+        renderRequestBatcher.setMaxRequestsPerBatch(maxRequestsPerBatch);
+    }
+
+    public RenderStatusPoller getRenderStatusPoller() {
+        return renderStatusPoller;
+    }
+
+    /**
+     * Sets the maximum interval between the status requests of a render in progress.
+     */
+    public void setRenderStatusPollInterval(long pollIntervalMillis) {
+        renderStatusPoller.setPollIntervalMillis(pollIntervalMillis);
+    }
+
+    /**
+     * @return The render durations learned in this run for each browser or device type.
+     */
+    public Map<String, RenderStatusPoller.RenderTiming> getRenderTimings() {
+        return renderStatusPoller.getRenderTimings();
+    }
+
+    /**
+     * Sets the maximum time from submitting a check until its render is done. A check which times out fails its test.
+     * 0 means no timeout.
+     */
+    public void setRenderTimeout(long renderTimeoutMillis) {
+        ArgumentGuard.greaterThanOrEqualToZero(renderTimeoutMillis, "renderTimeoutMillis");
+        this.renderTimeoutMillis = renderTimeoutMillis;
+    }
+
+    public long getRenderTimeout() {
+        return renderTimeoutMillis;
+    }
+
+    /**
+     * Sets the maximum time from dispatching a rendered check until its match is done. A check which times out fails its test.
+     * 0 means no timeout.
+     */
+    public void setMatchTimeout(long matchTimeoutMillis) {
+        ArgumentGuard.greaterThanOrEqualToZero(matchTimeoutMillis, "matchTimeoutMillis");
+        this.matchTimeoutMillis = matchTimeoutMillis;
+    }
+
+    public long getMatchTimeout() {
+        return matchTimeoutMillis;
+    }
+
+    /**
+     * Creates the threads of the runner's internal pools: resource status checks, render status polls, stage timeouts
+     * and resource parsing. Called from the constructor, so overriding methods must not use the fields of the subclass.
+     * @return A factory of daemon threads in the services group by default.
+     */
+    protected ThreadFactory createThreadFactory(final String serviceName) {
+        return new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(servicesGroup, runnable, serviceName + "-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
     private void init() {
         this.eyesOpenerService = new OpenerService("eyesOpenerService", servicesGroup,
-                logger, this.concurrentOpenSessions, openerServiceConcurrencyLock, new EyesService.EyesServiceListener() {
+                logger, this.concurrentOpenSessions, openerServiceSignal, new EyesService.EyesServiceListener() {
             @Override
             public FutureTask<TestResultContainer> getNextTask(@SuppressWarnings("SpellCheckingInspection") EyesService.Tasker tasker) {
-                return getOrWaitForTask(openerServiceLock, tasker, "eyesOpenerService");
+                return getOrWaitForTask(openerServiceSignal, tasker, "eyesOpenerService");
             }
 
         }, openerServiceDebugLock, new EyesService.Tasker() {
@@ -219,13 +435,13 @@ public class VisualGridRunner extends EyesRunner {
             public FutureTask<TestResultContainer> getNextTask() {
                 return getNextTestToOpen();
             }
-        });
+        }, executorConfigurations.get(Service.OPENER));
 
         this.eyesCloserService = new EyesService("eyesCloserService", servicesGroup, logger, concurrentOpenSessions, closerServiceDebugLock, new EyesService.EyesServiceListener() {
             @Override
             public FutureTask<TestResultContainer> getNextTask(@SuppressWarnings("SpellCheckingInspection") EyesService.Tasker tasker) {
 
-                return getOrWaitForTask(closerServiceLock, tasker, "eyesCloserService");
+                return getOrWaitForTask(closerServiceSignal, tasker, "eyesCloserService");
             }
 
         }, new EyesService.Tasker() {
@@ -233,36 +449,29 @@ public class VisualGridRunner extends EyesRunner {
             public FutureTask<TestResultContainer> getNextTask() {
                 return getNextTestToClose();
             }
-        });
+        }, executorConfigurations.get(Service.CLOSER));
 
         this.renderingGridService = new RenderingGridService("renderingGridService", servicesGroup, logger, this.concurrentOpenSessions, renderServiceDebugLock, new RenderingGridService.RGServiceListener() {
             @Override
             public RenderingTask getNextTask() {
                 RenderingTask nextTestToRender = getNextRenderingTask();
                 if (nextTestToRender == null) {
-                    synchronized (renderingServiceLock) {
-                        try {
-                            nextTestToRender = getNextRenderingTask();
-                            if (nextTestToRender == null) {
-                                renderingServiceLock.wait(500);
-//                                logger.verbose("Rendering service woke up");
-                                nextTestToRender = getNextRenderingTask();
-                            }
-
-                        } catch (Exception e) {
-                            GeneralUtils.logExceptionStackTrace(logger, e);
-                        }
+                    try {
+                        renderingServiceSignal.await(0);
+                        nextTestToRender = getNextRenderingTask();
+                    } catch (Exception e) {
+                        GeneralUtils.logExceptionStackTrace(logger, e);
                     }
                 }
                 return nextTestToRender;
             }
-        }, renderingServiceLock);
+        }, renderingServiceSignal, executorConfigurations.get(Service.RENDERING));
 
         this.eyesCheckerService = new EyesService("eyesCheckerService", servicesGroup, logger, this.concurrentOpenSessions, checkerServiceDebugLock, new EyesService.EyesServiceListener() {
             @Override
             public FutureTask<TestResultContainer> getNextTask(@SuppressWarnings("SpellCheckingInspection") EyesService.Tasker tasker) {
 
-                return getOrWaitForTask(checkerServiceLock, tasker, "eyesCheckerService");
+                return getOrWaitForTask(checkerServiceSignal, tasker, "eyesCheckerService");
             }
 
         }, new EyesService.Tasker() {
@@ -270,51 +479,78 @@ public class VisualGridRunner extends EyesRunner {
             public FutureTask<TestResultContainer> getNextTask() {
                 return getNextCheckTask();
             }
-        });
+        }, executorConfigurations.get(Service.CHECKER));
 
+        this.eyesCloserService.setTaskSignal(closerServiceSignal);
+        this.eyesCheckerService.setTaskSignal(checkerServiceSignal);
     }
 
     private FutureTask<TestResultContainer> getNextCheckTask() {
         VisualGridTask visualGridTask = null;
         try {
-            ScoreTask bestScoreTask = null;
-            int bestScore = -1;
-            synchronized (allEyes) {
-                for (IRenderingEyes eyes : allEyes) {
-                    ScoreTask currentScoreTask = eyes.getBestScoreTaskForCheck();
-
-                    if (currentScoreTask == null) continue;
-                    int currentTestMark = currentScoreTask.getScore();
-                    if (bestScore < currentTestMark) {
-                        bestScoreTask = currentScoreTask;
-                        bestScore = currentTestMark;
-                    }
-                }
-            }
-
+            ScoreTask bestScoreTask = taskScoreIndex.pollBest(VisualGridTask.TaskType.CHECK);
             if (bestScoreTask == null) {
                 return null;
             }
             visualGridTask = bestScoreTask.getVisualGridTask();
+            watchStageTimeout(visualGridTask, visualGridTask.getResultFuture(), matchTimeoutMillis, "match");
         } catch (Exception e) {
             GeneralUtils.logExceptionStackTrace(logger, e);
         }
+        if (visualGridTask == null) {
+            return null;
+        }
         return new FutureTask<>(visualGridTask);
     }
 
-    private RenderingTask getNextRenderingTask() {
-        if (this.renderingTaskList.isEmpty()) {
-            return null;
+    /**
+     * Dispatches the checks which are ready straight to the checker's pool from the thread which made them ready,
+     * instead of waking the checker service to look for them.
+     */
+    private void dispatchReadyChecks() {
+        if (!eyesCheckerService.isAcceptingDirectTasks()) {
+            checkerServiceSignal.signal();
+            return;
         }
-        RenderingTask renderingTask = null;
-        synchronized (this.renderingTaskList) {
-            if (!this.renderingTaskList.isEmpty()) {
-                renderingTask = this.renderingTaskList.get(0);
-                this.renderingTaskList.remove(renderingTask);
+        FutureTask<TestResultContainer> checkTask;
+        while (eyesCheckerService.hasRoom()) {
+            checkTask = getNextCheckTask();
+            if (checkTask == null) {
+                return;
             }
+            eyesCheckerService.submit(checkTask);
         }
-//        logger.verbose("Starting to renderTask - " + renderingTask);
-        return renderingTask;
+        // The checks left on the task list are submitted by the service thread once the pool has room
+        checkerServiceSignal.signal();
+    }
+
+    private void watchStageTimeout(final VisualGridTask visualGridTask, PipelineFuture<?> stageFuture, long timeoutMillis, String stageName) {
+        if (timeoutMillis == 0) {
+            return;
+        }
+        final PipelineFuture<?> boundedFuture = stageFuture.withTimeout(timeoutMillis, stageTimeoutScheduler, stageName);
+        boundedFuture.addListener(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    boundedFuture.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof TimeoutException) {
+                        logger.log(e.getCause().getMessage() + " - " + visualGridTask);
+                        visualGridTask.getResultFuture().fail(e.getCause());
+                        visualGridTask.getRunningTest().setTestInExceptionMode(e.getCause());
+                        // The aborted test might be ready to close now
+                        closerServiceSignal.signal();
+                    }
+                } catch (Throwable e) {
+                    GeneralUtils.logExceptionStackTrace(logger, e);
+                }
+            }
+        }, PipelineFuture.DIRECT_EXECUTOR);
+    }
+
+    private RenderingTask getNextRenderingTask() {
+        return this.renderingTaskQueue.poll();
     }
 
     private FutureTask<TestResultContainer> getNextTestToClose() {
@@ -331,32 +567,12 @@ public class VisualGridRunner extends EyesRunner {
     }
 
     private synchronized FutureTask<TestResultContainer> getNextTestToOpen() {
-        ScoreTask bestScoreTask = null;
-        int bestMark = -1;
-//        logger.verbose("looking for best test in a list of " + allEyes.size());
-        synchronized (allEyes) {
-            for (IRenderingEyes eyes : allEyes) {
-                ScoreTask currentTestMark = null;
-                try {
-                    currentTestMark = eyes.getBestScoreTaskForOpen();
-                } catch (Exception e) {
-                    GeneralUtils.logExceptionStackTrace(logger, e);
-                }
-                if (currentTestMark == null) continue;
-                int currentScore = currentTestMark.getScore();
-                if (bestMark < currentScore) {
-                    bestMark = currentScore;
-                    bestScoreTask = currentTestMark;
-                }
-            }
-        }
-
+        ScoreTask bestScoreTask = taskScoreIndex.pollBest(VisualGridTask.TaskType.OPEN);
         if (bestScoreTask == null) {
-//            logger.verbose("no test found.");
             return null;
         }
 
-        logger.verbose("found test with mark " + bestMark);
+        logger.verbose("found test with mark " + bestScoreTask.getScore());
         logger.verbose("calling getNextOpenTaskAndRemove on " + bestScoreTask.toString());
         VisualGridTask nextOpenVisualGridTask = bestScoreTask.getVisualGridTask();
         return new FutureTask<>(nextOpenVisualGridTask);
@@ -383,7 +599,11 @@ public class VisualGridRunner extends EyesRunner {
         }
         logger.verbose("releasing allEyes");
         eyes.setListener(eyesListener);
+        for (RunningTest runningTest : eyes.getAllRunningTests()) {
+            runningTest.setScoreIndex(taskScoreIndex);
+        }
         logger.verbose("concurrencyLock.notify()");
+        openerServiceSignal.signal();
         this.addBatch(eyes.getBatchId(), eyes.getBatchCloser());
     }
 
@@ -405,6 +625,14 @@ public class VisualGridRunner extends EyesRunner {
         this.eyesCloserService.stopService();
         this.renderingGridService.stopService();
         this.eyesCheckerService.stopService();
+        synchronized (this) {
+            if (resourceParsingExecutor != null) {
+                resourceParsingExecutor.shutdown();
+            }
+        }
+        this.resourceStatusBatcher.shutdown();
+        this.renderStatusPoller.shutdown();
+        this.stageTimeoutScheduler.shutdownNow();
         logger.verbose("exit");
     }
 
@@ -466,13 +694,13 @@ public class VisualGridRunner extends EyesRunner {
 
     public void close(IRenderingEyes eyes) {
         logger.verbose("adding eyes to close list: " + eyes);
-        notifyAllServices();
+        closerServiceSignal.signal();
     }
 
-    public synchronized void check(ICheckSettings settings, IDebugResourceWriter debugResourceWriter, FrameData domData,
-                                   IEyesConnector connector, List<VisualGridTask> visualGridTaskList,
-                                   List<VisualGridTask> openVisualGridTasks, final RenderListener listener,
-                                   List<VisualGridSelector[]> selectors, UserAgent userAgent) {
+    public void check(ICheckSettings settings, IDebugResourceWriter debugResourceWriter, FrameData domData,
+                      IEyesConnector connector, List<VisualGridTask> visualGridTaskList,
+                      List<VisualGridTask> openVisualGridTasks, final RenderListener listener,
+                      List<VisualGridSelector[]> selectors, UserAgent userAgent) {
 
         if (debugResourceWriter == null) {
             debugResourceWriter = this.debugResourceWriter;
@@ -487,64 +715,79 @@ public class VisualGridRunner extends EyesRunner {
             public void onRenderSuccess() {
                 logger.verbose("enter");
                 listener.onRenderSuccess();
-                notifyAllServices();
+                notifyServicesOfRenderResult();
                 logger.verbose("exit");
             }
 
             @Override
             public void onRenderFailed(Exception e) {
-                notifyAllServices();
                 listener.onRenderFailed(e);
+                notifyServicesOfRenderResult();
             }
         }, userAgent, selectors);
-        logger.verbose("locking renderingTaskList");
-        synchronized (renderingTaskList) {
-            this.renderingTaskList.add(renderingTask);
+        for (VisualGridTask visualGridTask : visualGridTaskList) {
+            watchStageTimeout(visualGridTask, visualGridTask.getRenderFuture(), renderTimeoutMillis, "render");
         }
+        this.renderingTaskQueue.offer(renderingTask);
+        renderingServiceSignal.signal();
+    }
 
-        logger.verbose("releasing renderingTaskList");
-        notifyAllServices();
+    /**
+     * A test can be opened only after its first render, and a check can run only after its render.
+     * A failed render might also abort the test.
+     */
+    private void notifyServicesOfRenderResult() {
+        openerServiceSignal.signal();
+        dispatchReadyChecks();
+        closerServiceSignal.signal();
     }
 
     private void notifyAllServices() {
         logger.verbose("enter");
-        notifyOpenerService();
-        notifyCloserService();
-        notifyCheckerService();
-        notifyRenderingService();
+        openerServiceSignal.signal();
+        closerServiceSignal.signal();
+        checkerServiceSignal.signal();
+        renderingServiceSignal.signal();
         logger.verbose("exit");
     }
 
-    private void notifyRenderingService() {
-        logger.verbose("trying to notify rendering service");
-        synchronized (renderingServiceLock) {
-            renderingServiceLock.notify();
-        }
-        logger.verbose("renderingLockFree");
-    }
-
-    private void notifyCloserService() {
-        logger.verbose("trying to notify closer service");
-        synchronized (closerServiceLock) {
-            closerServiceLock.notifyAll();
-        }
-        logger.verbose("closerLockFree");
-    }
-
-    private void notifyOpenerService() {
-        logger.verbose("trying to notify opener service");
-        synchronized (openerServiceLock) {
-            openerServiceLock.notifyAll();
-            logger.verbose("openerLockFree");
+    /**
+     * Sets the thread pool settings of all the runner's services, in place of the settings the runner was created with.
+     * The pools are rebuilt with the settings, so they can't change once a test was opened.
+     * @throws IllegalStateException if a test was already opened with other settings.
+     */
+    public void setServiceExecutorConfiguration(ServiceExecutorConfiguration executorConfiguration) {
+        ArgumentGuard.notNull(executorConfiguration, "executorConfiguration");
+        synchronized (allEyes) {
+            // Tests which share a configuration all set the settings the runner already uses
+            boolean isInUse = true;
+            for (Service service : Service.values()) {
+                isInUse &= executorConfigurations.get(service) == executorConfiguration;
+            }
+            if (isInUse) {
+                return;
+            }
+            ArgumentGuard.isValidState(allEyes.isEmpty(), "The thread pool settings can't change after a test was opened");
+            for (Service service : Service.values()) {
+                executorConfigurations.put(service, executorConfiguration);
+            }
+            eyesOpenerService.setExecutorConfiguration(executorConfiguration);
+            eyesCheckerService.setExecutorConfiguration(executorConfiguration);
+            eyesCloserService.setExecutorConfiguration(executorConfiguration);
+            renderingGridService.setExecutorConfiguration(executorConfiguration);
         }
     }
 
-    private void notifyCheckerService() {
-        logger.verbose("trying to notify checker service");
-        synchronized (checkerServiceLock) {
-            checkerServiceLock.notifyAll();
-            logger.verbose("checkerLockFree");
-        }
+    /**
+     * @return The queue depth and thread usage of the open, check, close and render services.
+     */
+    public List<ServiceMetrics> getServicesMetrics() {
+        List<ServiceMetrics> metrics = new ArrayList<>();
+        metrics.add(eyesOpenerService.getMetrics());
+        metrics.add(eyesCheckerService.getMetrics());
+        metrics.add(eyesCloserService.getMetrics());
+        metrics.add(renderingGridService.getMetrics());
+        return metrics;
     }
 
     public List<CompletableTask> getAllTasksByType(VisualGridTask.TaskType type) {
@@ -561,8 +804,11 @@ public class VisualGridRunner extends EyesRunner {
         return allTasks;
     }
 
+    /**
+     * @return A snapshot of the rendering tasks waiting for the rendering service.
+     */
     public List<? extends CompletableTask> getAllRenderingTasks() {
-        return this.renderingTaskList;
+        return new ArrayList<>(this.renderingTaskQueue);
     }
 
     public void setDebugResourceWriter(IDebugResourceWriter debugResourceWriter) {
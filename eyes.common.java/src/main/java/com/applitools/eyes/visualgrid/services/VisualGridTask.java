@@ -39,6 +39,8 @@ public class VisualGridTask implements Callable<TestResultContainer>, Completabl
     private Throwable exception;
     private RenderingTask renderingTask = null;
     private AtomicBoolean isTaskComplete = new AtomicBoolean(false);
+    private final PipelineFuture<RenderStatusResults> renderFuture = new PipelineFuture<>();
+    private final PipelineFuture<TestResultContainer> resultFuture = new PipelineFuture<>();
 
     private final List<VisualGridSelector[]> regionSelectors;
 
@@ -180,11 +182,13 @@ public class VisualGridTask implements Callable<TestResultContainer>, Completabl
             TestResultContainer testResultContainer = new TestResultContainer(testResults, runningTest.getBrowserInfo(), this.exception);
             notifySuccessAllListeners();
             this.isTaskComplete.set(true);
+            resultFuture.complete(testResultContainer);
             return testResultContainer;
         } catch (Throwable e) {
             GeneralUtils.logExceptionStackTrace(logger, e);
             this.exception = new Error(e);
             notifyFailureAllListeners(new Error(e));
+            resultFuture.fail(this.exception);
         }
         return null;
     }
@@ -219,6 +223,7 @@ public class VisualGridTask implements Callable<TestResultContainer>, Completabl
     public void setRenderResult(RenderStatusResults renderResult) {
         logger.verbose("enter");
         this.renderResult = renderResult;
+        renderFuture.complete(renderResult);
         notifyRenderCompleteAllListeners();
         logger.verbose("exit");
     }
@@ -248,6 +253,25 @@ public class VisualGridTask implements Callable<TestResultContainer>, Completabl
         logger.verbose("exit - renderId: " + renderId);
         renderResult = new RenderStatusResults();
         renderResult.setDeviceSize(configurationGetter.getViewportSize());
+        Throwable renderError = exception != null ? exception : new Error("Render Failed for " + this.getBrowserInfo() + " (renderId: " + renderId + ") with reason: " + error);
+        renderFuture.fail(renderError);
+        if (type == TaskType.CHECK) {
+            resultFuture.fail(renderError);
+        }
+    }
+
+    /**
+     * @return The future of the render of this task, which is done when the task gets its render result or error.
+     */
+    public PipelineFuture<RenderStatusResults> getRenderFuture() {
+        return renderFuture;
+    }
+
+    /**
+     * @return The future of the result of this task. A check task removed from its test before running fails its future.
+     */
+    public PipelineFuture<TestResultContainer> getResultFuture() {
+        return resultFuture;
     }
 
     public Throwable getException() {
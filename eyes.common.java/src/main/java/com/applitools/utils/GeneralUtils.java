@@ -39,6 +39,7 @@ public class GeneralUtils {
     private static final String DATE_FORMAT_RFC1123 =
             "E, dd MMM yyyy HH:mm:ss 'GMT'";
     private static final String QUESTION_MARK = "?";
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
 
     private GeneralUtils() {
     }
@@ -301,6 +302,19 @@ public class GeneralUtils {
         return executeScriptMap;
     }
 
+    /**
+     * Parse json to object t while reading it, without holding the whole json in memory.
+     * @param <T>    the type parameter
+     * @param reader the reader of the json
+     * @return the t
+     * @throws IOException the io exception
+     */
+    public static <T> T parseJsonToObject(Reader reader, Class<T> tClass) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper.readValue(reader, tClass);
+    }
+
     /**
      * Gets sha 256 hash.
      * @param content the content
@@ -328,17 +342,28 @@ public class GeneralUtils {
                 digest.update(buffer, 0, count);
             }
             bis.close();
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest.digest()) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
+            return toHexString(digest.digest());
         } catch (NoSuchAlgorithmException | IOException e) {
             e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * Converts bytes to a lowercase hex string.
+     * @param bytes the bytes
+     * @return the hex string
+     */
+    public static String toHexString(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int value = bytes[i] & 0xff;
+            chars[i * 2] = HEX_CHARS[value >>> 4];
+            chars[i * 2 + 1] = HEX_CHARS[value & 0x0f];
+        }
+        return new String(chars);
+    }
+
     public static boolean configureSendDom(ICheckSettingsInternal checkSettingsInternal, IConfigurationGetter configGetter) {
         Boolean sendDomFormCheckSettings = checkSettingsInternal.isSendDom();
         Boolean sendDomFromConfig = configGetter.isSendDom()  == null ? true : configGetter.isSendDom();
@@ -0,0 +1,68 @@
+package com.applitools.eyes.visualgrid.model;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.utils.GeneralUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class TestRGridDom extends ReportingTestSuite {
+
+    public TestRGridDom() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testHashMatchesSerializedContent() throws JsonProcessingException {
+        Map<String, RGridResource> resources = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            String url = "http://localhost/resource" + i;
+            resources.put(url, new RGridResource(url, "text/css", ("content" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        RGridDom dom = new RGridDom(new ArrayList<>(), resources, "http://localhost", new Logger(), "test");
+
+        RGridResource resource = dom.asResource();
+        Assert.assertEquals(resource.getSha256(), dom.getSha256());
+        Assert.assertEquals(resource.getSha256(), GeneralUtils.getSha256hash(resource.getContent()));
+        Assert.assertSame(dom.asResource(), resource);
+
+        // The serialized dom must not change, since the render service identifies doms by their hash
+        Map<String, Object> map = new HashMap<>();
+        map.put("domNodes", new ArrayList<>());
+        map.put("resources", resources);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        Assert.assertEquals(resource.getContent(), objectMapper.writeValueAsString(map).getBytes(StandardCharsets.UTF_8));
+
+        dom.addResource(new RGridResource("http://localhost/new", "text/css", new byte[]{1}));
+        Assert.assertNotEquals(dom.getSha256(), resource.getSha256());
+        Assert.assertNotSame(dom.asResource(), resource);
+    }
+
+    @Test
+    public void testDomCantBeChangedWithoutClearingSerialization() throws JsonProcessingException {
+        List<Object> domNodes = new ArrayList<>();
+        domNodes.add("node");
+        RGridDom dom = new RGridDom(domNodes, new HashMap<String, RGridResource>(), "http://localhost", new Logger(), "test");
+        String sha256 = dom.getSha256();
+
+        try {
+            //noinspection unchecked
+            dom.getDomNodes().add("other node");
+            Assert.fail("The dom nodes were changed without clearing the serialization");
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            dom.getResources().put("http://localhost/new", new RGridResource("http://localhost/new", "text/css", new byte[]{1}));
+            Assert.fail("The resources were changed without clearing the serialization");
+        } catch (UnsupportedOperationException ignored) {
+        }
+        Assert.assertEquals(dom.getSha256(), sha256);
+    }
+}
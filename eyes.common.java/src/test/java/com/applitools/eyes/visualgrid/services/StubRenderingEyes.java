@@ -0,0 +1,106 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.IBatchCloser;
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TestResultContainer;
+import com.applitools.eyes.selenium.Configuration;
+import com.applitools.eyes.selenium.ISeleniumConfigurationProvider;
+import com.applitools.eyes.visualgrid.model.DesktopBrowserInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Minimal rendering eyes with a single test, scheduling its tasks the same way the selenium eyes do.
+ * Runner tests use it with a stub connector instead of a browser and a server.
+ */
+public class StubRenderingEyes implements IRenderingEyes {
+    private final VisualGridRunner runner;
+    private final String batchId;
+    private final Logger logger = new Logger();
+    private final RunningTest runningTest;
+    private final List<TestResultContainer> allTestResults = new ArrayList<>();
+    private EyesListener listener;
+
+    public StubRenderingEyes(VisualGridRunner runner, IEyesConnector connector, String batchId) {
+        this.runner = runner;
+        this.batchId = batchId;
+        ISeleniumConfigurationProvider configurationProvider = mock(ISeleniumConfigurationProvider.class);
+        when(configurationProvider.get()).thenReturn(new Configuration());
+        runningTest = new RunningTest(connector, configurationProvider, new DesktopBrowserInfo(800, 600), logger,
+                new RunningTest.RunningTestListener() {
+                    @Override
+                    public void onTaskComplete(VisualGridTask visualGridTask, RunningTest test) {
+                        listener.onTaskComplete(visualGridTask, StubRenderingEyes.this);
+                    }
+
+                    @Override
+                    public void onRenderComplete() {
+                        listener.onRenderComplete();
+                    }
+                });
+    }
+
+    public RunningTest getRunningTest() {
+        return runningTest;
+    }
+
+    @Override
+    public boolean isEyesClosed() {
+        return runningTest.isTestClose();
+    }
+
+    @Override
+    public RunningTest getNextTestToClose() {
+        if (!runningTest.isTestClose() && runningTest.isTestReadyToClose()) {
+            return runningTest;
+        }
+        return null;
+    }
+
+    @Override
+    public void setListener(EyesListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Collection<Future<TestResultContainer>> close() {
+        Collection<Future<TestResultContainer>> futures = new ArrayList<>();
+        Future<TestResultContainer> closeFuture = runningTest.close();
+        if (closeFuture != null) {
+            futures.add(closeFuture);
+        }
+        runner.close(this);
+        return futures;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return logger;
+    }
+
+    @Override
+    public List<TestResultContainer> getAllTestResults() {
+        return allTestResults;
+    }
+
+    @Override
+    public IBatchCloser getBatchCloser() {
+        return mock(IBatchCloser.class);
+    }
+
+    @Override
+    public String getBatchId() {
+        return batchId;
+    }
+
+    @Override
+    public List<RunningTest> getAllRunningTests() {
+        return Collections.singletonList(runningTest);
+    }
+}
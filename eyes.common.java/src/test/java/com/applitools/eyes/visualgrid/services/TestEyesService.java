@@ -0,0 +1,65 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TestResultContainer;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.*;
+
+public class TestEyesService extends ReportingTestSuite {
+
+    public TestEyesService() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testRejectedTaskIsHandedBackToServiceThread() throws Exception {
+        final ServiceSignal taskSignal = new ServiceSignal();
+        EyesService service = new EyesService("testService", null, new Logger(), 1, null, new EyesService.EyesServiceListener() {
+            @Override
+            public FutureTask<TestResultContainer> getNextTask(EyesService.Tasker tasker) {
+                try {
+                    taskSignal.await(100);
+                } catch (InterruptedException ignored) {
+                }
+                return null;
+            }
+        }, null, new ServiceExecutorConfiguration().setQueueCapacity(0));
+        service.setTaskSignal(taskSignal);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        FutureTask<TestResultContainer> blocking = new FutureTask<>(new Callable<TestResultContainer>() {
+            @Override
+            public TestResultContainer call() throws Exception {
+                release.await(30, TimeUnit.SECONDS);
+                return null;
+            }
+        });
+        final Thread submittingThread = Thread.currentThread();
+        final Thread[] runningThread = new Thread[1];
+        FutureTask<TestResultContainer> rejected = new FutureTask<>(new Callable<TestResultContainer>() {
+            @Override
+            public TestResultContainer call() {
+                runningThread[0] = Thread.currentThread();
+                return null;
+            }
+        });
+
+        service.start();
+        try {
+            service.submit(blocking);
+            service.submit(rejected);
+            Assert.assertFalse(rejected.isDone());
+
+            release.countDown();
+            rejected.get(30, TimeUnit.SECONDS);
+            Assert.assertNotSame(runningThread[0], submittingThread);
+            Assert.assertNotSame(runningThread[0], service);
+        } finally {
+            release.countDown();
+            service.stopService();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TaskListener;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestInFlightRequests extends ReportingTestSuite {
+
+    public TestInFlightRequests() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOperation() {
+        InFlightRequests<String> inFlightRequests = new InFlightRequests<>(new Logger());
+        final List<String> results = new ArrayList<>();
+
+        TaskListener<String> operationListener = inFlightRequests.register("key", createListener(results));
+        Assert.assertNotNull(operationListener);
+        Assert.assertNull(inFlightRequests.register("key", createListener(results)));
+        Assert.assertNotNull(inFlightRequests.register("otherKey", createListener(results)));
+        Assert.assertTrue(inFlightRequests.isInFlight("key"));
+
+        operationListener.onComplete("result");
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertEquals(results.get(0), "result");
+        Assert.assertEquals(results.get(1), "result");
+        Assert.assertFalse(inFlightRequests.isInFlight("key"));
+        Assert.assertTrue(inFlightRequests.isInFlight("otherKey"));
+
+        // After the operation ended a new request starts a new operation
+        Assert.assertNotNull(inFlightRequests.register("key", createListener(results)));
+    }
+
+    @Test
+    public void testFailureNotifiesAllRequesters() {
+        InFlightRequests<String> inFlightRequests = new InFlightRequests<>(new Logger());
+        final List<String> results = new ArrayList<>();
+
+        TaskListener<String> operationListener = inFlightRequests.register("key", createListener(results));
+        inFlightRequests.register("key", createListener(results));
+        operationListener.onFail();
+
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertEquals(results.get(0), "failed");
+        Assert.assertEquals(results.get(1), "failed");
+        Assert.assertFalse(inFlightRequests.isInFlight("key"));
+    }
+
+    private TaskListener<String> createListener(final List<String> results) {
+        return new TaskListener<String>() {
+            @Override
+            public void onComplete(String taskResponse) {
+                results.add(taskResponse);
+            }
+
+            @Override
+            public void onFail() {
+                results.add("failed");
+            }
+        };
+    }
+}
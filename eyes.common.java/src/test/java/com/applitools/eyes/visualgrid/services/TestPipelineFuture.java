@@ -0,0 +1,96 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class TestPipelineFuture extends ReportingTestSuite {
+
+    public TestPipelineFuture() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testStages() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PipelineFuture<Integer> first = new PipelineFuture<>();
+            PipelineFuture<String> second = first.then(new PipelineFuture.Stage<Integer, String>() {
+                @Override
+                public String apply(Integer input) {
+                    return "value " + input;
+                }
+            }, executor);
+            Assert.assertFalse(second.isDone());
+
+            Assert.assertTrue(first.complete(5));
+            Assert.assertFalse(first.complete(6));
+            Assert.assertEquals(second.get(10, TimeUnit.SECONDS), "value 5");
+
+            PipelineFuture<String> failed = PipelineFuture.completed(1).then(new PipelineFuture.Stage<Integer, String>() {
+                @Override
+                public String apply(Integer input) {
+                    throw new IllegalStateException("stage failed");
+                }
+            }, executor);
+            PipelineFuture<String> skipped = failed.then(new PipelineFuture.Stage<String, String>() {
+                @Override
+                public String apply(String input) {
+                    return "not reached";
+                }
+            }, executor);
+            try {
+                skipped.get(10, TimeUnit.SECONDS);
+                Assert.fail("Expected the stage failure");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+            Assert.assertTrue(skipped.isFailed());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            PipelineFuture<String> slow = new PipelineFuture<>();
+            PipelineFuture<String> bounded = slow.withTimeout(50, scheduler, "render");
+            try {
+                bounded.get(10, TimeUnit.SECONDS);
+                Assert.fail("Expected a timeout");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            }
+
+            PipelineFuture<String> fast = new PipelineFuture<>();
+            bounded = fast.withTimeout(10000, scheduler, "match");
+            fast.complete("done");
+            Assert.assertEquals(bounded.get(10, TimeUnit.SECONDS), "done");
+            Assert.assertSame(fast.withTimeout(0, scheduler, "match"), fast);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testAllOf() throws Exception {
+        PipelineFuture<Integer> first = new PipelineFuture<>();
+        PipelineFuture<Integer> second = new PipelineFuture<>();
+        PipelineFuture<List<Integer>> all = PipelineFuture.allOf(Arrays.asList(first, second));
+        second.complete(2);
+        Assert.assertFalse(all.isDone());
+        first.complete(1);
+        Assert.assertEquals(all.get(10, TimeUnit.SECONDS), Arrays.asList(1, 2));
+
+        PipelineFuture<Integer> failing = new PipelineFuture<>();
+        all = PipelineFuture.allOf(Arrays.asList(failing, PipelineFuture.completed(3)));
+        failing.fail(new Error("check failed"));
+        Assert.assertTrue(all.isFailed());
+    }
+}
@@ -0,0 +1,136 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.RenderRequest;
+import com.applitools.eyes.visualgrid.model.RenderingInfo;
+import com.applitools.eyes.visualgrid.model.RunningRender;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.mockito.Mockito.*;
+
+public class TestRenderRequestBatcher extends ReportingTestSuite {
+
+    private static final int TASKS_COUNT = 3;
+
+    public TestRenderRequestBatcher() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testBatchedRenders() throws Exception {
+        final Map<RenderRequest, String> renderIds = new ConcurrentHashMap<>();
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.render(ArgumentMatchers.<RenderRequest>any())).thenAnswer(new RenderAnswer(renderIds, false));
+
+        RenderRequestBatcher batcher = new RenderRequestBatcher(new Logger());
+        batcher.setBatchWindowMillis(TimeUnit.SECONDS.toMillis(10));
+        batcher.setMaxRequestsPerBatch(TASKS_COUNT * 2);
+
+        List<RenderRequest[]> allRequests = renderConcurrently(batcher, Collections.nCopies(TASKS_COUNT, connector), renderIds);
+        verify(connector, times(1)).render(ArgumentMatchers.<RenderRequest>any());
+        Assert.assertEquals(allRequests.size(), TASKS_COUNT);
+    }
+
+    @Test
+    public void testFailedBatchRendersSeparately() throws Exception {
+        final Map<RenderRequest, String> renderIds = new ConcurrentHashMap<>();
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.render(ArgumentMatchers.<RenderRequest>any())).thenAnswer(new RenderAnswer(renderIds, true));
+
+        RenderRequestBatcher batcher = new RenderRequestBatcher(new Logger());
+        batcher.setBatchWindowMillis(TimeUnit.SECONDS.toMillis(10));
+        batcher.setMaxRequestsPerBatch(TASKS_COUNT * 2);
+
+        renderConcurrently(batcher, Collections.nCopies(TASKS_COUNT, connector), renderIds);
+        verify(connector, times(TASKS_COUNT + 1)).render(ArgumentMatchers.<RenderRequest>any());
+    }
+
+    @Test
+    public void testRendersOfDifferentRenderingInfoAreNotBatched() throws Exception {
+        final Map<RenderRequest, String> renderIds = new ConcurrentHashMap<>();
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.getRenderingInfo()).thenReturn(new RenderingInfo("https://first", "first", null, null));
+        when(connector.render(ArgumentMatchers.<RenderRequest>any())).thenAnswer(new RenderAnswer(renderIds, false));
+        IEyesConnector otherConnector = mock(IEyesConnector.class);
+        when(otherConnector.getRenderingInfo()).thenReturn(new RenderingInfo("https://second", "second", null, null));
+        when(otherConnector.render(ArgumentMatchers.<RenderRequest>any())).thenAnswer(new RenderAnswer(renderIds, false));
+
+        RenderRequestBatcher batcher = new RenderRequestBatcher(new Logger());
+        batcher.setBatchWindowMillis(500);
+
+        renderConcurrently(batcher, Arrays.asList(connector, otherConnector, connector), renderIds);
+        verify(connector, times(1)).render(ArgumentMatchers.<RenderRequest>any(), ArgumentMatchers.<RenderRequest>any(),
+                ArgumentMatchers.<RenderRequest>any(), ArgumentMatchers.<RenderRequest>any());
+        verify(otherConnector, times(1)).render(ArgumentMatchers.<RenderRequest>any(), ArgumentMatchers.<RenderRequest>any());
+    }
+
+    /**
+     * Renders two requests from each task and checks each task gets the running renders of its own requests.
+     */
+    private List<RenderRequest[]> renderConcurrently(final RenderRequestBatcher batcher, List<IEyesConnector> connectors,
+                                                     final Map<RenderRequest, String> renderIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(TASKS_COUNT);
+        try {
+            List<RenderRequest[]> allRequests = new ArrayList<>();
+            List<Future<List<RunningRender>>> futures = new ArrayList<>();
+            for (int i = 0; i < TASKS_COUNT; i++) {
+                final IEyesConnector connector = connectors.get(i);
+                final RenderRequest[] requests = new RenderRequest[]{mock(RenderRequest.class), mock(RenderRequest.class)};
+                allRequests.add(requests);
+                futures.add(executor.submit(new Callable<List<RunningRender>>() {
+                    @Override
+                    public List<RunningRender> call() {
+                        return batcher.render(connector, requests);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < TASKS_COUNT; i++) {
+                List<RunningRender> runningRenders = futures.get(i).get(30, TimeUnit.SECONDS);
+                RenderRequest[] requests = allRequests.get(i);
+                Assert.assertEquals(runningRenders.size(), requests.length);
+                for (int j = 0; j < requests.length; j++) {
+                    Assert.assertEquals(runningRenders.get(j).getRenderId(), renderIds.get(requests[j]));
+                }
+            }
+            return allRequests;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class RenderAnswer implements Answer<List<RunningRender>> {
+        private final Map<RenderRequest, String> renderIds;
+        private final boolean shouldFailBatches;
+
+        RenderAnswer(Map<RenderRequest, String> renderIds, boolean shouldFailBatches) {
+            this.renderIds = renderIds;
+            this.shouldFailBatches = shouldFailBatches;
+        }
+
+        @Override
+        public List<RunningRender> answer(InvocationOnMock invocation) {
+            Object[] arguments = invocation.getArguments();
+            if (shouldFailBatches && arguments.length > 2) {
+                throw new IllegalStateException("Invalid render request");
+            }
+            List<RunningRender> runningRenders = new ArrayList<>();
+            for (Object argument : arguments) {
+                String renderId = UUID.randomUUID().toString();
+                renderIds.put((RenderRequest) argument, renderId);
+                RunningRender runningRender = new RunningRender();
+                runningRender.setRenderId(renderId);
+                runningRenders.add(runningRender);
+            }
+            return runningRenders;
+        }
+    }
+}
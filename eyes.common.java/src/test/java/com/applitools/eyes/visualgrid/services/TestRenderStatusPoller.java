@@ -0,0 +1,295 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.BrowserType;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.*;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+public class TestRenderStatusPoller extends ReportingTestSuite {
+
+    public TestRenderStatusPoller() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testMergedPolling() throws Exception {
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.renderStatusById(ArgumentMatchers.<String>any())).thenAnswer(new Answer<List<RenderStatusResults>>() {
+            @Override
+            public List<RenderStatusResults> answer(InvocationOnMock invocation) {
+                // The renders are done only once the renders of both tasks are polled in a single request
+                List<String> ids = new ArrayList<>();
+                for (Object argument : invocation.getArguments()) {
+                    ids.add((String) argument);
+                }
+                boolean isMerged = ids.containsAll(Arrays.asList("a", "b", "c"));
+                List<RenderStatusResults> results = new ArrayList<>();
+                for (String id : ids) {
+                    RenderStatusResults statusResults = new RenderStatusResults();
+                    statusResults.setRenderId(id);
+                    statusResults.setStatus(isMerged ? RenderStatus.RENDERED : RenderStatus.RENDERING);
+                    results.add(statusResults);
+                }
+                return results;
+            }
+        });
+
+        RenderStatusPoller poller = new RenderStatusPoller(new Logger(), Executors.defaultThreadFactory());
+        poller.setPollIntervalMillis(20);
+        try {
+            final Map<String, RenderStatusResults> doneRenders = new ConcurrentHashMap<>();
+            final CountDownLatch latch = new CountDownLatch(3);
+            RenderStatusPoller.RenderStatusListener listener = new RenderStatusPoller.RenderStatusListener() {
+                @Override
+                public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
+                    doneRenders.put(renderId, renderStatusResults);
+                    latch.countDown();
+                }
+
+                @Override
+                public void onRenderTimeout(String renderId) {
+                    Assert.fail("Unexpected timeout of " + renderId);
+                }
+            };
+
+            poller.poll(connector, Arrays.asList("a", "b"), listener);
+            poller.poll(connector, Collections.singletonList("c"), listener);
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(doneRenders.keySet(), new HashSet<>(Arrays.asList("a", "b", "c")));
+            Assert.assertEquals(doneRenders.get("c").getStatus(), RenderStatus.RENDERED);
+            Assert.assertEquals(poller.getPendingRendersCount(), 0);
+        } finally {
+            poller.shutdown();
+        }
+    }
+
+    @Test
+    public void testRendersOfDifferentApiKeysAreNotMerged() throws Exception {
+        final List<String> otherKeyIds = Collections.synchronizedList(new ArrayList<String>());
+        IEyesConnector connector = createConnector("apiKey", Collections.synchronizedList(new ArrayList<String>()));
+        IEyesConnector sameKeyConnector = createConnector("apiKey", Collections.synchronizedList(new ArrayList<String>()));
+        IEyesConnector otherKeyConnector = createConnector("otherApiKey", otherKeyIds);
+
+        RenderStatusPoller poller = new RenderStatusPoller(new Logger(), Executors.defaultThreadFactory());
+        poller.setPollIntervalMillis(20);
+        try {
+            final Map<String, RenderStatusResults> doneRenders = new ConcurrentHashMap<>();
+            final CountDownLatch latch = new CountDownLatch(3);
+            RenderStatusPoller.RenderStatusListener listener = new RenderStatusPoller.RenderStatusListener() {
+                @Override
+                public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
+                    doneRenders.put(renderId, renderStatusResults);
+                    latch.countDown();
+                }
+
+                @Override
+                public void onRenderTimeout(String renderId) {
+                    Assert.fail("Unexpected timeout of " + renderId);
+                }
+            };
+
+            poller.poll(connector, Collections.singletonList("a"), listener);
+            poller.poll(sameKeyConnector, Collections.singletonList("b"), listener);
+            poller.poll(otherKeyConnector, Collections.singletonList("c"), listener);
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(doneRenders.keySet(), new HashSet<>(Arrays.asList("a", "b", "c")));
+            // Renders of the same server and credentials are still polled together
+            verify(connector, times(1)).renderStatusById("a", "b");
+            verify(sameKeyConnector, never()).renderStatusById(ArgumentMatchers.<String>any());
+            Assert.assertEquals(otherKeyIds, Collections.singletonList("c"));
+        } finally {
+            poller.shutdown();
+        }
+    }
+
+    @Test
+    public void testCallbackThreadsAreBounded() throws Exception {
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.renderStatusById(ArgumentMatchers.<String>any())).thenAnswer(new Answer<List<RenderStatusResults>>() {
+            @Override
+            public List<RenderStatusResults> answer(InvocationOnMock invocation) {
+                List<RenderStatusResults> results = new ArrayList<>();
+                for (Object argument : invocation.getArguments()) {
+                    RenderStatusResults statusResults = new RenderStatusResults();
+                    statusResults.setRenderId((String) argument);
+                    statusResults.setStatus(RenderStatus.RENDERED);
+                    results.add(statusResults);
+                }
+                return results;
+            }
+        });
+
+        final AtomicInteger threadsCount = new AtomicInteger();
+        ThreadFactory threadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                threadsCount.incrementAndGet();
+                return Executors.defaultThreadFactory().newThread(runnable);
+            }
+        };
+
+        int rendersCount = 30;
+        RenderStatusPoller poller = new RenderStatusPoller(new Logger(), threadFactory);
+        poller.setPollIntervalMillis(20);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch notified = new CountDownLatch(rendersCount);
+            RenderStatusPoller.RenderStatusListener listener = new RenderStatusPoller.RenderStatusListener() {
+                @Override
+                public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                    }
+                    notified.countDown();
+                }
+
+                @Override
+                public void onRenderTimeout(String renderId) {
+                    Assert.fail("Unexpected timeout of " + renderId);
+                }
+            };
+
+            List<String> renderIds = new ArrayList<>();
+            for (int i = 0; i < rendersCount; i++) {
+                renderIds.add("render" + i);
+            }
+            poller.poll(connector, renderIds, listener);
+
+            Thread.sleep(500);
+            release.countDown();
+            Assert.assertTrue(notified.await(10, TimeUnit.SECONDS));
+            // The polling thread and the callback threads
+            Assert.assertTrue(threadsCount.get() <= 5, "Created " + threadsCount.get() + " threads");
+        } finally {
+            poller.shutdown();
+        }
+    }
+
+    @Test
+    public void testRenderTimeout() throws Exception {
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.renderStatusById(ArgumentMatchers.<String>any())).thenReturn(null);
+
+        RenderStatusPoller poller = new RenderStatusPoller(new Logger(), Executors.defaultThreadFactory());
+        poller.setPollIntervalMillis(20);
+        poller.setRenderTimeoutMillis(50);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            poller.poll(connector, Collections.singletonList("slow"), new RenderStatusPoller.RenderStatusListener() {
+                @Override
+                public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
+                    Assert.fail("Unexpected status of " + renderId);
+                }
+
+                @Override
+                public void onRenderTimeout(String renderId) {
+                    Assert.assertEquals(renderId, "slow");
+                    latch.countDown();
+                }
+            });
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            poller.shutdown();
+        }
+    }
+    @Test
+    public void testLearnRenderDuration() throws Exception {
+        final long renderMillis = 300;
+        final Map<String, Long> renderStartTimes = new ConcurrentHashMap<>();
+        final List<Long> pollDelays = Collections.synchronizedList(new ArrayList<Long>());
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.renderStatusById(ArgumentMatchers.<String>any())).thenAnswer(new Answer<List<RenderStatusResults>>() {
+            @Override
+            public List<RenderStatusResults> answer(InvocationOnMock invocation) {
+                List<RenderStatusResults> results = new ArrayList<>();
+                for (Object argument : invocation.getArguments()) {
+                    String id = (String) argument;
+                    long elapsed = System.currentTimeMillis() - renderStartTimes.get(id);
+                    pollDelays.add(elapsed);
+                    RenderStatusResults statusResults = new RenderStatusResults();
+                    statusResults.setRenderId(id);
+                    statusResults.setStatus(elapsed >= renderMillis ? RenderStatus.RENDERED : RenderStatus.RENDERING);
+                    results.add(statusResults);
+                }
+                return results;
+            }
+        });
+
+        RenderStatusPoller poller = new RenderStatusPoller(new Logger(), Executors.defaultThreadFactory());
+        try {
+            for (String renderId : Arrays.asList("first", "second")) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                renderStartTimes.put(renderId, System.currentTimeMillis());
+                pollDelays.clear();
+                poller.poll(connector, Collections.singletonMap(renderId, "chrome"), new RenderStatusPoller.RenderStatusListener() {
+                    @Override
+                    public void onRenderStatus(String renderId, RenderStatusResults renderStatusResults) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onRenderTimeout(String renderId) {
+                        Assert.fail("Unexpected timeout of " + renderId);
+                    }
+                });
+                Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            }
+
+            // The second render is first polled around the learned duration rather than the default delay
+            long firstPollDelay = pollDelays.get(0);
+            Assert.assertTrue(firstPollDelay < RenderStatusPoller.DEFAULT_FIRST_POLL_DELAY_MILLIS, "first poll after " + firstPollDelay);
+            Assert.assertTrue(firstPollDelay > renderMillis / 2, "first poll after " + firstPollDelay);
+
+            RenderStatusPoller.RenderTiming timing = poller.getRenderTimings().get("chrome");
+            Assert.assertNotNull(timing);
+            Assert.assertEquals(timing.getRendersCount(), 2);
+            Assert.assertTrue(timing.getPollsCount() >= 2);
+            Assert.assertTrue(timing.getExpectedDurationMillis() > renderMillis / 2, timing.toString());
+            Assert.assertTrue(timing.getExpectedDurationMillis() < RenderStatusPoller.DEFAULT_FIRST_POLL_DELAY_MILLIS * 2, timing.toString());
+        } finally {
+            poller.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetRenderType() {
+        Assert.assertEquals(RenderStatusPoller.getRenderType(null), RenderStatusPoller.DEFAULT_RENDER_TYPE);
+        Assert.assertEquals(RenderStatusPoller.getRenderType(new DesktopBrowserInfo(800, 600, BrowserType.FIREFOX)), "FIREFOX");
+        Assert.assertEquals(RenderStatusPoller.getRenderType(new DesktopBrowserInfo(new IosDeviceInfo(IosDeviceName.iPhone_X))),
+                "ios:" + IosDeviceName.iPhone_X.getName());
+    }
+
+    private static IEyesConnector createConnector(String apiKey, final List<String> polledIds) {
+        IEyesConnector connector = mock(IEyesConnector.class);
+        when(connector.getApiKey()).thenReturn(apiKey);
+        when(connector.renderStatusById(ArgumentMatchers.<String>any())).thenAnswer(new Answer<List<RenderStatusResults>>() {
+            @Override
+            public List<RenderStatusResults> answer(InvocationOnMock invocation) {
+                List<RenderStatusResults> results = new ArrayList<>();
+                for (Object argument : invocation.getArguments()) {
+                    polledIds.add((String) argument);
+                    RenderStatusResults statusResults = new RenderStatusResults();
+                    statusResults.setRenderId((String) argument);
+                    statusResults.setStatus(RenderStatus.RENDERED);
+                    results.add(statusResults);
+                }
+                return results;
+            }
+        });
+        return connector;
+    }
+}
@@ -0,0 +1,80 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.TaskListener;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.RGridResource;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TestResourceFetchScheduler extends ReportingTestSuite {
+
+    public TestResourceFetchScheduler() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testPriority() {
+        Assert.assertEquals(ResourceFetchScheduler.getPriority(URI.create("http://a.com/style.CSS?v=1")), ResourceFetchScheduler.Priority.STYLESHEET);
+        Assert.assertEquals(ResourceFetchScheduler.getPriority(URI.create("http://a.com/font.woff2")), ResourceFetchScheduler.Priority.FONT);
+        Assert.assertEquals(ResourceFetchScheduler.getPriority(URI.create("http://a.com/image.png")), ResourceFetchScheduler.Priority.IMAGE);
+        Assert.assertEquals(ResourceFetchScheduler.getPriority(URI.create("http://a.com/image.svg")), ResourceFetchScheduler.Priority.OTHER);
+    }
+
+    @Test
+    public void testHostLimitAndOrder() {
+        final List<URI> startedUris = new ArrayList<>();
+        final List<TaskListener<RGridResource>> startedListeners = new ArrayList<>();
+        IEyesConnector connector = mock(IEyesConnector.class);
+        doAnswer(new Answer() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object answer(InvocationOnMock invocation) {
+                startedUris.add((URI) invocation.getArgument(0));
+                startedListeners.add((TaskListener<RGridResource>) invocation.getArgument(3));
+                return null;
+            }
+        }).when(connector).getResource(any(URI.class), anyString(), anyString(), any(TaskListener.class));
+
+        ResourceFetchScheduler scheduler = new ResourceFetchScheduler(new Logger());
+        scheduler.setMaxConcurrentFetchesPerHost(1);
+        final List<URI> completedUris = new ArrayList<>();
+        String[] urls = {"http://a.com/image.png", "http://a.com/image2.png", "http://a.com/font.woff", "http://a.com/style.css", "http://b.com/image.png"};
+        for (final String url : urls) {
+            scheduler.fetch(connector, URI.create(url), "agent", "http://a.com", new TaskListener<RGridResource>() {
+                @Override
+                public void onComplete(RGridResource taskResponse) {
+                    completedUris.add(URI.create(url));
+                }
+
+                @Override
+                public void onFail() {
+                }
+            });
+        }
+
+        // One download per host
+        Assert.assertEquals(startedUris.size(), 2);
+        Assert.assertEquals(startedUris.get(1).toString(), "http://b.com/image.png");
+
+        for (int i = 0; i < 4; i++) {
+            startedListeners.get(i == 0 ? 0 : i + 1).onComplete(null);
+        }
+
+        Assert.assertEquals(startedUris.get(2).toString(), "http://a.com/style.css");
+        Assert.assertEquals(startedUris.get(3).toString(), "http://a.com/font.woff");
+        Assert.assertEquals(startedUris.get(4).toString(), "http://a.com/image2.png");
+        Assert.assertEquals(completedUris.size(), 4);
+    }
+}
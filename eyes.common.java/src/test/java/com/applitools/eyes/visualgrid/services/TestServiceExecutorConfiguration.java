@@ -0,0 +1,108 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.*;
+
+import static org.mockito.Mockito.mock;
+
+public class TestServiceExecutorConfiguration extends ReportingTestSuite {
+
+    public TestServiceExecutorConfiguration() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testCreateExecutor() {
+        ThreadPoolExecutor executor = new ServiceExecutorConfiguration().createExecutor(5, 10);
+        Assert.assertEquals(executor.getCorePoolSize(), 5);
+        Assert.assertEquals(executor.getMaximumPoolSize(), 10);
+        Assert.assertTrue(executor.getQueue() instanceof ArrayBlockingQueue);
+        Assert.assertEquals(executor.getQueue().remainingCapacity(), ServiceExecutorConfiguration.DEFAULT_QUEUE_CAPACITY);
+        Assert.assertNull(new ServiceExecutorConfiguration().getRejectedExecutionHandler());
+        Assert.assertTrue(executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy);
+        executor.shutdown();
+
+        executor = new ServiceExecutorConfiguration()
+                .setCorePoolSize(3)
+                .setMaximumPoolSize(2)
+                .setQueueCapacity(0)
+                .setKeepAliveMillis(1000)
+                .setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
+                .createExecutor(5, 10);
+        Assert.assertEquals(executor.getCorePoolSize(), 3);
+        Assert.assertEquals(executor.getMaximumPoolSize(), 3);
+        Assert.assertTrue(executor.getQueue() instanceof SynchronousQueue);
+        Assert.assertEquals(executor.getKeepAliveTime(TimeUnit.MILLISECONDS), 1000);
+        Assert.assertTrue(executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy);
+        executor.shutdown();
+
+        ThreadFactory threadFactory = Executors.defaultThreadFactory();
+        executor = new ServiceExecutorConfiguration().setQueueCapacity(Integer.MAX_VALUE).setThreadFactory(threadFactory).createExecutor(1, 1);
+        Assert.assertTrue(executor.getQueue() instanceof LinkedBlockingQueue);
+        Assert.assertSame(executor.getThreadFactory(), threadFactory);
+        executor.shutdown();
+    }
+
+    @Test(timeOut = 30000)
+    public void testRunnerServicesUseConfigurationSetBeforeOpen() {
+        VisualGridRunner runner = new VisualGridRunner(1, "executors");
+        ServiceExecutorConfiguration executorConfiguration = new ServiceExecutorConfiguration().setQueueCapacity(3);
+        runner.setServiceExecutorConfiguration(executorConfiguration);
+        for (ServiceMetrics metrics : runner.getServicesMetrics()) {
+            Assert.assertEquals(metrics.getRemainingQueueCapacity(), 3, metrics.getServiceName());
+        }
+
+        StubRenderingEyes eyes = new StubRenderingEyes(runner, mock(IEyesConnector.class), "executors");
+        runner.open(eyes, null);
+
+        // Tests sharing a configuration set the settings the runner already uses
+        runner.setServiceExecutorConfiguration(executorConfiguration);
+        try {
+            runner.setServiceExecutorConfiguration(new ServiceExecutorConfiguration());
+            Assert.fail("The thread pool settings changed after a test was opened");
+        } catch (IllegalStateException e) {
+            for (ServiceMetrics metrics : runner.getServicesMetrics()) {
+                Assert.assertEquals(metrics.getRemainingQueueCapacity(), 3, metrics.getServiceName());
+            }
+        }
+
+        eyes.close();
+        runner.getAllTestResults(false);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        ThreadPoolExecutor executor = new ServiceExecutorConfiguration().setQueueCapacity(5).createExecutor(1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+        executor.submit(blocking);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.submit(blocking);
+        executor.submit(blocking);
+
+        ServiceMetrics metrics = new ServiceMetrics("test", executor);
+        Assert.assertEquals(metrics.getServiceName(), "test");
+        Assert.assertEquals(metrics.getActiveThreads(), 1);
+        Assert.assertEquals(metrics.getPoolSize(), 1);
+        Assert.assertEquals(metrics.getQueueDepth(), 2);
+        Assert.assertEquals(metrics.getRemainingQueueCapacity(), 3);
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(new ServiceMetrics("test", executor).getCompletedTasks(), 3);
+    }
+}
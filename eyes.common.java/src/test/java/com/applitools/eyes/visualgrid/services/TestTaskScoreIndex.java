@@ -0,0 +1,71 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.Configuration;
+import com.applitools.eyes.selenium.ISeleniumConfigurationProvider;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.DesktopBrowserInfo;
+import com.applitools.eyes.visualgrid.model.RenderStatusResults;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestTaskScoreIndex extends ReportingTestSuite {
+
+    private final Logger logger = new Logger();
+
+    public TestTaskScoreIndex() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testPollBestByScore() {
+        TaskScoreIndex index = new TaskScoreIndex();
+        RunningTest lowScoreTest = createTest(0);
+        RunningTest highScoreTest = createTest(2);
+        RunningTest notReadyTest = createTest(3);
+        VisualGridTask notReadyOpenTask = notReadyTest.getVisualGridTaskList().get(0);
+        notReadyOpenTask.setRenderResult(null);
+
+        index.update(lowScoreTest);
+        index.update(highScoreTest);
+        index.update(notReadyTest);
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertNull(index.pollBest(VisualGridTask.TaskType.CHECK));
+
+        ScoreTask scoreTask = index.pollBest(VisualGridTask.TaskType.OPEN);
+        Assert.assertNotNull(scoreTask);
+        Assert.assertEquals(scoreTask.getScore(), 2);
+        Assert.assertSame(scoreTask.getVisualGridTask(), highScoreTest.getVisualGridTaskList().get(0));
+
+        // A sent task isn't dispatched again
+        scoreTask = index.pollBest(VisualGridTask.TaskType.OPEN);
+        Assert.assertNotNull(scoreTask);
+        Assert.assertEquals(scoreTask.getScore(), 0);
+        Assert.assertNull(index.pollBest(VisualGridTask.TaskType.OPEN));
+
+        notReadyOpenTask.setRenderResult(new RenderStatusResults());
+        index.update(notReadyTest);
+        scoreTask = index.pollBest(VisualGridTask.TaskType.OPEN);
+        Assert.assertNotNull(scoreTask);
+        Assert.assertEquals(scoreTask.getScore(), 3);
+        Assert.assertEquals(index.size(), 0);
+    }
+
+    private RunningTest createTest(int readyChecksCount) {
+        ISeleniumConfigurationProvider configurationProvider = mock(ISeleniumConfigurationProvider.class);
+        when(configurationProvider.get()).thenReturn(new Configuration());
+        RunningTest runningTest = new RunningTest(new DesktopBrowserInfo(800, 600), logger, configurationProvider);
+        VisualGridTask openTask = new VisualGridTask(VisualGridTask.TaskType.OPEN, logger, runningTest);
+        openTask.setRenderResult(new RenderStatusResults());
+        runningTest.getVisualGridTaskList().add(openTask);
+        for (int i = 0; i < readyChecksCount; i++) {
+            VisualGridTask checkTask = new VisualGridTask(VisualGridTask.TaskType.CHECK, logger, runningTest);
+            checkTask.setRenderResult(new RenderStatusResults());
+            runningTest.getVisualGridTaskList().add(checkTask);
+        }
+        return runningTest;
+    }
+}
@@ -9,7 +9,6 @@ import com.applitools.eyes.config.Configuration;
 import com.applitools.eyes.config.IConfigurationGetter;
 import com.applitools.eyes.config.IConfigurationSetter;
 import com.applitools.eyes.events.ValidationInfo;
-import com.applitools.eyes.events.ValidationResult;
 import com.applitools.eyes.exceptions.TestFailedException;
 import com.applitools.eyes.fluent.CheckSettings;
 import com.applitools.eyes.fluent.ICheckSettingsInternal;
@@ -422,10 +421,7 @@ public class Eyes extends EyesBase implements IConfigurationGetter, IConfigurati
 
         MatchResult result = checkWindowBase(regionProvider, tag, ignoreMismatch, checkSettings, null);
 
-        ValidationResult validationResult = new ValidationResult();
-        validationResult.setAsExpected(result.getAsExpected());
-
-        getSessionEventHandlers().validationEnded(getAUTSessionId(), validationInfo.getValidationId(), validationResult);
+        fireValidationEndedEvent(validationInfo, result);
 
         return result.getAsExpected();
     }
@@ -39,6 +39,7 @@ public class ServerConnector extends RestClient implements IServerConnector {
     String RESOURCES_SHA_256 = "/resources/sha256/";
     String RENDER_STATUS = "/render-status";
     String RENDER = "/render";
+    String RESOURCES_EXIST = "/query/resources-exist";
 
     public static final String API_PATH = "/api/sessions/running";
 
@@ -476,6 +477,50 @@ public class ServerConnector extends RestClient implements IServerConnector {
         }
     }
 
+    /**
+     * Check which of the given resources exist on the server, in a single request
+     *
+     * @param renderId The running render id, or {@code null} if there is no running render yet
+     * @param hashes The hashes of the resources to check
+     * @return An array in the same order as {@code hashes}, {@code true} for every resource that exists on the server
+     */
+    public Boolean[] checkResourceStatus(final String renderId, HashObject... hashes) {
+        ArgumentGuard.notNull(hashes, "hashes");
+        this.logger.verbose("called with " + hashes.length + " hashes for render: " + renderId);
+
+        Request request = makeEyesRequest(new HttpRequestBuilder() {
+            @Override
+            public Request build() {
+                ConnectivityTarget target = restClient.target(renderingInfo.getServiceUrl()).path(RESOURCES_EXIST);
+                if (renderId != null) {
+                    target = target.queryParam("rg_render-id", renderId);
+                }
+                return target.request(MediaType.APPLICATION_JSON);
+            }
+        });
+        request.header("X-Auth-Token", renderingInfo.getAccessToken());
+
+        List<Integer> validStatusCodes = new ArrayList<>();
+        validStatusCodes.add(HttpStatus.SC_OK);
+
+        Response response = null;
+        try {
+            String json = jsonMapper.writeValueAsString(hashes);
+            response = request.method(HttpMethod.POST, json, MediaType.APPLICATION_JSON);
+            Boolean[] result = parseResponseWithJsonData(response, validStatusCodes, new TypeReference<Boolean[]>() {});
+            if (result == null || result.length != hashes.length) {
+                throw new EyesException("ServerConnector.checkResourceStatus - invalid response for " + hashes.length + " hashes");
+            }
+            return result;
+        } catch (JsonProcessingException e) {
+            throw new EyesException("Failed to convert hashes into Json string!", e);
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
     public Future<?> renderPutResource(final RunningRender runningRender, final RGridResource resource,
                                         final String userAgent, final TaskListener<Boolean> listener) {
         return renderPutResource(runningRender, resource, userAgent, listener, 1);
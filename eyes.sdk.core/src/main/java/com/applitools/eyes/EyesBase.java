@@ -13,6 +13,7 @@ import com.applitools.eyes.diagnostics.ResponseTimeAlgorithm;
 import com.applitools.eyes.events.ISessionEventHandler;
 import com.applitools.eyes.events.SessionEventHandlers;
 import com.applitools.eyes.events.ValidationInfo;
+import com.applitools.eyes.events.ValidationResult;
 import com.applitools.eyes.exceptions.DiffsFoundException;
 import com.applitools.eyes.exceptions.NewTestException;
 import com.applitools.eyes.exceptions.TestFailedException;
@@ -34,8 +35,13 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * Applitools Eyes Base for Java API .
@@ -49,6 +55,10 @@ public abstract class EyesBase implements IEyesBase{
 
     private MatchWindowTask matchWindowTask;
 
+    // Set when the matches of checks run in the background, see setMatchWindowPipeline
+    private MatchWindowPipeline.Queue matchWindowQueue;
+    private final List<Future<MatchResult>> pendingMatches = new ArrayList<>();
+
     protected ServerConnector serverConnector;
     protected RunningSession runningSession;
     protected SessionStartInfo sessionStartInfo;
@@ -472,6 +482,9 @@ public abstract class EyesBase implements IEyesBase{
             logger.verbose(String.format("close(%b)", throwEx));
             ArgumentGuard.isValidState(isOpen, "Eyes not open");
 
+            // A check which failed in the background fails the test, like it would have failed the check itself
+            Throwable backgroundError = awaitPendingMatches(false);
+
             isOpen = false;
 
             lastScreenshot = null;
@@ -494,6 +507,10 @@ public abstract class EyesBase implements IEyesBase{
 
             results.setNew(isNewSession);
             results.setUrl(runningSession.getUrl());
+            if (backgroundError != null) {
+                logger.log("Failed matching a check in the background: " + backgroundError);
+                results.setStatus(TestResultsStatus.Failed);
+            }
             logger.verbose(results.toString());
 
             sessionEventHandlers.testEnded(getAUTSessionId(), results);
@@ -630,6 +647,8 @@ public abstract class EyesBase implements IEyesBase{
 
             isOpen = false;
 
+            awaitPendingMatches(true);
+
             lastScreenshot = null;
             clearUserInputs();
 
@@ -756,10 +775,15 @@ public abstract class EyesBase implements IEyesBase{
         ensureRunningSession();
 
         beforeMatchWindow();
-
-        result = matchWindow(regionProvider, tag, ignoreMismatch, checkSettings, source);
-
-        afterMatchWindow();
+        try {
+            if (matchWindowQueue != null) {
+                result = matchWindowInBackground(regionProvider, tag, ignoreMismatch, checkSettings, source);
+            } else {
+                result = matchWindow(regionProvider, tag, ignoreMismatch, checkSettings, source);
+            }
+        } finally {
+            afterMatchWindow();
+        }
 
         logger.verbose("MatchWindow Done!");
 
@@ -803,28 +827,57 @@ public abstract class EyesBase implements IEyesBase{
         return validationInfo;
     }
 
+    /**
+     * Fires the validation ended event with the result of the check. The result of a check which is matched in the
+     * background is only known once its match completes, so the event is fired then, on the match window queue.
+     */
+    protected void fireValidationEndedEvent(final ValidationInfo validationInfo, MatchResult result) {
+        final String autSessionId = getAUTSessionId();
+        if (!(result instanceof PendingMatchResult)) {
+            ValidationResult validationResult = new ValidationResult();
+            validationResult.setAsExpected(result.getAsExpected());
+            getSessionEventHandlers().validationEnded(autSessionId, validationInfo.getValidationId(), validationResult);
+            return;
+        }
+
+        final Future<MatchResult> match = ((PendingMatchResult) result).match;
+        MatchWindowPipeline.Queue queue = matchWindowQueue;
+        if (queue == null) {
+            // The pipeline was removed, which waited for the match to complete
+            fireValidationEndedEvent(autSessionId, validationInfo.getValidationId(), match);
+            return;
+        }
+        queue.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                fireValidationEndedEvent(autSessionId, validationInfo.getValidationId(), match);
+                return null;
+            }
+        });
+    }
+
+    private void fireValidationEndedEvent(String autSessionId, String validationId, Future<MatchResult> match) {
+        ValidationResult validationResult = new ValidationResult();
+        try {
+            validationResult.setAsExpected(match.get().getAsExpected());
+        } catch (ExecutionException | CancellationException e) {
+            validationResult.setAsExpected(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        getSessionEventHandlers().validationEnded(autSessionId, validationId, validationResult);
+    }
+
     private MatchResult matchWindow(RegionProvider regionProvider, String tag, boolean ignoreMismatch,
                                     ICheckSettings checkSettings, String source) {
         MatchResult result;
-        ICheckSettingsInternal checkSettingsInternal = (checkSettings instanceof ICheckSettingsInternal) ? (ICheckSettingsInternal) checkSettings : null;
-
-        ImageMatchSettings defaultMatchSettings = getConfigGetter().getDefaultMatchSettings();
+        ICheckSettingsInternal checkSettingsInternal = getCheckSettingsWithDefaults(checkSettings);
 
         // Update retry timeout if it wasn't specified.
         int retryTimeout = -1;
-
-        // Set defaults if necessary
         if (checkSettingsInternal != null) {
             retryTimeout = checkSettingsInternal.getTimeout();
-            if (checkSettingsInternal.getMatchLevel() == null) {
-                checkSettings = checkSettings.matchLevel(defaultMatchSettings.getMatchLevel());
-            }
-
-            if (checkSettingsInternal.getIgnoreCaret() == null) {
-                checkSettings = checkSettings.ignoreCaret(defaultMatchSettings.getIgnoreCaret());
-            }
-
-            checkSettingsInternal = (ICheckSettingsInternal) checkSettings;
         }
 
         Region region = regionProvider.getRegion(checkSettingsInternal);
@@ -837,6 +890,157 @@ public abstract class EyesBase implements IEyesBase{
         return result;
     }
 
+    /**
+     * Takes the screenshot and collects the regions of the check on the calling thread, and encodes, uploads and
+     * matches the screenshot on the match window queue. The screenshot is matched once, without retrying.
+     * @return A result which is as expected, since the actual result is only known after the match completes.
+     * Passing it to {@link #fireValidationEndedEvent(ValidationInfo, MatchResult)} reports the actual result.
+     */
+    private MatchResult matchWindowInBackground(RegionProvider regionProvider, final String tag, final boolean ignoreMismatch,
+                                                ICheckSettings checkSettings, final String source) {
+        ICheckSettingsInternal checkSettingsInternal = getCheckSettingsWithDefaults(checkSettings);
+
+        Region region = regionProvider.getRegion(checkSettingsInternal);
+        logger.verbose("params: ([" + region + "], " + tag + ")");
+
+        final EyesScreenshot screenshot = getRegionScreenshot(region, checkSettingsInternal);
+        final Location location = region.isSizeEmpty() ? null : region.getLocation();
+        final String title = getTitle();
+        final ImageMatchSettings imageMatchSettings =
+                MatchWindowTask.createImageMatchSettings(checkSettingsInternal, screenshot, this);
+        final List<Trigger> userInputs = Arrays.asList(getUserInputs());
+        final String agentSetupStr = MatchWindowTask.getAgentSetupString(this);
+        final MatchWindowTask matchWindowTask = this.matchWindowTask;
+
+        Future<MatchResult> pendingMatch = matchWindowQueue.submit(new Callable<MatchResult>() {
+            @Override
+            public MatchResult call() {
+                logger.verbose("Getting image bytes (encoded as PNG)...");
+                byte[] screenshotBytes = ImageUtils.encodeAsPng(screenshot.getImage());
+                AppOutputWithScreenshot appOutput = new AppOutputWithScreenshot(
+                        new AppOutput(title, screenshotBytes, screenshot.domUrl, null), screenshot, location);
+                MatchResult result = matchWindowTask.performMatch(userInputs, appOutput, tag, ignoreMismatch,
+                        imageMatchSettings, agentSetupStr, source);
+                if (!result.getAsExpected()) {
+                    logger.log(String.format("Mismatch! (%s)", tag));
+                }
+                return result;
+            }
+        });
+        synchronized (pendingMatches) {
+            pendingMatches.add(pendingMatch);
+        }
+
+        MatchResult result = new PendingMatchResult(pendingMatch);
+        result.setAsExpected(true);
+        result.setScreenshot(screenshot);
+        return result;
+    }
+
+    /**
+     * The result of a check which is still being matched in the background.
+     */
+    private static class PendingMatchResult extends MatchResult {
+        private final Future<MatchResult> match;
+
+        PendingMatchResult(Future<MatchResult> match) {
+            this.match = match;
+        }
+    }
+
+    /**
+     * Blocks until the matches of the checks which run in the background are completed.
+     * @param isAborting If true, matches which didn't start are canceled.
+     * @return The error of the first match which failed, or {@code null} if all the matches completed.
+     */
+    private Throwable awaitPendingMatches(boolean isAborting) {
+        if (matchWindowQueue == null) {
+            return null;
+        }
+
+        List<Future<MatchResult>> matches;
+        synchronized (pendingMatches) {
+            matches = new ArrayList<>(pendingMatches);
+            pendingMatches.clear();
+        }
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        logger.verbose(String.format("waiting for %d pending matches", matches.size()));
+        if (isAborting) {
+            for (Future<MatchResult> match : matches) {
+                match.cancel(false);
+            }
+        }
+        matchWindowQueue.waitForAll();
+        Throwable error = null;
+        for (Future<MatchResult> match : matches) {
+            if (match.isCancelled()) {
+                continue;
+            }
+            try {
+                match.get();
+            } catch (ExecutionException e) {
+                GeneralUtils.logExceptionStackTrace(logger, e.getCause());
+                if (error == null) {
+                    error = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EyesException("Interrupted while waiting for pending matches", e);
+            }
+        }
+
+        return error;
+    }
+
+    /**
+     * Blocks until the matches of the checks of this test which run in the background are completed, so a step which
+     * is matched on the calling thread keeps its place after them.
+     * @throws EyesException if one of the matches failed.
+     */
+    protected void waitForPendingMatches() {
+        Throwable error = awaitPendingMatches(false);
+        if (error != null) {
+            throw new EyesException("Failed matching a check in the background", error);
+        }
+    }
+
+    /**
+     * Sets the pipeline on which the screenshots of checks are encoded, uploaded and matched.
+     * When set, checks return once the screenshot is taken and the regions of the check are collected, and
+     * {@link #close(boolean)} waits for the matches of the test. Since the screenshot is taken once, the match timeout
+     * isn't used for retrying, and mismatches are reported by {@link #close(boolean)} even with immediate failure reports.
+     * @param pipeline The pipeline to use, or {@code null} to match each check before it returns.
+     */
+    protected void setMatchWindowPipeline(MatchWindowPipeline pipeline) {
+        waitForPendingMatches();
+        matchWindowQueue = pipeline == null ? null : pipeline.createQueue();
+    }
+
+    /**
+     * @return The check settings with the default match level and ignore caret of the configuration,
+     * or {@code null} if the check settings aren't internal check settings.
+     */
+    private ICheckSettingsInternal getCheckSettingsWithDefaults(ICheckSettings checkSettings) {
+        if (!(checkSettings instanceof ICheckSettingsInternal)) {
+            return null;
+        }
+
+        ImageMatchSettings defaultMatchSettings = getConfigGetter().getDefaultMatchSettings();
+        ICheckSettingsInternal checkSettingsInternal = (ICheckSettingsInternal) checkSettings;
+        if (checkSettingsInternal.getMatchLevel() == null) {
+            checkSettings = checkSettings.matchLevel(defaultMatchSettings.getMatchLevel());
+        }
+
+        if (checkSettingsInternal.getIgnoreCaret() == null) {
+            checkSettings = checkSettings.ignoreCaret(defaultMatchSettings.getIgnoreCaret());
+        }
+
+        return (ICheckSettingsInternal) checkSettings;
+    }
+
     private String tryPostDomCapture(String domJson) {
         if (domJson != null) {
             byte[] resultStream = GeneralUtils.getGzipByteArrayOutputStream(domJson);
@@ -1388,18 +1592,8 @@ public abstract class EyesBase implements IEyesBase{
     private AppOutputWithScreenshot getAppOutputWithScreenshot(
             Region region, ICheckSettingsInternal checkSettingsInternal) {
 
-        logger.verbose("getting screenshot...");
-        // Getting the screenshot (abstract function implemented by each SDK).
-        EyesScreenshot screenshot = getScreenshot(checkSettingsInternal);
-        logger.verbose("Done getting screenshot!");
-
-        // Cropping by region if necessary
-        Location location = null;
-        if (!region.isSizeEmpty()) {
-            location = region.getLocation();
-            screenshot = screenshot.getSubScreenshot(region, false);
-            debugScreenshotsProvider.save(screenshot.getImage(), "SUB_SCREENSHOT");
-        }
+        EyesScreenshot screenshot = getRegionScreenshot(region, checkSettingsInternal);
+        Location location = region.isSizeEmpty() ? null : region.getLocation();
 
         logger.verbose("Getting image bytes (encoded as PNG)...");
         BufferedImage screenshotImage = screenshot.getImage();
@@ -1414,6 +1608,24 @@ public abstract class EyesBase implements IEyesBase{
         return result;
     }
 
+    /**
+     * @param region The region of the screenshot to crop, or an empty region for the whole screenshot.
+     * @return The screenshot of the region.
+     */
+    private EyesScreenshot getRegionScreenshot(Region region, ICheckSettingsInternal checkSettingsInternal) {
+        logger.verbose("getting screenshot...");
+        // Getting the screenshot (abstract function implemented by each SDK).
+        EyesScreenshot screenshot = getScreenshot(checkSettingsInternal);
+        logger.verbose("Done getting screenshot!");
+
+        // Cropping by region if necessary
+        if (!region.isSizeEmpty()) {
+            screenshot = screenshot.getSubScreenshot(region, false);
+            debugScreenshotsProvider.save(screenshot.getImage(), "SUB_SCREENSHOT");
+        }
+        return screenshot;
+    }
+
     public void log(String message) {
         logger.log(message);
     }
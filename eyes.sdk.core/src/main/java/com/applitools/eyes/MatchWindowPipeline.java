@@ -0,0 +1,169 @@
+package com.applitools.eyes;
+
+import com.applitools.utils.ArgumentGuard;
+
+import java.util.LinkedList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the steps of classic checks which don't need the driver, like encoding the screenshot, uploading it and
+ * matching it, on a bounded pool shared by all the tests of a runner.
+ * Each test gets its own {@link Queue}, whose steps run one after another in the order they were added,
+ * so the steps of a test are matched in the order of its checks while the checks of different tests run concurrently.
+ * Steps which don't depend on each other, like the uploads of the regions of a single check, are added with
+ * {@link #submit(Callable)}.
+ */
+public class MatchWindowPipeline {
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    private final ThreadPoolExecutor executor;
+
+    // The number of steps added and not completed yet, guarded by this
+    private int pendingCount = 0;
+
+    public MatchWindowPipeline() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * @param concurrency The maximum number of checks matched at the same time.
+     */
+    public MatchWindowPipeline(int concurrency) {
+        ArgumentGuard.greaterThanZero(concurrency, "concurrency");
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "matchWindowPipeline-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Adds a step which runs as soon as a thread of the pool is free, regardless of the other steps.
+     *
+     * @return The result of the step. Exceptions thrown by the step are thrown by {@link Future#get()}.
+     */
+    public <T> Future<T> submit(Callable<T> callable) {
+        ArgumentGuard.notNull(callable, "callable");
+        final FutureTask<T> step = new FutureTask<>(callable);
+        stepAdded();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    step.run();
+                } finally {
+                    stepCompleted();
+                }
+            }
+        });
+        return step;
+    }
+
+    /**
+     * @return A new queue for the steps of a single test.
+     */
+    public Queue createQueue() {
+        return new Queue();
+    }
+
+    /**
+     * Blocks until the steps of all the queues are completed.
+     */
+    public synchronized void waitForIdle() {
+        try {
+            while (pendingCount > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EyesException("Interrupted while waiting for pending matches", e);
+        }
+    }
+
+    private synchronized void stepAdded() {
+        pendingCount++;
+    }
+
+    private synchronized void stepCompleted() {
+        pendingCount--;
+        if (pendingCount == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * The steps of a single test. Only one step of a queue runs at a time.
+     */
+    public class Queue {
+        private final LinkedList<FutureTask<?>> steps = new LinkedList<>();
+        private boolean isRunning = false;
+
+        private final Runnable drainer = new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    FutureTask<?> step;
+                    synchronized (Queue.this) {
+                        step = steps.poll();
+                        if (step == null) {
+                            isRunning = false;
+                            Queue.this.notifyAll();
+                            return;
+                        }
+                    }
+                    try {
+                        step.run();
+                    } finally {
+                        stepCompleted();
+                    }
+                }
+            }
+        };
+
+        private Queue() {
+        }
+
+        /**
+         * Adds a step which runs after all the steps added before it.
+         *
+         * @return The result of the step. Exceptions thrown by the step are thrown by {@link Future#get()}.
+         */
+        public <T> Future<T> submit(Callable<T> callable) {
+            ArgumentGuard.notNull(callable, "callable");
+            FutureTask<T> step = new FutureTask<>(callable);
+            stepAdded();
+            synchronized (this) {
+                steps.add(step);
+                if (isRunning) {
+                    return step;
+                }
+                isRunning = true;
+            }
+            executor.execute(drainer);
+            return step;
+        }
+
+        /**
+         * Blocks until all the steps added to this queue are completed.
+         */
+        public synchronized void waitForAll() {
+            try {
+                while (isRunning || !steps.isEmpty()) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EyesException("Interrupted while waiting for pending matches", e);
+            }
+        }
+    }
+}
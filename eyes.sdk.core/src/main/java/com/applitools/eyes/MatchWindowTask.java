@@ -107,17 +107,45 @@ public class MatchWindowTask {
 
         logRegions(eyes.getLogger(), imageMatchSettings);
 
+        String agentSetupStr = getAgentSetupString(eyes);
+
+        eyes.getLogger().verbose("exit");
+        return performMatch(userInputs, appOutput, tag, ignoreMismatch, imageMatchSettings, agentSetupStr, null, source);
+    }
+
+    /**
+     * Uploads the screenshot and calls the server connector matchWindow method. Unlike the other overloads, the regions
+     * of the match settings aren't collected, so this method doesn't use the driver and can run on any thread.
+     * @param userInputs         The user inputs related to the current appOutput.
+     * @param appOutput          The application output to be matched.
+     * @param tag                Optional tag to be associated with the match (can be {@code null}).
+     * @param ignoreMismatch     Whether to instruct the server to ignore the match attempt in case of a mismatch.
+     * @param imageMatchSettings The settings to use, including the regions already collected.
+     * @param agentSetupStr      The serialized agent setup, see {@link #getAgentSetupString(EyesBase)}.
+     * @param source             The tested page URL or tested app name.
+     * @return The match result.
+     */
+    public MatchResult performMatch(List<Trigger> userInputs,
+                                    AppOutputWithScreenshot appOutput,
+                                    String tag, boolean ignoreMismatch,
+                                    ImageMatchSettings imageMatchSettings,
+                                    String agentSetupStr, String source) {
+        return performMatch(userInputs, appOutput, tag, ignoreMismatch, imageMatchSettings, agentSetupStr, null, source);
+    }
+
+    /**
+     * @return The agent setup of the eyes serialized as json, or an empty string if it couldn't be serialized.
+     */
+    public static String getAgentSetupString(EyesBase eyes) {
         String agentSetupStr = "";
         Object agentSetup = eyes.getAgentSetup();
         ObjectMapper jsonMapper = new ObjectMapper();
         try {
             agentSetupStr = jsonMapper.writeValueAsString(agentSetup);
         } catch (JsonProcessingException e) {
-            GeneralUtils.logExceptionStackTrace(logger, e);
+            GeneralUtils.logExceptionStackTrace(eyes.getLogger(), e);
         }
-
-        eyes.getLogger().verbose("exit");
-        return performMatch(userInputs, appOutput, tag, ignoreMismatch, imageMatchSettings, agentSetupStr, null, source);
+        return agentSetupStr;
     }
 
     /**
@@ -169,7 +197,15 @@ public class MatchWindowTask {
     }
 
     private boolean tryUploadImage(MatchWindowData data) {
-        AppOutput appOutput = data.getAppOutput();
+        return tryUploadImage(data.getAppOutput());
+    }
+
+    /**
+     * Uploads the screenshot of the application output to the storage service, unless it was already uploaded,
+     * and sets its url in the application output.
+     * @return Whether the screenshot was uploaded.
+     */
+    public boolean tryUploadImage(AppOutput appOutput) {
         if (appOutput.getScreenshotUrl() != null) {
             return true;
         }
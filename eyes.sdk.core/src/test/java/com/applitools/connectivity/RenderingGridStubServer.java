@@ -0,0 +1,84 @@
+package com.applitools.connectivity;
+
+import com.applitools.eyes.IServerConnector;
+import com.applitools.eyes.visualgrid.model.HashObject;
+import com.applitools.eyes.visualgrid.model.RenderingInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stub of the rendering grid endpoints, for testing the connectivity without the real server
+ */
+public class RenderingGridStubServer {
+
+    public static final String ACCESS_TOKEN = "stub-access-token";
+
+    private final HttpServer server;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final Set<String> existingHashes = Collections.synchronizedSet(new HashSet<String>());
+    private final AtomicInteger resourcesExistRequestsCount = new AtomicInteger();
+
+    public RenderingGridStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(IServerConnector.RESOURCES_EXIST, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                resourcesExistRequestsCount.incrementAndGet();
+                if (!ACCESS_TOKEN.equals(exchange.getRequestHeaders().getFirst("X-Auth-Token"))) {
+                    respond(exchange, 401, "");
+                    return;
+                }
+
+                String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+                HashObject[] hashes = jsonMapper.readValue(body, HashObject[].class);
+                boolean[] result = new boolean[hashes.length];
+                for (int i = 0; i < hashes.length; i++) {
+                    result[i] = existingHashes.contains(hashes[i].getHash());
+                }
+                respond(exchange, 200, jsonMapper.writeValueAsString(result));
+            }
+        });
+        server.start();
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public RenderingInfo getRenderingInfo() {
+        return new RenderingInfo(getUrl(), ACCESS_TOKEN, null, null);
+    }
+
+    public void addExistingHash(String hash) {
+        existingHashes.add(hash);
+    }
+
+    public int getResourcesExistRequestsCount() {
+        return resourcesExistRequestsCount.get();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,190 @@
+package com.applitools.connectivity;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.HashObject;
+import com.applitools.eyes.visualgrid.services.IEyesConnector;
+import com.applitools.eyes.visualgrid.services.IResourceStatusChecker;
+import com.applitools.eyes.visualgrid.services.ResourceStatusBatcher;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TestResourceStatus extends ReportingTestSuite {
+
+    private RenderingGridStubServer stubServer;
+    private ServerConnector serverConnector;
+
+    public TestResourceStatus() {
+        super.setGroupName("core");
+    }
+
+    @BeforeMethod
+    public void startStubServer() throws Exception {
+        stubServer = new RenderingGridStubServer();
+        serverConnector = new ServerConnector(new Logger(), new URI(stubServer.getUrl()));
+        serverConnector.setRenderingInfo(stubServer.getRenderingInfo());
+    }
+
+    @AfterMethod
+    public void stopStubServer() {
+        serverConnector.closeConnector();
+        stubServer.stop();
+    }
+
+    @Test
+    public void testCheckResourceStatus() {
+        stubServer.addExistingHash("a");
+        stubServer.addExistingHash("c");
+
+        Boolean[] result = serverConnector.checkResourceStatus(null,
+                new HashObject("sha256", "a"), new HashObject("sha256", "b"), new HashObject("sha256", "c"));
+
+        Assert.assertEquals(result, new Boolean[]{true, false, true});
+        Assert.assertEquals(stubServer.getResourcesExistRequestsCount(), 1);
+    }
+
+    @Test
+    public void testConcurrentChecksAreBatched() throws Exception {
+        stubServer.addExistingHash("a");
+        stubServer.addExistingHash("d");
+
+        IEyesConnector eyesConnector = createEyesConnector(serverConnector, null);
+
+        final ResourceStatusBatcher batcher = new ResourceStatusBatcher(new Logger(), Executors.defaultThreadFactory());
+        batcher.setBatchWindowMillis(200);
+
+        List<List<String>> hashesPerTask = new ArrayList<>();
+        hashesPerTask.add(Arrays.asList("a", "b"));
+        hashesPerTask.add(Arrays.asList("b", "c", "d"));
+        hashesPerTask.add(Collections.singletonList("d"));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(hashesPerTask.size());
+        List<Future<Set<String>>> futures = new ArrayList<>();
+        for (final List<String> hashes : hashesPerTask) {
+            futures.add(executorService.submit(createCheck(batcher, eyesConnector, hashes)));
+        }
+
+        Assert.assertEquals(futures.get(0).get(10, TimeUnit.SECONDS), new HashSet<>(Collections.singletonList("b")));
+        Assert.assertEquals(futures.get(1).get(10, TimeUnit.SECONDS), new HashSet<>(Arrays.asList("b", "c")));
+        Assert.assertEquals(futures.get(2).get(10, TimeUnit.SECONDS), new HashSet<String>());
+        Assert.assertEquals(stubServer.getResourcesExistRequestsCount(), 1);
+
+        executorService.shutdown();
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testLargeCheckIsSplitIntoChunks() {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < ResourceStatusBatcher.MAX_HASHES_PER_REQUEST + 1; i++) {
+            hashes.add("hash" + i);
+        }
+        stubServer.addExistingHash(hashes.get(hashes.size() - 1));
+
+        ResourceStatusBatcher batcher = new ResourceStatusBatcher(new Logger(), Executors.defaultThreadFactory());
+        batcher.setBatchWindowMillis(0);
+        Set<String> missingHashes = batcher.getMissingHashes(createEyesConnector(serverConnector, "key"), hashes);
+
+        Assert.assertEquals(missingHashes.size(), ResourceStatusBatcher.MAX_HASHES_PER_REQUEST);
+        Assert.assertFalse(missingHashes.contains(hashes.get(hashes.size() - 1)));
+        Assert.assertEquals(stubServer.getResourcesExistRequestsCount(), 2);
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testChecksOfDifferentApiKeysAreNotBatched() throws Exception {
+        stubServer.addExistingHash("a");
+        IEyesConnector firstConnector = createEyesConnector(serverConnector, "first");
+        IEyesConnector secondConnector = createEyesConnector(serverConnector, "second");
+
+        final ResourceStatusBatcher batcher = new ResourceStatusBatcher(new Logger(), Executors.defaultThreadFactory());
+        batcher.setBatchWindowMillis(200);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<Set<String>> first = executorService.submit(createCheck(batcher, firstConnector, Arrays.asList("a", "b")));
+        Future<Set<String>> second = executorService.submit(createCheck(batcher, secondConnector, Collections.singletonList("a")));
+
+        Assert.assertEquals(first.get(10, TimeUnit.SECONDS), new HashSet<>(Collections.singletonList("b")));
+        Assert.assertEquals(second.get(10, TimeUnit.SECONDS), new HashSet<String>());
+        verify((IResourceStatusChecker) firstConnector).checkResourceStatus((String) any(), (HashObject[]) any());
+        verify((IResourceStatusChecker) secondConnector).checkResourceStatus((String) any(), (HashObject[]) any());
+        Assert.assertEquals(stubServer.getResourcesExistRequestsCount(), 2);
+
+        executorService.shutdown();
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testSlowServerDoesNotDelayOtherServers() throws Exception {
+        final CountDownLatch secondCheckDone = new CountDownLatch(1);
+        IEyesConnector slowConnector = createEyesConnector(serverConnector, "slow");
+        doAnswer(new Answer<Boolean[]>() {
+            @Override
+            public Boolean[] answer(InvocationOnMock invocation) throws Throwable {
+                // Answers only after the check of the other server is resolved
+                Assert.assertTrue(secondCheckDone.await(10, TimeUnit.SECONDS));
+                return new Boolean[]{true};
+            }
+        }).when((IResourceStatusChecker) slowConnector).checkResourceStatus((String) any(), (HashObject[]) any());
+        IEyesConnector fastConnector = createEyesConnector(serverConnector, "fast");
+
+        final ResourceStatusBatcher batcher = new ResourceStatusBatcher(new Logger(), Executors.defaultThreadFactory());
+        batcher.setBatchWindowMillis(200);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<Set<String>> slow = executorService.submit(createCheck(batcher, slowConnector, Collections.singletonList("a")));
+        Future<Set<String>> fast = executorService.submit(createCheck(batcher, fastConnector, Collections.singletonList("b")));
+
+        Assert.assertEquals(fast.get(10, TimeUnit.SECONDS), new HashSet<>(Collections.singletonList("b")));
+        secondCheckDone.countDown();
+        Assert.assertEquals(slow.get(10, TimeUnit.SECONDS), new HashSet<String>());
+
+        executorService.shutdown();
+        batcher.shutdown();
+    }
+
+    @Test
+    public void testHashesOfConnectorWithoutStatusCheckAreMissing() {
+        IEyesConnector eyesConnector = mock(IEyesConnector.class);
+        ResourceStatusBatcher batcher = new ResourceStatusBatcher(new Logger(), Executors.defaultThreadFactory());
+
+        Set<String> missingHashes = batcher.getMissingHashes(eyesConnector, Arrays.asList("a", "b"));
+
+        Assert.assertEquals(missingHashes, new HashSet<>(Arrays.asList("a", "b")));
+        Assert.assertEquals(stubServer.getResourcesExistRequestsCount(), 0);
+        batcher.shutdown();
+    }
+
+    private IEyesConnector createEyesConnector(final ServerConnector serverConnector, String apiKey) {
+        IEyesConnector eyesConnector = mock(IEyesConnector.class, withSettings().extraInterfaces(IResourceStatusChecker.class));
+        when(eyesConnector.getApiKey()).thenReturn(apiKey);
+        doAnswer(new Answer<Boolean[]>() {
+            @Override
+            public Boolean[] answer(InvocationOnMock invocation) {
+                Object[] arguments = invocation.getArguments();
+                HashObject[] hashes = Arrays.copyOfRange(arguments, 1, arguments.length, HashObject[].class);
+                return serverConnector.checkResourceStatus((String) arguments[0], hashes);
+            }
+        }).when((IResourceStatusChecker) eyesConnector).checkResourceStatus((String) any(), (HashObject[]) any());
+        return eyesConnector;
+    }
+
+    private Callable<Set<String>> createCheck(final ResourceStatusBatcher batcher, final IEyesConnector eyesConnector,
+                                              final List<String> hashes) {
+        return new Callable<Set<String>>() {
+            @Override
+            public Set<String> call() {
+                return batcher.getMissingHashes(eyesConnector, hashes);
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.applitools.eyes;
+
+import com.applitools.connectivity.ServerConnector;
+import com.applitools.connectivity.api.Response;
+import com.applitools.eyes.events.ISessionEventHandler;
+import com.applitools.eyes.events.ValidationInfo;
+import com.applitools.eyes.events.ValidationResult;
+import com.applitools.eyes.exceptions.TestFailedException;
+import com.applitools.eyes.fluent.ICheckSettingsInternal;
+import com.applitools.eyes.positioning.RegionProvider;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.RenderingInfo;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestMatchInBackground extends ReportingTestSuite {
+
+    private static final int SLOW_MATCH_MILLIS = 300;
+
+    private final List<String> matchedSteps = Collections.synchronizedList(new ArrayList<String>());
+    private ServerConnector serverConnector;
+    private TestEyes eyes;
+
+    public TestMatchInBackground() {
+        super.setGroupName("core");
+    }
+
+    @BeforeMethod
+    public void openEyes() {
+        matchedSteps.clear();
+        serverConnector = mock(ServerConnector.class);
+        when(serverConnector.getApiKey()).thenReturn("apiKey");
+        RunningSession runningSession = new RunningSession();
+        runningSession.setIsNew(false);
+        when(serverConnector.startSession(any(SessionStartInfo.class))).thenReturn(runningSession);
+        when(serverConnector.stopSession(any(RunningSession.class), anyBoolean(), anyBoolean())).thenAnswer(new Answer<TestResults>() {
+            @Override
+            public TestResults answer(InvocationOnMock invocation) {
+                TestResults results = new TestResults();
+                results.setStatus(TestResultsStatus.Passed);
+                return results;
+            }
+        });
+        when(serverConnector.getRenderInfo()).thenReturn(new RenderingInfo(null, null, "https://results/__random__", null));
+        Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(201);
+        when(serverConnector.uploadData(any(byte[].class), any(RenderingInfo.class), anyString(), anyString(), anyString()))
+                .thenReturn(response);
+        when(serverConnector.matchWindow(any(RunningSession.class), any(MatchWindowData.class))).thenAnswer(new Answer<MatchResult>() {
+            @Override
+            public MatchResult answer(InvocationOnMock invocation) throws Throwable {
+                MatchWindowData data = invocation.getArgument(1);
+                // The background check is slower than the steps after it, which would overtake it if they didn't wait
+                Thread.sleep(SLOW_MATCH_MILLIS);
+                if ("failed".equals(data.getTag())) {
+                    throw new EyesException("match failed");
+                }
+                matchedSteps.add(data.getTag());
+                MatchResult result = new MatchResult();
+                result.setAsExpected(!"mismatch".equals(data.getTag()));
+                return result;
+            }
+        });
+
+        eyes = new TestEyes() {
+            @Override
+            protected String getBaseAgentId() {
+                return "TestEyes/1.0";
+            }
+
+            @Override
+            protected EyesScreenshot getScreenshot(ICheckSettingsInternal checkSettingsInternal) {
+                return new TestEyesScreenshot(logger, new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+            }
+        };
+        eyes.setServerConnector(serverConnector);
+        eyes.openBase("app", "test", new RectangleSize(100, 100), null);
+        eyes.setMatchWindowPipeline(new MatchWindowPipeline(2));
+    }
+
+    @Test
+    public void testStepMatchedOnCallingThreadFollowsBackgroundCheck() {
+        checkWindow("single");
+        Assert.assertTrue(matchedSteps.isEmpty());
+
+        // A multi-region check waits for the checks before it, and then matches its regions on the calling thread
+        eyes.waitForPendingMatches();
+        matchedSteps.add("regions");
+        checkWindow("last");
+        eyes.waitForPendingMatches();
+
+        Assert.assertEquals(matchedSteps, Arrays.asList("single", "regions", "last"));
+    }
+
+    @Test
+    public void testFailedBackgroundCheckFailsNextStep() {
+        checkWindow("failed");
+        try {
+            eyes.waitForPendingMatches();
+            Assert.fail("The error of the background check wasn't thrown");
+        } catch (EyesException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "match failed");
+        }
+
+        // The failed check was reported, so it doesn't fail the steps after it again
+        checkWindow("single");
+        eyes.waitForPendingMatches();
+        Assert.assertEquals(matchedSteps, Collections.singletonList("single"));
+    }
+
+    @Test
+    public void testFailedBackgroundCheckFailsTestWithoutThrowing() {
+        checkWindow("failed");
+
+        TestResults results = eyes.close(false);
+        Assert.assertEquals(results.getStatus(), TestResultsStatus.Failed);
+        verify(serverConnector).stopSession(any(RunningSession.class), eq(false), anyBoolean());
+    }
+
+    @Test
+    public void testFailedBackgroundCheckFailsClose() {
+        checkWindow("failed");
+
+        try {
+            eyes.close(true);
+            Assert.fail("The failed background check didn't fail the test");
+        } catch (TestFailedException e) {
+            Assert.assertEquals(e.getTestResults().getStatus(), TestResultsStatus.Failed);
+        }
+        verify(serverConnector).stopSession(any(RunningSession.class), eq(false), anyBoolean());
+    }
+
+    @Test
+    public void testValidationEndedGetsBackgroundResult() {
+        ISessionEventHandler eventHandler = mock(ISessionEventHandler.class);
+        eyes.addSessionEventHandler(eventHandler);
+
+        ValidationInfo mismatchInfo = eyes.fireValidationWillStartEvent("mismatch");
+        eyes.fireValidationEndedEvent(mismatchInfo, checkWindow("mismatch"));
+        ValidationInfo failedInfo = eyes.fireValidationWillStartEvent("failed");
+        eyes.fireValidationEndedEvent(failedInfo, checkWindow("failed"));
+        ValidationInfo matchInfo = eyes.fireValidationWillStartEvent("single");
+        eyes.fireValidationEndedEvent(matchInfo, checkWindow("single"));
+        verify(eventHandler, never()).validationEnded(nullable(String.class), anyString(), any(ValidationResult.class));
+
+        eyes.close(false);
+        assertValidationEnded(eventHandler, mismatchInfo, false);
+        assertValidationEnded(eventHandler, failedInfo, false);
+        assertValidationEnded(eventHandler, matchInfo, true);
+    }
+
+    private void assertValidationEnded(ISessionEventHandler eventHandler, ValidationInfo validationInfo, boolean asExpected) {
+        ArgumentCaptor<ValidationResult> validationResult = ArgumentCaptor.forClass(ValidationResult.class);
+        verify(eventHandler).validationEnded(nullable(String.class), eq(validationInfo.getValidationId()), validationResult.capture());
+        Assert.assertEquals(validationResult.getValue().isAsExpected(), asExpected);
+    }
+
+    private MatchResult checkWindow(String tag) {
+        return eyes.checkWindowBase(RegionProvider.NULL_INSTANCE, tag, false, "source");
+    }
+}
@@ -0,0 +1,114 @@
+package com.applitools.eyes;
+
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestMatchWindowPipeline extends ReportingTestSuite {
+
+    private static final int STEPS_COUNT = 20;
+
+    public TestMatchWindowPipeline() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testStepsOfQueueRunInOrder() {
+        MatchWindowPipeline pipeline = new MatchWindowPipeline(4);
+        MatchWindowPipeline.Queue queue = pipeline.createQueue();
+        final List<Integer> completedSteps = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Integer> expectedSteps = new ArrayList<>();
+        for (int i = 0; i < STEPS_COUNT; i++) {
+            final int step = i;
+            expectedSteps.add(step);
+            queue.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    Thread.sleep(STEPS_COUNT - step);
+                    completedSteps.add(step);
+                    return null;
+                }
+            });
+        }
+
+        queue.waitForAll();
+        Assert.assertEquals(completedSteps, expectedSteps);
+    }
+
+    @Test
+    public void testQueuesRunConcurrently() throws Exception {
+        MatchWindowPipeline pipeline = new MatchWindowPipeline(2);
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        Callable<Boolean> waitForOtherQueue = new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                bothStarted.countDown();
+                return bothStarted.await(30, TimeUnit.SECONDS);
+            }
+        };
+
+        Future<Boolean> first = pipeline.createQueue().submit(waitForOtherQueue);
+        Future<Boolean> second = pipeline.createQueue().submit(waitForOtherQueue);
+        pipeline.waitForIdle();
+        Assert.assertTrue(first.get());
+        Assert.assertTrue(second.get());
+    }
+
+    @Test
+    public void testSubmittedStepsRunConcurrently() throws Exception {
+        MatchWindowPipeline pipeline = new MatchWindowPipeline(3);
+        final CountDownLatch allStarted = new CountDownLatch(3);
+        List<Future<Boolean>> steps = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            steps.add(pipeline.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    allStarted.countDown();
+                    return allStarted.await(30, TimeUnit.SECONDS);
+                }
+            }));
+        }
+
+        pipeline.waitForIdle();
+        for (Future<Boolean> step : steps) {
+            Assert.assertTrue(step.isDone());
+            Assert.assertTrue(step.get());
+        }
+    }
+
+    @Test
+    public void testFailedStepDoesNotStopQueue() throws Exception {
+        MatchWindowPipeline pipeline = new MatchWindowPipeline(1);
+        MatchWindowPipeline.Queue queue = pipeline.createQueue();
+        Future<String> failed = queue.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                throw new IllegalStateException("upload failed");
+            }
+        });
+        Future<String> next = queue.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return "matched";
+            }
+        });
+
+        queue.waitForAll();
+        Assert.assertEquals(next.get(), "matched");
+        try {
+            failed.get();
+            Assert.fail("The error of the step wasn't thrown");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
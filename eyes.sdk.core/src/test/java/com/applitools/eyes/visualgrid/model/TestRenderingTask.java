@@ -1,12 +1,14 @@
 package com.applitools.eyes.visualgrid.model;
 
+import com.applitools.eyes.Logger;
 import com.applitools.eyes.TaskListener;
 import com.applitools.eyes.UserAgent;
+import com.applitools.eyes.fluent.CheckSettings;
 import com.applitools.eyes.utils.ReportingTestSuite;
-import com.applitools.eyes.visualgrid.services.IEyesConnector;
-import com.applitools.eyes.visualgrid.services.VisualGridTask;
+import com.applitools.eyes.visualgrid.services.*;
 import com.applitools.utils.GeneralUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -18,15 +20,11 @@ import java.io.FileInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class TestRenderingTask extends ReportingTestSuite {
 
@@ -106,6 +104,182 @@ public class TestRenderingTask extends ReportingTestSuite {
         Assert.assertEquals(counter.get(), 8);
     }
 
+    @Test
+    public void testParsingDoesNotWaitForBusyPool() throws Exception {
+        ExecutorService parsingExecutor = Executors.newSingleThreadExecutor();
+        final CountDownLatch poolBlocked = new CountDownLatch(1);
+        parsingExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    poolBlocked.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        // The pool's only thread is busy, so the calling thread parses all the resources itself
+        RenderingTask renderingTask = new RenderingTask(mock(IEyesConnector.class), new ArrayList<VisualGridTask>(), mock(UserAgent.class), parsingExecutor);
+        final AtomicInteger parsedCount = new AtomicInteger();
+        renderingTask.runAllParsingTasks(createCountingTasks(parsedCount, 3), "parsing");
+        Assert.assertEquals(parsedCount.get(), 3);
+
+        poolBlocked.countDown();
+        parsingExecutor.shutdown();
+    }
+
+    @Test
+    public void testParsingFromPoolThreadDoesNotDeadlock() throws Exception {
+        ExecutorService parsingExecutor = Executors.newSingleThreadExecutor();
+        final RenderingTask renderingTask = new RenderingTask(mock(IEyesConnector.class), new ArrayList<VisualGridTask>(), mock(UserAgent.class), parsingExecutor);
+        final AtomicInteger parsedCount = new AtomicInteger();
+
+        // The nested tasks are queued behind the task waiting for them, on a pool with a single thread
+        Future<?> outerTask = parsingExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                renderingTask.runAllParsingTasks(createCountingTasks(parsedCount, 3), "parsing");
+            }
+        });
+        outerTask.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(parsedCount.get(), 3);
+        parsingExecutor.shutdown();
+    }
+
+    @Test
+    public void testRenderStatusesOutOfOrder() {
+        RunningTest runningTest = mock(RunningTest.class);
+        Map<String, VisualGridTask> tasksByRenderId = new LinkedHashMap<>();
+        for (String renderId : Arrays.asList("first", "second", "third")) {
+            tasksByRenderId.put(renderId, createCheckTask(runningTest));
+        }
+        RenderingTask.RenderTaskListener listener = mock(RenderingTask.RenderTaskListener.class);
+        RenderStatusPoller.RenderStatusListener statusListener = startPolling(tasksByRenderId, new ArrayList<VisualGridTask>(), listener);
+
+        RenderStatusResults thirdResults = createResults(RenderStatus.RENDERED);
+        statusListener.onRenderStatus("third", thirdResults);
+        RenderStatusResults firstResults = createResults(RenderStatus.RENDERED);
+        statusListener.onRenderStatus("first", firstResults);
+        verify(listener, never()).onRenderSuccess();
+        RenderStatusResults secondResults = createResults(RenderStatus.RENDERED);
+        statusListener.onRenderStatus("second", secondResults);
+
+        // Each status goes to the task of its own render
+        verify(tasksByRenderId.get("first")).setRenderResult(firstResults);
+        verify(tasksByRenderId.get("second")).setRenderResult(secondResults);
+        verify(tasksByRenderId.get("third")).setRenderResult(thirdResults);
+        verify(listener, times(1)).onRenderSuccess();
+    }
+
+    @Test
+    public void testDuplicateAndUnknownRenderStatuses() {
+        RunningTest runningTest = mock(RunningTest.class);
+        Map<String, VisualGridTask> tasksByRenderId = new LinkedHashMap<>();
+        tasksByRenderId.put("first", createCheckTask(runningTest));
+        tasksByRenderId.put("second", createCheckTask(runningTest));
+        RenderingTask.RenderTaskListener listener = mock(RenderingTask.RenderTaskListener.class);
+        RenderStatusPoller.RenderStatusListener statusListener = startPolling(tasksByRenderId, new ArrayList<VisualGridTask>(), listener);
+
+        RenderStatusResults firstResults = createResults(RenderStatus.RENDERED);
+        statusListener.onRenderStatus("first", firstResults);
+        statusListener.onRenderStatus("first", createResults(RenderStatus.RENDERED));
+        statusListener.onRenderStatus("unknown", createResults(RenderStatus.RENDERED));
+        statusListener.onRenderTimeout("unknown");
+
+        // Neither the duplicate nor the unknown render complete the task before its second render
+        verify(tasksByRenderId.get("first"), times(1)).setRenderResult(any(RenderStatusResults.class));
+        verify(tasksByRenderId.get("first")).setRenderResult(firstResults);
+        verify(tasksByRenderId.get("second"), never()).setRenderResult(any(RenderStatusResults.class));
+        verify(listener, never()).onRenderSuccess();
+
+        statusListener.onRenderStatus("second", createResults(RenderStatus.RENDERED));
+        statusListener.onRenderStatus("second", createResults(RenderStatus.RENDERED));
+        verify(tasksByRenderId.get("second"), times(1)).setRenderResult(any(RenderStatusResults.class));
+        verify(listener, times(1)).onRenderSuccess();
+    }
+
+    @Test
+    public void testOpenTasksGetTheFirstTerminalStatusOfTheirTest() {
+        RunningTest runningTest = mock(RunningTest.class);
+        RunningTest otherTest = mock(RunningTest.class);
+        Map<String, VisualGridTask> tasksByRenderId = new LinkedHashMap<>();
+        tasksByRenderId.put("failed", createCheckTask(runningTest));
+        tasksByRenderId.put("rendered", createCheckTask(runningTest));
+        tasksByRenderId.put("timedOut", createCheckTask(otherTest));
+        VisualGridTask openTask = createCheckTask(runningTest);
+        VisualGridTask otherOpenTask = createCheckTask(otherTest);
+        RenderingTask.RenderTaskListener listener = mock(RenderingTask.RenderTaskListener.class);
+        RenderStatusPoller.RenderStatusListener statusListener = startPolling(tasksByRenderId, Arrays.asList(openTask, otherOpenTask), listener);
+
+        RenderStatusResults errorResults = createResults(RenderStatus.ERROR);
+        errorResults.setError("render failed");
+        statusListener.onRenderStatus("failed", errorResults);
+        statusListener.onRenderStatus("rendered", createResults(RenderStatus.RENDERED));
+
+        verify(tasksByRenderId.get("failed")).setRenderError("failed", "render failed");
+        verify(openTask, times(1)).setRenderError("failed", "render failed");
+        verify(openTask, never()).setRenderResult(any(RenderStatusResults.class));
+        verify(listener, never()).onRenderSuccess();
+
+        statusListener.onRenderTimeout("timedOut");
+        statusListener.onRenderStatus("timedOut", createResults(RenderStatus.RENDERED));
+        verify(tasksByRenderId.get("timedOut")).setRenderError(eq("timedOut"), anyString());
+        verify(tasksByRenderId.get("timedOut"), never()).setRenderResult(any(RenderStatusResults.class));
+        verify(listener, times(1)).onRenderSuccess();
+    }
+
+    private RenderStatusPoller.RenderStatusListener startPolling(Map<String, VisualGridTask> tasksByRenderId, List<VisualGridTask> openTasks,
+                                                                 RenderingTask.RenderTaskListener listener) {
+        RenderStatusPoller poller = mock(RenderStatusPoller.class);
+        VisualGridRunner runner = mock(VisualGridRunner.class);
+        when(runner.getLogger()).thenReturn(new Logger());
+        when(runner.getRenderStatusPoller()).thenReturn(poller);
+        FrameData domData = mock(FrameData.class);
+        when(domData.getUrl()).thenReturn("http://localhost");
+        RenderingTask renderingTask = new RenderingTask(mock(IEyesConnector.class), domData, new CheckSettings(0),
+                new ArrayList<>(tasksByRenderId.values()), openTasks, runner, null, listener, mock(UserAgent.class),
+                new ArrayList<VisualGridSelector[]>());
+
+        Map<String, RenderRequest> requestsByRenderId = new LinkedHashMap<>();
+        for (Map.Entry<String, VisualGridTask> entry : tasksByRenderId.entrySet()) {
+            RenderRequest renderRequest = mock(RenderRequest.class);
+            when(renderRequest.getVisualGridTask()).thenReturn(entry.getValue());
+            requestsByRenderId.put(entry.getKey(), renderRequest);
+        }
+        renderingTask.pollRenderingStatus(requestsByRenderId);
+
+        ArgumentCaptor<RenderStatusPoller.RenderStatusListener> statusListener = ArgumentCaptor.forClass(RenderStatusPoller.RenderStatusListener.class);
+        verify(poller).poll(any(IEyesConnector.class), ArgumentMatchers.<Map<String, String>>any(), statusListener.capture());
+        return statusListener.getValue();
+    }
+
+    private VisualGridTask createCheckTask(RunningTest runningTest) {
+        VisualGridTask visualGridTask = mock(VisualGridTask.class);
+        when(visualGridTask.getRunningTest()).thenReturn(runningTest);
+        when(visualGridTask.getBrowserInfo()).thenReturn(new DesktopBrowserInfo(800, 600));
+        return visualGridTask;
+    }
+
+    private RenderStatusResults createResults(RenderStatus status) {
+        RenderStatusResults results = new RenderStatusResults();
+        results.setStatus(status);
+        return results;
+    }
+
+    private List<Runnable> createCountingTasks(final AtomicInteger counter, int count) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    counter.incrementAndGet();
+                }
+            });
+        }
+        return tasks;
+    }
+
     /**
      * This method searches recursively for a key in a map and returns its value
      */
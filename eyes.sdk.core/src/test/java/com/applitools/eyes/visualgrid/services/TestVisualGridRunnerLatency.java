@@ -0,0 +1,142 @@
+package com.applitools.eyes.visualgrid.services;
+
+import com.applitools.eyes.*;
+import com.applitools.eyes.fluent.CheckSettings;
+import com.applitools.eyes.selenium.IConfigurationGetter;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.RenderStatusResults;
+import com.applitools.eyes.visualgrid.model.VisualGridSelector;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures the time it takes the runner's services to pick up a task once it's ready, using a local stub connector.
+ */
+public class TestVisualGridRunnerLatency extends ReportingTestSuite {
+
+    private static final int ITERATIONS = 10;
+    private static final long MAX_AVERAGE_LATENCY_MILLIS = 250;
+
+    public TestVisualGridRunnerLatency() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testEndToEndCheckLatency() throws Exception {
+        long totalOpenLatency = 0;
+        long totalCheckLatency = 0;
+        long totalCloseLatency = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final AtomicLong openTime = new AtomicLong();
+            final AtomicLong matchTime = new AtomicLong();
+            final AtomicLong closeTime = new AtomicLong();
+            final CountDownLatch openLatch = new CountDownLatch(1);
+            final CountDownLatch matchLatch = new CountDownLatch(1);
+            final CountDownLatch closeLatch = new CountDownLatch(1);
+
+            IEyesConnector connector = mock(IEyesConnector.class);
+            doAnswer(createTimingAnswer(openTime, openLatch)).when(connector)
+                    .open(any(IConfigurationGetter.class), nullable(String.class), nullable(String.class));
+            doAnswer(createTimingAnswer(matchTime, matchLatch)).when(connector)
+                    .matchWindow(nullable(String.class), nullable(String.class), nullable(com.applitools.ICheckSettings.class),
+                            ArgumentMatchers.<List<? extends IRegion>>any(), ArgumentMatchers.<List<VisualGridSelector[]>>any(),
+                            nullable(Location.class), nullable(String.class), nullable(String.class));
+            doAnswer(createTimingAnswer(closeTime, closeLatch)).when(connector).close(anyBoolean());
+
+            VisualGridRunner runner = new VisualGridRunner(1, "latency");
+            StubRenderingEyes eyes = new StubRenderingEyes(runner, connector, "latency");
+            runner.open(eyes, null);
+
+            VisualGridTask openTask = eyes.getRunningTest().open();
+            long start = System.nanoTime();
+            openTask.setRenderResult(new RenderStatusResults());
+            Assert.assertTrue(openLatch.await(30, TimeUnit.SECONDS));
+            totalOpenLatency += openTime.get() - start;
+
+            // The test is closed while its check is still rendering, so the close waits for the check
+            VisualGridTask checkTask = eyes.getRunningTest().check(new CheckSettings(0), new ArrayList<VisualGridSelector[]>(), "latency");
+            eyes.close();
+            start = System.nanoTime();
+            checkTask.setRenderResult(new RenderStatusResults());
+            Assert.assertTrue(matchLatch.await(30, TimeUnit.SECONDS));
+            totalCheckLatency += matchTime.get() - start;
+            Assert.assertNotNull(checkTask.getResultFuture().get(30, TimeUnit.SECONDS));
+            Assert.assertTrue(closeLatch.await(30, TimeUnit.SECONDS));
+            totalCloseLatency += closeTime.get() - matchTime.get();
+
+            runner.getAllTestResults(false);
+        }
+
+        long averageOpenLatency = TimeUnit.NANOSECONDS.toMillis(totalOpenLatency / ITERATIONS);
+        long averageCheckLatency = TimeUnit.NANOSECONDS.toMillis(totalCheckLatency / ITERATIONS);
+        long averageCloseLatency = TimeUnit.NANOSECONDS.toMillis(totalCloseLatency / ITERATIONS);
+        Logger logger = new Logger();
+        logger.setLogHandler(new StdoutLogHandler());
+        logger.log(String.format("average latency - open: %dms, check: %dms, close: %dms",
+                averageOpenLatency, averageCheckLatency, averageCloseLatency));
+        Assert.assertTrue(averageOpenLatency < MAX_AVERAGE_LATENCY_MILLIS);
+        Assert.assertTrue(averageCheckLatency < MAX_AVERAGE_LATENCY_MILLIS);
+        Assert.assertTrue(averageCloseLatency < MAX_AVERAGE_LATENCY_MILLIS);
+    }
+
+    @Test
+    public void testAbortLatency() throws Exception {
+        long totalAbortLatency = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final AtomicLong abortTime = new AtomicLong();
+            final CountDownLatch openLatch = new CountDownLatch(1);
+            final CountDownLatch abortLatch = new CountDownLatch(1);
+
+            IEyesConnector connector = mock(IEyesConnector.class);
+            doAnswer(createTimingAnswer(new AtomicLong(), openLatch)).when(connector)
+                    .open(any(IConfigurationGetter.class), nullable(String.class), nullable(String.class));
+            doAnswer(createTimingAnswer(abortTime, abortLatch)).when(connector).abortIfNotClosed();
+
+            VisualGridRunner runner = new VisualGridRunner(1, "latency");
+            StubRenderingEyes eyes = new StubRenderingEyes(runner, connector, "latency");
+            runner.open(eyes, null);
+
+            VisualGridTask openTask = eyes.getRunningTest().open();
+            openTask.setRenderResult(new RenderStatusResults());
+            Assert.assertTrue(openLatch.await(30, TimeUnit.SECONDS));
+
+            // The test is aborted while its check is still rendering, without closing the eyes
+            VisualGridTask checkTask = eyes.getRunningTest().check(new CheckSettings(0), new ArrayList<VisualGridSelector[]>(), "latency");
+            long start = System.nanoTime();
+            eyes.getRunningTest().abort(false, null);
+            Assert.assertTrue(abortLatch.await(30, TimeUnit.SECONDS));
+            totalAbortLatency += abortTime.get() - start;
+            Assert.assertTrue(checkTask.getResultFuture().isDone());
+
+            runner.getAllTestResults(false);
+        }
+
+        long averageAbortLatency = TimeUnit.NANOSECONDS.toMillis(totalAbortLatency / ITERATIONS);
+        Logger logger = new Logger();
+        logger.setLogHandler(new StdoutLogHandler());
+        logger.log(String.format("average latency - abort: %dms", averageAbortLatency));
+        Assert.assertTrue(averageAbortLatency < MAX_AVERAGE_LATENCY_MILLIS);
+    }
+
+    private Answer<Object> createTimingAnswer(final AtomicLong time, final CountDownLatch latch) {
+        return new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                time.set(System.nanoTime());
+                latch.countDown();
+                return null;
+            }
+        };
+    }
+}
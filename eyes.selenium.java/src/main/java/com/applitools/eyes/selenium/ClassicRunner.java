@@ -3,15 +3,19 @@ package com.applitools.eyes.selenium;
 import com.applitools.eyes.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ClassicRunner extends EyesRunner {
 
-    private List<TestResults> allTestResult = new ArrayList<>();
+    private final List<TestResults> allTestResult = Collections.synchronizedList(new ArrayList<TestResults>());
 
-    private Error exception;
+    private volatile Error exception;
+
+    private final MatchWindowPipeline matchWindowPipeline = new MatchWindowPipeline();
+    private boolean isMatchInBackground = false;
 
     @Override
     public TestResultsSummary getAllTestResultsImpl(){
@@ -24,8 +28,13 @@ public class ClassicRunner extends EyesRunner {
         {
             throw exception;
         }
+        matchWindowPipeline.waitForIdle();
+        List<TestResults> allTestResultCopy;
+        synchronized (allTestResult) {
+            allTestResultCopy = new ArrayList<>(allTestResult);
+        }
         List<TestResultContainer> result = new ArrayList<>();
-        for (TestResults testResults : allTestResult) {
+        for (TestResults testResults : allTestResultCopy) {
             result.add(new TestResultContainer(testResults, null, null));
             EyesBase.logSessionResultsAndThrowException(logger, shouldThrowException, testResults);
         }
@@ -39,4 +48,26 @@ public class ClassicRunner extends EyesRunner {
     public void setException(Error exception) {
         this.exception = exception;
     }
+
+    /**
+     * Sets whether the screenshots of checks are encoded, uploaded and matched in the background, so checks return
+     * once the screenshot is taken. The matches of a test are completed by its {@code close}, and the matches of all
+     * the tests of the runner by {@link #getAllTestResults()}. Up to {@link MatchWindowPipeline#DEFAULT_CONCURRENCY}
+     * checks of different tests are matched at the same time, while the checks of each test are matched in order.
+     * Applies to tests opened after it's set.
+     */
+    public synchronized void setMatchInBackground(boolean isMatchInBackground) {
+        this.isMatchInBackground = isMatchInBackground;
+    }
+
+    public synchronized boolean isMatchInBackground() {
+        return isMatchInBackground;
+    }
+
+    /**
+     * @return The pool on which the tests of the runner encode, upload and match screenshots.
+     */
+    MatchWindowPipeline getMatchWindowPipeline() {
+        return matchWindowPipeline;
+    }
 }
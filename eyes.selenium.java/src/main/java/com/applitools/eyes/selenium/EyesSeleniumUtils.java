@@ -15,7 +15,9 @@ import io.appium.java_client.remote.MobileCapabilityType;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Coordinates;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,6 +29,47 @@ public class EyesSeleniumUtils {
 
     private static final String NATIVE_APP = "NATIVE_APP";
 
+    // Returns [xpath, left, top, width, height] of each element, with the location relative to the document
+    private static final String JS_GET_ELEMENTS_XPATHS_AND_BOUNDS =
+            "var includeXPaths = arguments[0];" +
+                    "var includeBounds = arguments[1];" +
+                    "var elements = arguments[2];" +
+                    "var result = [];" +
+                    "for (var i = 0; i < elements.length; i++) {" +
+                    " var el = elements[i];" +
+                    " var info = [null, null, null, null, null];" +
+                    " if (includeXPaths) {" +
+                    "  var xpath = '';" +
+                    "  var current = el;" +
+                    "  do {" +
+                    "   var parent = current.parentElement;" +
+                    "   var index = 1;" +
+                    "   if (parent !== null) {" +
+                    "    var children = parent.children;" +
+                    "    for (var c = 0; c < children.length && children[c] !== current; c++) {" +
+                    "     if (children[c].tagName === current.tagName) index++;" +
+                    "    }" +
+                    "   }" +
+                    "   xpath = '/' + current.tagName + '[' + index + ']' + xpath;" +
+                    "   current = parent;" +
+                    "  } while (current !== null);" +
+                    "  info[0] = '/' + xpath;" +
+                    " }" +
+                    " if (includeBounds) {" +
+                    "  var doc = el.ownerDocument;" +
+                    "  var win = doc.defaultView || window;" +
+                    "  var r = el.getBoundingClientRect();" +
+                    "  var scrollLeft = win.pageXOffset !== undefined ? win.pageXOffset : doc.documentElement.scrollLeft;" +
+                    "  var scrollTop = win.pageYOffset !== undefined ? win.pageYOffset : doc.documentElement.scrollTop;" +
+                    "  info[1] = r.left + scrollLeft;" +
+                    "  info[2] = r.top + scrollTop;" +
+                    "  info[3] = r.width;" +
+                    "  info[4] = r.height;" +
+                    " }" +
+                    " result.push(info);" +
+                    "}" +
+                    "return result;";
+
     // See Applitools WiKi for explanation.
     private static final String JS_GET_VIEWPORT_SIZE =
             "var height = undefined;"
@@ -227,6 +270,11 @@ public class EyesSeleniumUtils {
                 "if ('%s'.toUpperCase() === 'HIDDEN' && origOF.toUpperCase() !== 'HIDDEN') arguments[0].setAttribute('data-applitools-original-overflow',origOF);" +
                 "return origOF;", value, value);
 
+        if (executor instanceof EyesWebDriver) {
+            // The overflow of a root element changes the client size of its descendants
+            ((EyesWebDriver) executor).getElementGeometryCache().invalidateAll();
+        }
+
         try {
             String result = (String) executor.executeScript(script, rootElement);
             GeneralUtils.sleep(200);
@@ -456,6 +504,11 @@ public class EyesSeleniumUtils {
 
         logger.verbose("setViewportSize(" + size + ")");
 
+        if (driver instanceof EyesWebDriver) {
+            // The device pixel ratio might change with the browser size
+            ((EyesWebDriver) driver).clearEnvironment();
+        }
+
         RectangleSize requiredSize = new RectangleSize(size.getWidth(), size.getHeight());
         RectangleSize actualViewportSize;
         try {
@@ -673,6 +726,53 @@ public class EyesSeleniumUtils {
                 position.getX(), position.getY()));
     }
 
+    /**
+     * Gets the XPaths of the given elements with a single script call.
+     * @param executor The executor to use.
+     * @param elements The elements, all in the current frame.
+     * @return The XPath of each element, in the order of the elements.
+     */
+    public static List<String> getElementsXPaths(JavascriptExecutor executor, List<? extends WebElement> elements) {
+        List<String> xpaths = new ArrayList<>(elements.size());
+        for (List<?> info : getElementsInfo(executor, elements, true, false)) {
+            xpaths.add((String) info.get(0));
+        }
+        return xpaths;
+    }
+
+    /**
+     * Gets the bounds of the given elements with a single script call. The location is rounded and the size is rounded up,
+     * the same as {@link com.applitools.eyes.selenium.wrappers.EyesRemoteWebElement#getLocation()} and
+     * {@link com.applitools.eyes.selenium.wrappers.EyesRemoteWebElement#getSize()}.
+     * @param executor The executor to use.
+     * @param elements The elements, all in the current frame.
+     * @return The bounds of each element relative to the document, in the order of the elements.
+     */
+    public static List<Rectangle> getElementsBounds(JavascriptExecutor executor, List<? extends WebElement> elements) {
+        List<Rectangle> bounds = new ArrayList<>(elements.size());
+        for (List<?> info : getElementsInfo(executor, elements, false, true)) {
+            int left = (int) Math.round(((Number) info.get(1)).doubleValue());
+            int top = (int) Math.round(((Number) info.get(2)).doubleValue());
+            int width = (int) Math.ceil(((Number) info.get(3)).doubleValue());
+            int height = (int) Math.ceil(((Number) info.get(4)).doubleValue());
+            bounds.add(new Rectangle(left, top, height, width));
+        }
+        return bounds;
+    }
+
+    private static List<List<?>> getElementsInfo(JavascriptExecutor executor, List<? extends WebElement> elements,
+                                                 boolean includeXPaths, boolean includeBounds) {
+        if (elements.isEmpty()) {
+            return new ArrayList<>();
+        }
+        @SuppressWarnings("unchecked")
+        List<List<?>> result = (List<List<?>>) executor.executeScript(JS_GET_ELEMENTS_XPATHS_AND_BOUNDS, includeXPaths, includeBounds, elements);
+        if (result == null || result.size() != elements.size()) {
+            throw new EyesDriverOperationException("Failed getting the info of " + elements.size() + " elements");
+        }
+        return result;
+    }
+
     /**
      * Returns given element visible portion size.
      * @param logger  the logger
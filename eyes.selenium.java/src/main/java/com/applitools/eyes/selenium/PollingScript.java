@@ -0,0 +1,173 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.Logger;
+import com.applitools.utils.ArgumentGuard;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Runs a polling script library, like the dom snapshot and dom capture scripts, which is installed once per page or frame.
+ * The library is kept in a global namespace with its version, so polls send a short call instead of the whole library.
+ * When the library isn't installed yet, because this is the first poll or the page navigated, it's installed and polled in the same call.
+ * <p>
+ * Results longer than the chunk size are kept in the page and read in chunks while they are parsed,
+ * so no single response is larger than a chunk.
+ */
+public class PollingScript {
+
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 1024 * 1024;
+
+    private static final String NAME_SPACE = "__EYES__APPLITOOLS__SCRIPTS__";
+    private static final String NOT_INSTALLED = "__EYES__APPLITOOLS__NOT_INSTALLED__";
+    private static final String CHUNKED = "__EYES__APPLITOOLS__CHUNKED__:";
+
+    private static final long MIN_POLL_INTERVAL_MILLIS = 50;
+    private static final long MAX_POLL_INTERVAL_MILLIS = 1000;
+    private static final double POLL_INTERVAL_FACTOR = 1.5;
+
+    private final String functionName;
+    private final String pollScript;
+    private final String installScript;
+    private final String chunkScript;
+    private final String releaseScript;
+
+    /**
+     * @param functionName The function which the library defines and which returns the poll result.
+     * @param library      The library script.
+     */
+    public PollingScript(String functionName, String library) {
+        this(functionName, library, DEFAULT_MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * @param functionName The function which the library defines and which returns the poll result.
+     * @param library      The library script.
+     * @param maxChunkSize The maximum length of a single response.
+     */
+    public PollingScript(String functionName, String library, int maxChunkSize) {
+        ArgumentGuard.notNullOrEmpty(functionName, "functionName");
+        ArgumentGuard.notNull(library, "library");
+        ArgumentGuard.greaterThanZero(maxChunkSize, "maxChunkSize");
+        this.functionName = functionName;
+        String version = Integer.toHexString(library.hashCode());
+        String entry = "window['" + NAME_SPACE + "']['" + functionName + "']";
+        this.pollScript = "var ns = window['" + NAME_SPACE + "'];" +
+                "var lib = ns && ns['" + functionName + "'];" +
+                "if (!lib || lib.version !== '" + version + "') { return '" + NOT_INSTALLED + "'; }" +
+                "var result = lib.poll();" +
+                "if (typeof result === 'string' && result.length > " + maxChunkSize + ") {" +
+                " lib.result = result;" +
+                " return '" + CHUNKED + "' + result.length;" +
+                "}" +
+                "return result;";
+        this.installScript = library +
+                "window['" + NAME_SPACE + "'] = window['" + NAME_SPACE + "'] || {};" +
+                entry + " = {version: '" + version + "', poll: " + functionName + "};" +
+                pollScript;
+        this.chunkScript = "var lib = " + entry + ";" +
+                "var offset = arguments[0];" +
+                "var chunk = lib.result.substring(offset, offset + " + maxChunkSize + ");" +
+                "if (offset + chunk.length >= lib.result.length) { lib.result = null; }" +
+                "return chunk;";
+        this.releaseScript = "var lib = " + entry + ";" +
+                "if (lib) { lib.result = null; }";
+    }
+
+    /**
+     * Polls the library in the current frame of the driver, installing it first if needed.
+     *
+     * @return A reader of the result of the poll function. Chunks of long results are read from the page while the reader is read.
+     */
+    public Reader poll(JavascriptExecutor driver, Logger logger) {
+        Object result = driver.executeScript(pollScript);
+        if (NOT_INSTALLED.equals(result)) {
+            logger.verbose("installing " + functionName);
+            result = driver.executeScript(installScript);
+        }
+
+        String resultAsString = String.valueOf(result);
+        if (resultAsString.startsWith(CHUNKED)) {
+            int length = Integer.parseInt(resultAsString.substring(CHUNKED.length()));
+            logger.verbose(String.format("reading result of %s in chunks, length: %d", functionName, length));
+            return new ChunkedResultReader(driver, length);
+        }
+        return new StringReader(resultAsString);
+    }
+
+    /**
+     * @param pollsCount The number of polls so far.
+     * @return The time to wait before the next poll. Short at first, for pages which are processed quickly, and growing for heavier pages.
+     */
+    public long getPollInterval(int pollsCount) {
+        double interval = MIN_POLL_INTERVAL_MILLIS * Math.pow(POLL_INTERVAL_FACTOR, Math.max(0, pollsCount - 1));
+        return (long) Math.min(MAX_POLL_INTERVAL_MILLIS, interval);
+    }
+
+    private class ChunkedResultReader extends Reader {
+        private final JavascriptExecutor driver;
+        private final int length;
+        private int offset = 0;
+        private String chunk = "";
+        private int chunkPosition = 0;
+
+        ChunkedResultReader(JavascriptExecutor driver, int length) {
+            this.driver = driver;
+            this.length = length;
+        }
+
+        @Override
+        public int read(char[] buffer, int bufferOffset, int count) throws IOException {
+            if (count == 0) {
+                return 0;
+            }
+            if (chunkPosition == chunk.length()) {
+                if (offset >= length || !readNextChunk()) {
+                    return -1;
+                }
+            }
+
+            int readCount = Math.min(count, chunk.length() - chunkPosition);
+            chunk.getChars(chunkPosition, chunkPosition + readCount, buffer, bufferOffset);
+            chunkPosition += readCount;
+            return readCount;
+        }
+
+        private boolean readNextChunk() throws IOException {
+            try {
+                chunk = (String) driver.executeScript(chunkScript, offset);
+            } catch (RuntimeException e) {
+                throw new IOException("Failed reading the result of " + functionName + " at offset " + offset, e);
+            }
+            chunkPosition = 0;
+            if (chunk == null || chunk.isEmpty()) {
+                chunk = "";
+                return false;
+            }
+            offset += chunk.length();
+            return true;
+        }
+
+        /**
+         * Releases the result kept in the page if it wasn't read to its end.
+         */
+        @Override
+        public void close() throws IOException {
+            boolean isResultKept = offset < length;
+            chunk = "";
+            chunkPosition = 0;
+            offset = length;
+            if (!isResultKept) {
+                return;
+            }
+
+            try {
+                driver.executeScript(releaseScript);
+            } catch (RuntimeException e) {
+                throw new IOException("Failed releasing the result of " + functionName, e);
+            }
+        }
+    }
+}
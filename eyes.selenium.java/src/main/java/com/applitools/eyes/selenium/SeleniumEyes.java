@@ -9,6 +9,7 @@ import com.applitools.eyes.capture.AppOutputWithScreenshot;
 import com.applitools.eyes.capture.EyesScreenshotFactory;
 import com.applitools.eyes.capture.ImageProvider;
 import com.applitools.eyes.exceptions.TestFailedException;
+import com.applitools.eyes.fluent.GetFloatingRegion;
 import com.applitools.eyes.fluent.GetRegion;
 import com.applitools.eyes.fluent.ICheckSettingsInternal;
 import com.applitools.eyes.fluent.SimpleRegionByRectangle;
@@ -26,6 +27,7 @@ import com.applitools.eyes.selenium.positioning.*;
 import com.applitools.eyes.selenium.regionVisibility.MoveToRegionVisibilityStrategy;
 import com.applitools.eyes.selenium.regionVisibility.NopRegionVisibilityStrategy;
 import com.applitools.eyes.selenium.regionVisibility.RegionVisibilityStrategy;
+import com.applitools.eyes.selenium.rendering.IGetSeleniumRegion;
 import com.applitools.eyes.selenium.wrappers.EyesRemoteWebElement;
 import com.applitools.eyes.selenium.wrappers.EyesTargetLocator;
 import com.applitools.eyes.selenium.wrappers.EyesWebDriver;
@@ -40,6 +42,9 @@ import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * The main API gateway for the SDK.
@@ -77,6 +82,7 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
 
     private ImageRotation rotation;
     private double devicePixelRatio;
+    private int commandsCountAtCheckStart;
     private PropertyHandler<RegionVisibilityStrategy> regionVisibilityStrategyHandler;
     private ElementPositionProvider elementPositionProvider;
     private SeleniumJavaScriptExecutor jsExecutor;
@@ -287,13 +293,14 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
 
         this.driver.setRotation(rotation);
         this.runner.addBatch(this.getConfigGetter().getBatch().getId(), this);
+        setMatchWindowPipeline(this.runner.isMatchInBackground() ? this.runner.getMatchWindowPipeline() : null);
         return this.driver;
     }
 
     private void initDevicePixelRatio() {
         logger.verbose("Trying to extract device pixel ratio...");
         try {
-            devicePixelRatio = EyesSeleniumUtils.getDevicePixelRatio(this.jsExecutor);
+            devicePixelRatio = driver.getDevicePixelRatio();
         } catch (Exception ex) {
             logger.verbose("Failed to extract device pixel ratio! Using default.");
             devicePixelRatio = DEFAULT_DEVICE_PIXEL_RATIO;
@@ -499,14 +506,37 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
         debugScreenshotsProvider.save(screenshotImage, "original");
         EyesWebDriverScreenshot screenshot = new EyesWebDriverScreenshot(logger, driver, screenshotImage, EyesWebDriverScreenshot.ScreenshotType.VIEWPORT, Location.ZERO);
 
+        List<WebElement> regionElements = new ArrayList<>();
         for (int i = 0; i < checkSettings.length; ++i) {
-            if (((Hashtable<Integer, GetRegion>) getRegions).containsKey(i)) {
-                GetRegion getRegion = getRegions.get(i);
-                ICheckSettingsInternal checkSettingsInternal = checkSettingsInternalDictionary.get(i);
-                List<EyesScreenshot> subScreenshots = getSubScreenshots(hasFrames ? Region.EMPTY : bBox, screenshot, getRegion);
-                matchRegion(checkSettingsInternal, mwt, subScreenshots);
+            GetRegion getRegion = getRegions.get(i);
+            if (getRegion instanceof IGetSeleniumRegion) {
+                addRegionElements(regionElements, getRegion);
+            }
+            ICheckSettingsInternal checkSettingsInternal = checkSettingsInternalDictionary.get(i);
+            if (checkSettingsInternal != null) {
+                regionElements.addAll(getRegionElements(checkSettingsInternal));
             }
         }
+        driver.getElementBoundsBatch().add(regionElements);
+
+        // All the regions are cropped from the single screenshot, and their match settings are collected with the driver,
+        // while the crops which were already collected are encoded and uploaded on the pool of the runner
+        String source = driver.getCurrentUrl();
+        List<PendingRegionMatch> regionMatches = new ArrayList<>();
+        try {
+            for (int i = 0; i < checkSettings.length; ++i) {
+                if (((Hashtable<Integer, GetRegion>) getRegions).containsKey(i)) {
+                    GetRegion getRegion = getRegions.get(i);
+                    ICheckSettingsInternal checkSettingsInternal = checkSettingsInternalDictionary.get(i);
+                    List<EyesScreenshot> subScreenshots = getSubScreenshots(hasFrames ? Region.EMPTY : bBox, screenshot, getRegion);
+                    for (EyesScreenshot subScreenshot : subScreenshots) {
+                        regionMatches.add(uploadRegion(checkSettingsInternal, mwt, subScreenshot));
+                    }
+                }
+            }
+        } finally {
+            driver.getElementBoundsBatch().clear();
+        }
 
         if (getConfigGetter().getHideCaret() && activeElement != null) {
             try {
@@ -517,6 +547,10 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
         }
 
         ((EyesTargetLocator) driver.switchTo()).frames(this.originalFC);
+
+        // The checks before this one might still be matched in the background
+        waitForPendingMatches();
+        matchUploadedRegions(mwt, regionMatches, MatchWindowTask.getAgentSetupString(this), source);
     }
 
     private List<EyesScreenshot> getSubScreenshots(Region bBox, EyesWebDriverScreenshot screenshot, GetRegion getRegion) {
@@ -532,20 +566,61 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
         return subScreenshots;
     }
 
-    private void matchRegion(ICheckSettingsInternal checkSettingsInternal, MatchWindowTask mwt, List<EyesScreenshot> subScreenshots) {
+    /**
+     * A region of a multi-region check, whose screenshot is encoded and uploaded in the background.
+     */
+    private static class PendingRegionMatch {
+        private final String name;
+        private final ImageMatchSettings imageMatchSettings;
+        private final Future<AppOutputWithScreenshot> appOutput;
 
-        String name = checkSettingsInternal.getName();
-        String source = driver.getCurrentUrl();
-        for (EyesScreenshot subScreenshot : subScreenshots) {
+        PendingRegionMatch(String name, ImageMatchSettings imageMatchSettings, Future<AppOutputWithScreenshot> appOutput) {
+            this.name = name;
+            this.imageMatchSettings = imageMatchSettings;
+            this.appOutput = appOutput;
+        }
+    }
 
-            debugScreenshotsProvider.save(subScreenshot.getImage(), String.format("subscreenshot_%s", name));
+    /**
+     * Collects the match settings of the region with the driver, and encodes and uploads its screenshot on the pool of the runner.
+     */
+    private PendingRegionMatch uploadRegion(ICheckSettingsInternal checkSettingsInternal, final MatchWindowTask mwt,
+                                            final EyesScreenshot subScreenshot) {
+        final String name = checkSettingsInternal.getName();
+        debugScreenshotsProvider.save(subScreenshot.getImage(), String.format("subscreenshot_%s", name));
+
+        ImageMatchSettings ims = MatchWindowTask.createImageMatchSettings(checkSettingsInternal, subScreenshot, this);
+        final Location location = subScreenshot.getLocationInScreenshot(Location.ZERO, CoordinatesType.SCREENSHOT_AS_IS);
+        Future<AppOutputWithScreenshot> appOutput = runner.getMatchWindowPipeline().submit(new Callable<AppOutputWithScreenshot>() {
+            @Override
+            public AppOutputWithScreenshot call() {
+                AppOutput appOutput = new AppOutput(name, ImageUtils.encodeAsPng(subScreenshot.getImage()), null, null);
+                // A failed upload is retried by the match
+                mwt.tryUploadImage(appOutput);
+                return new AppOutputWithScreenshot(appOutput, subScreenshot, location);
+            }
+        });
+        return new PendingRegionMatch(name, ims, appOutput);
+    }
 
-            ImageMatchSettings ims = mwt.createImageMatchSettings(checkSettingsInternal, subScreenshot, this);
-            Location location = subScreenshot.getLocationInScreenshot(Location.ZERO, CoordinatesType.SCREENSHOT_AS_IS);
-            AppOutput appOutput = new AppOutput(name, ImageUtils.encodeAsPng(subScreenshot.getImage()), null, null);
-            AppOutputWithScreenshot appOutputWithScreenshot = new AppOutputWithScreenshot(appOutput, subScreenshot, location);
-            MatchResult matchResult = mwt.performMatch(new ArrayList<Trigger>(), appOutputWithScreenshot, name, false,
-                    checkSettingsInternal, ims, this, source);
+    /**
+     * Matches the regions in the order of the check settings, so the steps of the test keep their order,
+     * each as soon as its screenshot is uploaded.
+     */
+    private void matchUploadedRegions(MatchWindowTask mwt, List<PendingRegionMatch> regionMatches, String agentSetupStr, String source) {
+        for (PendingRegionMatch regionMatch : regionMatches) {
+            AppOutputWithScreenshot appOutput;
+            try {
+                appOutput = regionMatch.appOutput.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EyesException("Interrupted while encoding the screenshot of " + regionMatch.name, e);
+            } catch (ExecutionException e) {
+                throw new EyesException("Failed encoding the screenshot of " + regionMatch.name, e.getCause());
+            }
+
+            MatchResult matchResult = mwt.performMatch(new ArrayList<Trigger>(), appOutput, regionMatch.name, false,
+                    regionMatch.imageMatchSettings, agentSetupStr, source);
 
             logger.verbose("matchResult.asExcepted: " + matchResult.getAsExpected());
         }
@@ -686,6 +761,9 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
             ArgumentGuard.notNull(checkSettings, "checkSettings");
             ArgumentGuard.notOfType(checkSettings, ISeleniumCheckTarget.class, "checkSettings");
 
+            driver.getElementGeometryCache().begin();
+            commandsCountAtCheckStart = driver.getCommandsCount();
+
             boolean isMobileDevice = EyesSeleniumUtils.isMobileDevice(driver);
 
             if (!isMobileDevice) {
@@ -810,6 +888,10 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
         } catch (Exception ex) {
             GeneralUtils.logExceptionStackTrace(logger, ex);
             throw ex;
+        } finally {
+            driver.getElementGeometryCache().end();
+            logger.verbose(String.format("check sent %d commands to the browser",
+                    driver.getCommandsCount() - commandsCountAtCheckStart));
         }
     }
 
@@ -1088,7 +1170,7 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
             logger.verbose("Trying to extract device pixel ratio...");
             if (!EyesSeleniumUtils.isMobileDevice(driver)) {
                 try {
-                    devicePixelRatio = EyesSeleniumUtils.getDevicePixelRatio(this.jsExecutor);
+                    devicePixelRatio = driver.getDevicePixelRatio();
                 } catch (Exception e) {
                     logger.verbose(
                             "Failed to extract device pixel ratio! Using default.");
@@ -1888,11 +1970,50 @@ public class SeleniumEyes extends EyesBase implements ISeleniumEyes, IDriverProv
                 positionProvider.restoreState(originalPosition);
             }
             switchTo.frames(originalFrameChain);
+
+            // The regions are collected right after the screenshot, so the bounds of all their elements are fetched together
+            driver.getElementBoundsBatch().add(getRegionElements(checkSettingsInternal));
         }
 
         return result;
     }
 
+    @Override
+    protected void afterMatchWindow() {
+        driver.getElementBoundsBatch().clear();
+    }
+
+    private List<WebElement> getRegionElements(ICheckSettingsInternal checkSettingsInternal) {
+        List<WebElement> elements = new ArrayList<>();
+        for (GetRegion region : checkSettingsInternal.getIgnoreRegions()) {
+            addRegionElements(elements, region);
+        }
+        for (GetRegion region : checkSettingsInternal.getLayoutRegions()) {
+            addRegionElements(elements, region);
+        }
+        for (GetRegion region : checkSettingsInternal.getStrictRegions()) {
+            addRegionElements(elements, region);
+        }
+        for (GetRegion region : checkSettingsInternal.getContentRegions()) {
+            addRegionElements(elements, region);
+        }
+        for (GetFloatingRegion region : checkSettingsInternal.getFloatingRegions()) {
+            addRegionElements(elements, region);
+        }
+        for (IGetAccessibilityRegion region : checkSettingsInternal.getAccessibilityRegions()) {
+            addRegionElements(elements, region);
+        }
+        return elements;
+    }
+
+    private void addRegionElements(List<WebElement> elements, Object region) {
+        // Regions by selector find their elements when they are collected
+        if (region instanceof SimpleRegionByElement || region instanceof FloatingRegionByElement
+                || region instanceof AccessibilityRegionByElement) {
+            elements.addAll(((IGetSeleniumRegion) region).getElements(driver));
+        }
+    }
+
     private EyesWebDriverScreenshot getFrameOrElementScreenshot(ScaleProviderFactory scaleProviderFactory, FrameChain originalFrameChain, EyesTargetLocator switchTo) {
         FullPageCaptureAlgorithm algo = createFullPageCaptureAlgorithm(scaleProviderFactory);
 
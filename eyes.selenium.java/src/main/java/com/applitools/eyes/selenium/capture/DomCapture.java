@@ -4,6 +4,7 @@ import com.applitools.connectivity.ServerConnector;
 import com.applitools.eyes.*;
 import com.applitools.eyes.positioning.PositionMemento;
 import com.applitools.eyes.positioning.PositionProvider;
+import com.applitools.eyes.selenium.PollingScript;
 import com.applitools.eyes.selenium.SeleniumEyes;
 import com.applitools.eyes.selenium.frames.FrameChain;
 import com.applitools.eyes.selenium.wrappers.EyesTargetLocator;
@@ -22,6 +23,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.*;
 import java.util.*;
@@ -31,13 +33,14 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DomCapture {
-    private static String CAPTURE_FRAME_SCRIPT;
+    private static PollingScript CAPTURE_FRAME_SCRIPT;
 
     private final Phaser cssPhaser = new Phaser(); // Phaser for syncing all callbacks on a single Frame
 
     static {
         try {
-            CAPTURE_FRAME_SCRIPT = GeneralUtils.readToEnd(DomCapture.class.getResourceAsStream("/captureDomAndPoll.js"));
+            String captureDomScript = GeneralUtils.readToEnd(DomCapture.class.getResourceAsStream("/captureDomAndPoll.js"));
+            CAPTURE_FRAME_SCRIPT = new PollingScript("__captureDomAndPoll", captureDomScript);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -106,19 +109,20 @@ public class DomCapture {
         timer.schedule(new TimeoutTask(), DOM_EXTRACTION_TIMEOUT);
         try {
             isCheckTimerTimedOut.set(false);
-            String resultAsString;
             ScriptResponse.Status status = null;
             ScriptResponse scriptResponse = null;
+            int pollsCount = 0;
             do {
-                resultAsString = (String) this.driver.executeScript(CAPTURE_FRAME_SCRIPT + "return __captureDomAndPoll();");
-                try {
-                    scriptResponse = GeneralUtils.parseJsonToObject(resultAsString, ScriptResponse.class);
+                if (pollsCount > 0) {
+                    Thread.sleep(CAPTURE_FRAME_SCRIPT.getPollInterval(pollsCount));
+                }
+                pollsCount++;
+                try (Reader result = CAPTURE_FRAME_SCRIPT.poll(this.driver, logger)) {
+                    scriptResponse = GeneralUtils.parseJsonToObject(result, ScriptResponse.class);
                     status = scriptResponse.getStatus();
                 } catch (IOException e) {
                     GeneralUtils.logExceptionStackTrace(logger, e);
                 }
-                Thread.sleep(200);
-
             } while (status == ScriptResponse.Status.WIP && !isCheckTimerTimedOut.get());
             timer.cancel();
 
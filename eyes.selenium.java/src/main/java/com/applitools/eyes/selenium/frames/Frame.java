@@ -104,12 +104,14 @@ public final class Frame {
     public void hideScrollbars(WebDriver driver) {
         WebElement scrollRootElement = getScrollRootElement(driver);
         logger.verbose("hiding scrollbars of element: " + scrollRootElement);
+        invalidateElementGeometries(driver);
         originalOverflow = (String) jsExecutor.executeScript("var origOF = arguments[0].style.overflow; arguments[0].style.overflow='hidden'; return origOF;", scrollRootElement);
     }
 
     public void returnToOriginalOverflow(WebDriver driver) {
         WebElement scrollRootElement = getScrollRootElement(driver);
         logger.verbose("returning overflow of element to its original value: " + scrollRootElement);
+        invalidateElementGeometries(driver);
         jsExecutor.executeScript("arguments[0].style.overflow='" + originalOverflow + "';", scrollRootElement);
     }
 
@@ -119,6 +121,13 @@ public final class Frame {
         positionProvider.restoreState(positionMemento);
     }
 
+    private void invalidateElementGeometries(WebDriver driver) {
+        // The overflow of the scroll root element changes the client size of the elements in the frame
+        if (driver instanceof EyesWebDriver) {
+            ((EyesWebDriver) driver).getElementGeometryCache().invalidateAll();
+        }
+    }
+
     private WebElement getScrollRootElement(WebDriver driver) {
         WebElement scrollRootElement = getScrollRootElement();
         if (scrollRootElement == null) {
@@ -32,7 +32,7 @@ public class ElementPositionProvider implements PositionProvider ,ISeleniumPosit
     public Location getCurrentPosition() {
         logger.verbose("getCurrentScrollPosition()");
 
-        Location result = new Location(element.getScrollLeft(), element.getScrollTop());
+        Location result = element.getScrollLocation();
 
         logger.verbose(String.format("Current position: %s", result));
 
@@ -9,6 +9,7 @@ import com.applitools.eyes.selenium.IConfigurationGetter;
 import com.applitools.eyes.selenium.ISeleniumConfigurationProvider;
 import com.applitools.eyes.visualgrid.model.*;
 import com.applitools.eyes.visualgrid.services.IEyesConnector;
+import com.applitools.eyes.visualgrid.services.IResourceStatusChecker;
 import com.applitools.eyes.visualgrid.services.VisualGridTask;
 import com.applitools.utils.ClassVersionGetter;
 
@@ -16,7 +17,7 @@ import java.net.URI;
 import java.util.List;
 import java.util.concurrent.Future;
 
-class EyesConnector extends EyesBase implements IEyesConnector, IBatchCloser {
+class EyesConnector extends EyesBase implements IEyesConnector, IResourceStatusChecker, IBatchCloser {
 
 
     private final DesktopBrowserInfo browserInfo;
@@ -69,6 +70,11 @@ class EyesConnector extends EyesBase implements IEyesConnector, IBatchCloser {
         return this.serverConnector.render(renderRequests);
     }
 
+    @Override
+    public Boolean[] checkResourceStatus(String renderId, HashObject... hashes) {
+        return this.serverConnector.checkResourceStatus(renderId, hashes);
+    }
+
     @Override
     public List<RenderStatusResults> renderStatusById(String... renderIds) {
         return this.serverConnector.renderStatusById(renderIds);
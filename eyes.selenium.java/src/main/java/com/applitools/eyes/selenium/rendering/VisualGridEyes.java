@@ -25,6 +25,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
@@ -47,7 +48,7 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
     private IRenderingEyes.EyesListener listener;
     List<TestResultContainer> allTestResults = new ArrayList<>();
 
-    private String PROCESS_RESOURCES;
+    private PollingScript PROCESS_RESOURCES;
     private EyesWebDriver webDriver;
     private RenderingInfo renderingInfo;
     private IEyesConnector VGEyesConnector;
@@ -63,29 +64,10 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
     private Timer timer = null;
     private final List<PropertyData> properties = new ArrayList<>();
 
-    private static final String GET_ELEMENT_XPATH_JS =
-            "var el = arguments[0];" +
-                    "var xpath = '';" +
-                    "do {" +
-                    " var parent = el.parentElement;" +
-                    " var index = 1;" +
-                    " if (parent !== null) {" +
-                    "  var children = parent.children;" +
-                    "  for (var childIdx in children) {" +
-                    "    var child = children[childIdx];" +
-                    "    if (child === el) break;" +
-                    "    if (child.tagName === el.tagName) index++;" +
-                    "  }" +
-                    "}" +
-                    "xpath = '/' + el.tagName + '[' + index + ']' + xpath;" +
-                    " el = parent;" +
-                    "} while (el !== null);" +
-                    "return '/' + xpath;";
-
-
     {
         try {
-            PROCESS_RESOURCES = GeneralUtils.readToEnd(VisualGridEyes.class.getResourceAsStream("/processPageAndSerializePoll.js"));
+            String processPageScript = GeneralUtils.readToEnd(VisualGridEyes.class.getResourceAsStream("/processPageAndSerializePoll.js"));
+            PROCESS_RESOURCES = new PollingScript("__processPageAndSerializePoll", processPageScript);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -202,6 +184,10 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
         }
 
         logger.verbose(String.format("opening %d tests...", testList.size()));
+        ServiceExecutorConfiguration executorConfiguration = getConfigGetter().getServiceExecutorConfiguration();
+        if (executorConfiguration != null) {
+            this.renderingGridRunner.setServiceExecutorConfiguration(executorConfiguration);
+        }
         this.renderingGridRunner.open(this, renderingInfo);
         logger.verbose("done");
         return this.webDriver != null ? this.webDriver : webDriver;
@@ -442,59 +428,6 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
         return futureList;
     }
 
-    @Override
-    public synchronized ScoreTask getBestScoreTaskForCheck() {
-
-        int bestScore = -1;
-
-        ScoreTask currentBest = null;
-        for (RunningTest runningTest : testList) {
-
-            List<VisualGridTask> visualGridTaskList = runningTest.getVisualGridTaskList();
-
-            VisualGridTask visualGridTask;
-            //noinspection SynchronizationOnLocalVariableOrMethodParameter
-            synchronized (visualGridTaskList) {
-                if (visualGridTaskList.isEmpty()) continue;
-
-                visualGridTask = visualGridTaskList.get(0);
-                if (!runningTest.isTestOpen() || visualGridTask.getType() != VisualGridTask.TaskType.CHECK || !visualGridTask.isTaskReadyToCheck())
-                    continue;
-            }
-
-
-            ScoreTask scoreTask = runningTest.getScoreTaskObjectByType(VisualGridTask.TaskType.CHECK);
-
-            if (scoreTask == null) continue;
-
-            if (bestScore < scoreTask.getScore()) {
-                currentBest = scoreTask;
-                bestScore = scoreTask.getScore();
-            }
-        }
-        return currentBest;
-    }
-
-    @Override
-    public ScoreTask getBestScoreTaskForOpen() {
-        int bestMark = -1;
-        ScoreTask currentBest = null;
-        synchronized (testList) {
-            for (RunningTest runningTest : testList) {
-
-                ScoreTask currentScoreTask = runningTest.getScoreTaskObjectByType(VisualGridTask.TaskType.OPEN);
-                if (currentScoreTask == null) continue;
-
-                if (bestMark < currentScoreTask.getScore()) {
-                    bestMark = currentScoreTask.getScore();
-                    currentBest = currentScoreTask;
-
-                }
-            }
-        }
-        return currentBest;
-    }
-
     public void setServerUrl(String serverUrl) {
         this.serverUrl = serverUrl;
     }
@@ -530,9 +463,19 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
     }
 
     public void check(ICheckSettings checkSettings) {
+        checkAsync(checkSettings);
+    }
+
+    /**
+     * Submits the check to all the running tests without waiting for it.
+     *
+     * @return A future of the check of each running test, done when the check is matched or fails.
+     */
+    public Collection<Future<TestResultContainer>> checkAsync(ICheckSettings checkSettings) {
         logger.verbose("enter");
 
-        if (!validateEyes()) return;
+        Collection<Future<TestResultContainer>> checkFutures = new ArrayList<>();
+        if (!validateEyes()) return checkFutures;
 
         ArgumentGuard.notOfType(checkSettings, ICheckSettings.class, "checkSettings");
 
@@ -564,6 +507,7 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
             for (RunningTest runningTest : filteredTests) {
                 VisualGridTask checkVisualGridTask = runningTest.check((ICheckSettings) checkSettingsInternal, regionsXPaths, source);
                 visualGridTaskList.add(checkVisualGridTask);
+                checkFutures.add(checkVisualGridTask.getResultFuture());
             }
 
             logger.verbose("added check tasks  (" + checkSettingsInternal.toString() + ")");
@@ -595,6 +539,7 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
                 timer.cancel();
             }
         }
+        return checkFutures;
     }
 
     /******** BEGIN - PUBLIC FOR TESTING PURPOSES ONLY ********/
@@ -652,19 +597,21 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
         logger.verbose("Dom extraction starting   (" + checkSettingsInternal.toString() + ")");
         timer = new Timer("VG_Check_StopWatch", true);
         timer.schedule(new TimeoutTask(), DOM_EXTRACTION_TIMEOUT);
-        String resultAsString;
         ScriptResponse.Status status = null;
         ScriptResponse scriptResponse = null;
+        int pollsCount = 0;
         do {
-            resultAsString = (String) this.webDriver.executeScript(PROCESS_RESOURCES + "return __processPageAndSerializePoll();");
-            try {
-                scriptResponse = GeneralUtils.parseJsonToObject(resultAsString, ScriptResponse.class);
+            if (pollsCount > 0) {
+                Thread.sleep(PROCESS_RESOURCES.getPollInterval(pollsCount));
+            }
+            pollsCount++;
+            try (Reader result = PROCESS_RESOURCES.poll(this.webDriver, logger)) {
+                scriptResponse = GeneralUtils.parseJsonToObject(result, ScriptResponse.class);
                 logger.verbose("Dom extraction polling...");
                 status = scriptResponse.getStatus();
             } catch (IOException e) {
                 GeneralUtils.logExceptionStackTrace(logger, e);
             }
-            Thread.sleep(200);
         } while (status == ScriptResponse.Status.WIP && !isCheckTimerTimedOut.get());
         timer.cancel();
 
@@ -734,7 +681,7 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
             }
         }
         if (element != null) {
-            String xpath = (String) webDriver.executeScript(GET_ELEMENT_XPATH_JS, element);
+            String xpath = EyesSeleniumUtils.getElementsXPaths(webDriver, Collections.singletonList(element)).get(0);
             VisualGridSelector vgs = new VisualGridSelector(xpath, "target");
             checkSettings.setTargetSelector(vgs);
         }
@@ -893,15 +840,26 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
     }
 
     private List<VisualGridSelector[]> getRegionsXPaths(ICheckSettingsInternal csInternal) {
-        List<VisualGridSelector[]> result = new ArrayList<>();
         List<WebElementRegion>[] elementLists = collectSeleniumRegions(csInternal);
+        List<WebElement> elements = new ArrayList<>();
+        for (List<WebElementRegion> elementList : elementLists) {
+            for (WebElementRegion webElementRegion : elementList) {
+                if (webElementRegion.getElement() == null) continue;
+                elements.add(webElementRegion.getElement());
+            }
+        }
+
+        // The xpaths of all the elements are read with a single script call
+        //noinspection SpellCheckingInspection
+        List<String> allXPaths = EyesSeleniumUtils.getElementsXPaths(webDriver, elements);
+        List<VisualGridSelector[]> result = new ArrayList<>();
+        int index = 0;
         for (List<WebElementRegion> elementList : elementLists) {
             //noinspection SpellCheckingInspection
             List<VisualGridSelector> xpaths = new ArrayList<>();
             for (WebElementRegion webElementRegion : elementList) {
                 if (webElementRegion.getElement() == null) continue;
-                String xpath = (String) webDriver.executeScript(GET_ELEMENT_XPATH_JS, webElementRegion.getElement());
-                xpaths.add(new VisualGridSelector(xpath, webElementRegion.getRegion()));
+                xpaths.add(new VisualGridSelector(allXPaths.get(index++), webElementRegion.getRegion()));
             }
             result.add(xpaths.toArray(new VisualGridSelector[0]));
         }
@@ -1019,6 +977,7 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
         for (RunningTest runningTest : testList) {
             runningTest.abort(true, e);
         }
+        this.renderingGridRunner.close(this);
     }
 
     public void abortAsync() {
@@ -1036,6 +995,8 @@ public class VisualGridEyes implements ISeleniumEyes, IRenderingEyes {
             Future<TestResultContainer> task = runningTest.abort(false, null);
             tasks.add(task);
         }
+        // Wakes the closer to run the abort tasks
+        this.renderingGridRunner.close(this);
 
         return tasks;
     }
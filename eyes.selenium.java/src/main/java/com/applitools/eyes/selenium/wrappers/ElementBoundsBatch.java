@@ -0,0 +1,75 @@
+package com.applitools.eyes.selenium.wrappers;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.EyesSeleniumUtils;
+import com.applitools.utils.GeneralUtils;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.util.*;
+
+/**
+ * Gets the bounds of a group of elements, like the region elements of a check, with a single script call.
+ * The bounds are fetched when the bounds of one of the elements are first read, and are used by
+ * {@link EyesRemoteWebElement#getLocation()} and {@link EyesRemoteWebElement#getSize()} until the group is cleared.
+ */
+public class ElementBoundsBatch {
+
+    private final Logger logger;
+    private final EyesWebDriver driver;
+
+    private final Map<String, WebElement> pendingElements = new LinkedHashMap<>();
+    private final Map<String, Rectangle> fetchedBounds = new HashMap<>();
+
+    public ElementBoundsBatch(Logger logger, EyesWebDriver driver) {
+        this.logger = logger;
+        this.driver = driver;
+    }
+
+    /**
+     * Adds elements whose bounds are fetched together. Bounds already fetched for these elements are fetched again.
+     */
+    public synchronized void add(Collection<? extends WebElement> elements) {
+        for (WebElement element : elements) {
+            if (element instanceof RemoteWebElement) {
+                String elementId = ((RemoteWebElement) element).getId();
+                fetchedBounds.remove(elementId);
+                pendingElements.put(elementId, element);
+            }
+        }
+    }
+
+    /**
+     * @return The bounds of the element relative to the document, or {@code null} if the element isn't in the group
+     * or its bounds couldn't be fetched with a script.
+     */
+    public synchronized Rectangle getBounds(String elementId) {
+        if (pendingElements.containsKey(elementId)) {
+            fetchPendingBounds();
+        }
+        return fetchedBounds.get(elementId);
+    }
+
+    public synchronized void clear() {
+        pendingElements.clear();
+        fetchedBounds.clear();
+    }
+
+    private void fetchPendingBounds() {
+        List<String> elementIds = new ArrayList<>(pendingElements.keySet());
+        List<WebElement> elements = new ArrayList<>(pendingElements.values());
+        pendingElements.clear();
+        try {
+            List<Rectangle> bounds = EyesSeleniumUtils.getElementsBounds(driver, elements);
+            for (int i = 0; i < elementIds.size(); i++) {
+                fetchedBounds.put(elementIds.get(i), bounds.get(i));
+            }
+            logger.verbose(String.format("fetched the bounds of %d elements", elements.size()));
+        } catch (Exception e) {
+            // The elements might be in different frames, or scripts aren't supported, so each element gets its own bounds
+            logger.verbose("Failed fetching the bounds of " + elements.size() + " elements");
+            GeneralUtils.logExceptionStackTrace(logger, e);
+        }
+    }
+}
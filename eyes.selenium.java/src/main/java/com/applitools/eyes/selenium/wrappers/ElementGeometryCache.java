@@ -0,0 +1,203 @@
+package com.applitools.eyes.selenium.wrappers;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.exceptions.EyesDriverOperationException;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.util.*;
+
+/**
+ * Keeps the geometry and style of elements read during a check, so each element is read with a single script call.
+ * Outside a check every read runs the script. The geometry of an element is read again after it's scrolled or
+ * after its overflow is changed, and of all the elements after the overflow of a root element is changed.
+ * <p>
+ * Scroll positions aren't kept, since the page can be scrolled by scripts which don't go through the element.
+ */
+public class ElementGeometryCache {
+
+    // Returns [clientWidth, clientHeight, scrollWidth, scrollHeight, border-left-width, border-top-width,
+    // border-right-width, border-bottom-width, display, style.overflow]
+    private static final String JS_GET_ELEMENT_GEOMETRY =
+            "var elem = arguments[0];" +
+                    "var retVal = [elem.clientWidth, elem.clientHeight, elem.scrollWidth, elem.scrollHeight];" +
+                    "var style = window.getComputedStyle ? window.getComputedStyle(elem, null) : elem.currentStyle;" +
+                    "var props = ['border-left-width', 'border-top-width', 'border-right-width', 'border-bottom-width', 'display'];" +
+                    "for (var i = 0; i < props.length; i++) {" +
+                    " var value = !style ? null : style.getPropertyValue ? style.getPropertyValue(props[i]) : style[props[i]];" +
+                    " retVal.push(value === undefined || value === null ? null : String(value));" +
+                    "}" +
+                    "retVal.push(elem.style.overflow);" +
+                    "return retVal;";
+
+    private final Logger logger;
+    private final EyesWebDriver driver;
+
+    private final Map<String, ElementGeometry> geometries = new HashMap<>();
+    private boolean isActive = false;
+    private int readsCount = 0;
+
+    /**
+     * The geometry and style of an element. Sizes are in CSS pixels.
+     */
+    public static class ElementGeometry {
+        private static final Set<String> STYLE_PROPERTIES = new HashSet<>(Arrays.asList(
+                "border-left-width", "border-top-width", "border-right-width", "border-bottom-width", "display"));
+
+        private final double clientWidth;
+        private final double clientHeight;
+        private final double scrollWidth;
+        private final double scrollHeight;
+        private final String[] borderWidths;
+        private final String display;
+        private final String overflow;
+
+        private ElementGeometry(List<?> values) {
+            clientWidth = toDouble(values.get(0));
+            clientHeight = toDouble(values.get(1));
+            scrollWidth = toDouble(values.get(2));
+            scrollHeight = toDouble(values.get(3));
+            borderWidths = new String[]{toString(values.get(4)), toString(values.get(5)),
+                    toString(values.get(6)), toString(values.get(7))};
+            display = toString(values.get(8));
+            overflow = toString(values.get(9));
+        }
+
+        private static double toDouble(Object value) {
+            return value == null ? 0 : Double.parseDouble(value.toString());
+        }
+
+        private static String toString(Object value) {
+            return value == null ? null : value.toString();
+        }
+
+        public double getClientWidth() {
+            return clientWidth;
+        }
+
+        public double getClientHeight() {
+            return clientHeight;
+        }
+
+        public double getScrollWidth() {
+            return scrollWidth;
+        }
+
+        public double getScrollHeight() {
+            return scrollHeight;
+        }
+
+        public String getBorderLeftWidth() {
+            return borderWidths[0];
+        }
+
+        public String getBorderTopWidth() {
+            return borderWidths[1];
+        }
+
+        public String getBorderRightWidth() {
+            return borderWidths[2];
+        }
+
+        public String getBorderBottomWidth() {
+            return borderWidths[3];
+        }
+
+        public String getDisplay() {
+            return display;
+        }
+
+        public String getOverflow() {
+            return overflow;
+        }
+
+        /**
+         * @return true if the computed style property is read with the geometry.
+         */
+        public static boolean isGeometryStyle(String propStyle) {
+            return STYLE_PROPERTIES.contains(propStyle);
+        }
+
+        /**
+         * @param propStyle A computed style property.
+         * @return The value of the property if it's part of the geometry, or {@code null}.
+         */
+        public String getComputedStyle(String propStyle) {
+            switch (propStyle) {
+                case "border-left-width":
+                    return getBorderLeftWidth();
+                case "border-top-width":
+                    return getBorderTopWidth();
+                case "border-right-width":
+                    return getBorderRightWidth();
+                case "border-bottom-width":
+                    return getBorderBottomWidth();
+                case "display":
+                    return getDisplay();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public ElementGeometryCache(Logger logger, EyesWebDriver driver) {
+        this.logger = logger;
+        this.driver = driver;
+    }
+
+    /**
+     * Starts keeping the geometry of elements until {@link #end()}.
+     */
+    public synchronized void begin() {
+        geometries.clear();
+        readsCount = 0;
+        isActive = true;
+    }
+
+    public synchronized void end() {
+        if (isActive) {
+            logger.verbose(String.format("read the geometry of elements %d times during the check", readsCount));
+        }
+        geometries.clear();
+        isActive = false;
+    }
+
+    /**
+     * @return The geometry of the element, read from the page unless it was already read during this check.
+     */
+    public ElementGeometry get(RemoteWebElement element) {
+        String elementId = element.getId();
+        synchronized (this) {
+            ElementGeometry geometry = geometries.get(elementId);
+            if (geometry != null) {
+                return geometry;
+            }
+        }
+
+        Object retVal = driver.executeScript(JS_GET_ELEMENT_GEOMETRY, element);
+        if (!(retVal instanceof List) || ((List<?>) retVal).size() != 10) {
+            throw new EyesDriverOperationException("Failed getting the geometry of element " + elementId);
+        }
+        ElementGeometry geometry = new ElementGeometry((List<?>) retVal);
+        synchronized (this) {
+            readsCount++;
+            if (isActive) {
+                geometries.put(elementId, geometry);
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * Reads the geometry of the element again on its next use, for example after it was scrolled.
+     */
+    public synchronized void invalidate(String elementId) {
+        geometries.remove(elementId);
+    }
+
+    /**
+     * Reads the geometry of all the elements again on their next use, for example after the overflow of a root element changed.
+     */
+    public synchronized void invalidateAll() {
+        geometries.clear();
+    }
+}
@@ -12,7 +12,6 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Coordinates;
 import org.openqa.selenium.remote.*;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +21,6 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     private final Logger logger;
     private final EyesWebDriver eyesDriver;
     private final RemoteWebElement webElement;
-    private Method executeMethod;
 
     private final String JS_GET_COMPUTED_STYLE_FORMATTED_STR =
             "var elem = arguments[0]; " +
@@ -42,15 +40,6 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     private final String JS_GET_SCROLL_TOP =
             "return arguments[0].scrollTop;";
 
-    private final String JS_GET_SCROLL_WIDTH =
-            "return arguments[0].scrollWidth;";
-
-    private final String JS_GET_SCROLL_HEIGHT =
-            "return arguments[0].scrollHeight;";
-
-    private final String JS_GET_SCROLL_SIZE =
-            "return arguments[0].scrollWidth+ ';' + arguments[0].scrollHeight;";
-
     private final String JS_SCROLL_TO_FORMATTED_STR =
             "arguments[0].scrollLeft = %d;" +
                     "arguments[0].scrollTop = %d;";
@@ -58,44 +47,9 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     private final String JS_GET_SCROLL_POSITION =
             "return arguments[0].scrollLeft + ';' + arguments[0].scrollTop;";
 
-    private final String JS_GET_OVERFLOW =
-            "return arguments[0].style.overflow;";
-
     private final String JS_SET_OVERFLOW_FORMATTED_STR =
             "arguments[0].style.overflow = '%s'";
 
-    private final String JS_GET_CLIENT_WIDTH = "return arguments[0].clientWidth;";
-    private final String JS_GET_CLIENT_HEIGHT = "return arguments[0].clientHeight;";
-
-    private final String JS_GET_CLIENT_SIZE = "return arguments[0].clientWidth + ';' + arguments[0].clientHeight;";
-
-    private final String JS_GET_BORDER_WIDTHS_ARR =
-            "var retVal = retVal || [];" +
-                    "if (window.getComputedStyle) { " +
-                    "var computedStyle = window.getComputedStyle(elem, null);" +
-                    "retVal.push(computedStyle.getPropertyValue('border-left-width'));" +
-                    "retVal.push(computedStyle.getPropertyValue('border-top-width'));" +
-                    "retVal.push(computedStyle.getPropertyValue('border-right-width')); " +
-                    "retVal.push(computedStyle.getPropertyValue('border-bottom-width'));" +
-                    "} else if (elem.currentStyle) { " +
-                    "retVal.push(elem.currentStyle['border-left-width']);" +
-                    "retVal.push(elem.currentStyle['border-top-width']);" +
-                    "retVal.push(elem.currentStyle['border-right-width']);" +
-                    "retVal.push(elem.currentStyle['border-bottom-width']);" +
-                    "} else { " +
-                    "retVal.push(0,0,0,0);" +
-                    "}";
-
-    @SuppressWarnings("unused")
-    private final String JS_GET_BORDER_WIDTHS =
-            JS_GET_BORDER_WIDTHS_ARR + "return retVal;";
-
-    private final String JS_GET_SIZE_AND_BORDER_WIDTHS =
-            "var elem = arguments[0]; " +
-                    "var retVal = [elem.clientWidth, elem.clientHeight]; " +
-                    JS_GET_BORDER_WIDTHS_ARR +
-                    "return retVal;";
-
     private PositionProvider positionProvider;
 
     public EyesRemoteWebElement(Logger logger, EyesWebDriver eyesDriver, WebElement webElement) {
@@ -116,32 +70,31 @@ public class EyesRemoteWebElement extends RemoteWebElement {
 
         setParent(eyesDriver.getRemoteWebDriver());
         setId(this.webElement.getId());
-
-        try {
-            // We can't call the execute method directly because it is
-            // protected, and we must override this function since we don't
-            // have the "parent" and "id" of the aggregated object.
-            executeMethod = RemoteWebElement.class.getDeclaredMethod("execute",
-                    String.class, Map.class);
-            executeMethod.setAccessible(true);
-        } catch (NoSuchMethodException e) {
-            throw new EyesException("Failed to find 'execute' method!");
-        }
     }
 
     public Region getBounds() {
-        Point weLocation = webElement.getLocation();
-        int left = weLocation.getX();
-        int top = weLocation.getY();
+        Rectangle batchBounds = eyesDriver.getElementBoundsBatch().getBounds(getId());
+        int left;
+        int top;
         int width = 0;
         int height = 0;
-
-        try {
-            Dimension weSize = webElement.getSize();
-            width = weSize.getWidth();
-            height = weSize.getHeight();
-        } catch (Exception ex) {
-            // Not supported on all platforms.
+        if (batchBounds != null) {
+            left = batchBounds.getX();
+            top = batchBounds.getY();
+            width = batchBounds.getWidth();
+            height = batchBounds.getHeight();
+        } else {
+            Point weLocation = webElement.getLocation();
+            left = weLocation.getX();
+            top = weLocation.getY();
+
+            try {
+                Dimension weSize = webElement.getSize();
+                width = weSize.getWidth();
+                height = weSize.getHeight();
+            } catch (Exception ex) {
+                // Not supported on all platforms.
+            }
         }
 
         if (left < 0) {
@@ -165,6 +118,12 @@ public class EyesRemoteWebElement extends RemoteWebElement {
      * @return The value of the style property of the element, or {@code null}.
      */
     public String getComputedStyle(String propStyle) {
+        if (ElementGeometryCache.ElementGeometry.isGeometryStyle(propStyle)) {
+            String value = getGeometry().getComputedStyle(propStyle);
+            if (value != null) {
+                return value;
+            }
+        }
         String scriptToExec = String.format
                 (JS_GET_COMPUTED_STYLE_FORMATTED_STR, propStyle);
         return (String) eyesDriver.executeScript(scriptToExec, this);
@@ -204,24 +163,22 @@ public class EyesRemoteWebElement extends RemoteWebElement {
      * @return The value of the scrollWidth property of the element.
      */
     public int getScrollWidth() {
-        return (int) Math.ceil(Double.parseDouble(eyesDriver.executeScript(JS_GET_SCROLL_WIDTH,
-                this).toString()));
+        return (int) Math.ceil(getGeometry().getScrollWidth());
     }
 
     /**
      * @return The value of the scrollHeight property of the element.
      */
     public int getScrollHeight() {
-        return (int) Math.ceil(Double.parseDouble(eyesDriver.executeScript(JS_GET_SCROLL_HEIGHT,
-                this).toString()));
+        return (int) Math.ceil(getGeometry().getScrollHeight());
     }
 
     public int getClientWidth() {
-        return (int) Math.ceil(Double.parseDouble(eyesDriver.executeScript(JS_GET_CLIENT_WIDTH, this).toString()));
+        return (int) Math.ceil(getGeometry().getClientWidth());
     }
 
     public int getClientHeight() {
-        return (int) Math.ceil(Double.parseDouble(eyesDriver.executeScript(JS_GET_CLIENT_HEIGHT, this).toString()));
+        return (int) Math.ceil(getGeometry().getClientHeight());
     }
 
     /**
@@ -258,6 +215,8 @@ public class EyesRemoteWebElement extends RemoteWebElement {
      * @return the current location after scroll.
      */
     public Location scrollTo(Location location) {
+        // Scrolling might load more content into the element
+        eyesDriver.getElementGeometryCache().invalidate(getId());
         Object position = eyesDriver.executeScript(String.format(JS_SCROLL_TO_FORMATTED_STR,
                 location.getX(), location.getY()) + JS_GET_SCROLL_POSITION, this);
         return parseLocationString(position);
@@ -277,7 +236,7 @@ public class EyesRemoteWebElement extends RemoteWebElement {
      * @return The overflow of the element.
      */
     public String getOverflow() {
-        return eyesDriver.executeScript(JS_GET_OVERFLOW, this).toString();
+        return String.valueOf(getGeometry().getOverflow());
     }
 
     /**
@@ -534,6 +493,11 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     @Override
     @SuppressWarnings({"unchecked"})
     public Point getLocation() {
+        Rectangle batchBounds = eyesDriver.getElementBoundsBatch().getBounds(getId());
+        if (batchBounds != null) {
+            return batchBounds.getPoint();
+        }
+
         // This is workaround: Selenium currently just removes the value
         // after the decimal dot (instead of rounding), which causes
         // incorrect locations to be returned when using FF.
@@ -556,6 +520,11 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     @Override
     @SuppressWarnings({"unchecked"})
     public Dimension getSize() {
+        Rectangle batchBounds = eyesDriver.getElementBoundsBatch().getBounds(getId());
+        if (batchBounds != null) {
+            return batchBounds.getDimension();
+        }
+
         // This is workaround: Selenium currently just removes the value
         // after the decimal dot (instead of rounding up), which might cause
         // incorrect size to be returned . So, we copied the code from the
@@ -576,16 +545,10 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     }
 
     public RectangleSize getClientSize() {
-        Object retVal = eyesDriver.executeScript(JS_GET_CLIENT_SIZE, this);
-        if (retVal == null) {
-            return null;
-        }
-        @SuppressWarnings("unchecked") String sizeStr = (String) retVal;
-        sizeStr = sizeStr.replace("px", "");
-        String[] parts = sizeStr.split(";");
+        ElementGeometryCache.ElementGeometry geometry = getGeometry();
         return new RectangleSize(
-                Math.round(Float.parseFloat(parts[0])),
-                Math.round(Float.parseFloat(parts[1])));
+                (int) Math.round(geometry.getClientWidth()),
+                (int) Math.round(geometry.getClientHeight()));
     }
 
     @Override
@@ -607,15 +570,28 @@ public class EyesRemoteWebElement extends RemoteWebElement {
     }
 
     public SizeAndBorders getSizeAndBorders() {
-        Object retVal = eyesDriver.executeScript(JS_GET_SIZE_AND_BORDER_WIDTHS, this);
-        @SuppressWarnings("unchecked") List<Object> esAsList = (List<Object>) retVal;
+        ElementGeometryCache.ElementGeometry geometry = getGeometry();
         return new SizeAndBorders(
-                ((Long) esAsList.get(0)).intValue(),
-                ((Long) esAsList.get(1)).intValue(),
-                Math.round(Float.parseFloat(((String) esAsList.get(2)).replace("px", ""))),
-                Math.round(Float.parseFloat(((String) esAsList.get(3)).replace("px", ""))),
-                Math.round(Float.parseFloat(((String) esAsList.get(4)).replace("px", ""))),
-                Math.round(Float.parseFloat(((String) esAsList.get(5)).replace("px", ""))));
+                (int) geometry.getClientWidth(),
+                (int) geometry.getClientHeight(),
+                parsePixels(geometry.getBorderLeftWidth()),
+                parsePixels(geometry.getBorderTopWidth()),
+                parsePixels(geometry.getBorderRightWidth()),
+                parsePixels(geometry.getBorderBottomWidth()));
+    }
+
+    private static int parsePixels(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        return Math.round(Float.parseFloat(value.replace("px", "")));
+    }
+
+    /**
+     * @return The geometry and style of the element, read once per check.
+     */
+    private ElementGeometryCache.ElementGeometry getGeometry() {
+        return eyesDriver.getElementGeometryCache().get(this);
     }
 
     public Rectangle getBoundingClientRect() {
@@ -634,15 +610,9 @@ public class EyesRemoteWebElement extends RemoteWebElement {
      * @return The value of the scrollHeight property of the element.
      */
     public RectangleSize getScrollSize() {
-        Object retVal = eyesDriver.executeScript(JS_GET_SCROLL_SIZE, this);
-        if (retVal == null) {
-            return null;
-        }
-        @SuppressWarnings("unchecked") String sizeStr = (String) retVal;
-        sizeStr = sizeStr.replace("px", "");
-        String[] parts = sizeStr.split(";");
+        ElementGeometryCache.ElementGeometry geometry = getGeometry();
         return new RectangleSize(
-                Math.round(Float.parseFloat(parts[0])),
-                Math.round(Float.parseFloat(parts[1])));
+                (int) Math.round(geometry.getScrollWidth()),
+                (int) Math.round(geometry.getScrollHeight()));
     }
 }
@@ -8,7 +8,7 @@ import com.applitools.eyes.positioning.PositionMemento;
 import com.applitools.eyes.positioning.PositionProvider;
 import com.applitools.eyes.selenium.Borders;
 import com.applitools.eyes.selenium.SeleniumJavaScriptExecutor;
-import com.applitools.eyes.selenium.SizeAndBorders;
+import com.applitools.eyes.selenium.exceptions.EyesDriverOperationException;
 import com.applitools.eyes.selenium.frames.Frame;
 import com.applitools.eyes.selenium.frames.FrameChain;
 import com.applitools.eyes.selenium.positioning.ScrollPositionProvider;
@@ -33,6 +33,20 @@ public class EyesTargetLocator implements WebDriver.TargetLocator {
 
     private PositionMemento defaultContentPositionMemento;
 
+    // Returns [left, top, width, height] of the bounding client rect, [clientWidth, clientHeight],
+    // [scrollLeft, scrollTop] and the [left, top, right, bottom] border widths of the frame element
+    private static final String JS_GET_FRAME_METADATA =
+            "var frame = arguments[0];" +
+                    "var r = frame.getBoundingClientRect();" +
+                    "var retVal = [r.left, r.top, r.width, r.height, frame.clientWidth, frame.clientHeight, frame.scrollLeft, frame.scrollTop];" +
+                    "var style = window.getComputedStyle ? window.getComputedStyle(frame, null) : frame.currentStyle;" +
+                    "var borders = ['border-left-width', 'border-top-width', 'border-right-width', 'border-bottom-width'];" +
+                    "for (var i = 0; i < borders.length; i++) {" +
+                    " var value = !style ? null : style.getPropertyValue ? style.getPropertyValue(borders[i]) : style[borders[i]];" +
+                    " retVal.push(value ? parseFloat(value) || 0 : 0);" +
+                    "}" +
+                    "return retVal;";
+
     /**
      * Initialized a new EyesTargetLocator object.
      * @param driver        The WebDriver from which the targetLocator was received.
@@ -59,24 +73,39 @@ public class EyesTargetLocator implements WebDriver.TargetLocator {
 
         ArgumentGuard.notNull(targetFrame, "targetFrame");
 
-        EyesRemoteWebElement eyesFrame = (targetFrame instanceof EyesRemoteWebElement) ?
-                (EyesRemoteWebElement) targetFrame : new EyesRemoteWebElement(logger, driver, targetFrame);
-
-        Point pl = targetFrame.getLocation();
-        Dimension ds = targetFrame.getSize();
+        // All the metadata of the frame is read with a single script call
+        Object retVal = driver.executeScript(JS_GET_FRAME_METADATA, targetFrame);
+        if (!(retVal instanceof List) || ((List<?>) retVal).size() != 12) {
+            throw new EyesDriverOperationException("Failed getting the metadata of the frame");
+        }
+        List<?> metadata = (List<?>) retVal;
 
-        SizeAndBorders sizeAndBorders = eyesFrame.getSizeAndBorders();
-        Borders borders = sizeAndBorders.getBorders();
-        RectangleSize frameInnerSize = sizeAndBorders.getSize();
-        Rectangle bounds = eyesFrame.getBoundingClientRect();
+        Rectangle bounds = new Rectangle(
+                (int) Math.round(getDouble(metadata, 0)),
+                (int) Math.round(getDouble(metadata, 1)),
+                (int) Math.round(getDouble(metadata, 3)),
+                (int) Math.round(getDouble(metadata, 2)));
         Region boundsAsRegion = new Region(bounds.x, bounds.y, bounds.width, bounds.height);
+        RectangleSize frameOuterSize = new RectangleSize(
+                (int) Math.ceil(getDouble(metadata, 2)),
+                (int) Math.ceil(getDouble(metadata, 3)));
+        RectangleSize frameInnerSize = new RectangleSize(
+                (int) getDouble(metadata, 4),
+                (int) getDouble(metadata, 5));
+        Location originalLocation = new Location(
+                (int) Math.ceil(getDouble(metadata, 6)),
+                (int) Math.ceil(getDouble(metadata, 7)));
+        Borders borders = new Borders(
+                (int) Math.round(getDouble(metadata, 8)),
+                (int) Math.round(getDouble(metadata, 9)),
+                (int) Math.round(getDouble(metadata, 10)),
+                (int) Math.round(getDouble(metadata, 11)));
 
         Location contentLocation = new Location(bounds.getX() + borders.getLeft(), bounds.getY() + borders.getTop());
-        Location originalLocation = eyesFrame.getScrollLocation();// ScrollPositionProvider.getCurrentPosition(jsExecutor, driver.findElement(By.tagName("html")));
 
         Frame frame = new Frame(logger, targetFrame,
                 contentLocation,
-                new RectangleSize(ds.getWidth(), ds.getHeight()),
+                frameOuterSize,
                 frameInnerSize,
                 originalLocation,
                 boundsAsRegion,
@@ -86,6 +115,11 @@ public class EyesTargetLocator implements WebDriver.TargetLocator {
         driver.getFrameChain().push(frame);
     }
 
+    private static double getDouble(List<?> values, int index) {
+        Object value = values.get(index);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
     public WebDriver frame(int index) {
         logger.verbose(String.format("(%d)", index));
         // Finding the target element so and reporting it using onWillSwitch.
@@ -200,17 +234,46 @@ public class EyesTargetLocator implements WebDriver.TargetLocator {
     @SuppressWarnings("UnusedReturnValue")
     public WebDriver frames(FrameChain frameChain) {
         logger.verbose("enter");
-        this.defaultContent();
-        for (Frame frame : frameChain) {
-            this.frame(frame.getReference());
-            logger.verbose(String.format("frame.Reference: %s ; frame.ScrollRootElement: %s", frame.getReference(), frame.getScrollRootElement()));
-            Frame newFrame = driver.getFrameChain().peek();
+        FrameChain currentFrameChain = driver.getFrameChain();
+        int commonFramesCount = getCommonFramesCount(currentFrameChain, frameChain);
+        if (commonFramesCount == 0) {
+            this.defaultContent();
+        } else {
+            // Only the frames which are not in the target chain are left
+            logger.verbose(String.format("keeping %d common frames, leaving %d frames",
+                    commonFramesCount, currentFrameChain.size() - commonFramesCount));
+            while (currentFrameChain.size() > commonFramesCount) {
+                currentFrameChain.pop();
+                parentFrame(logger, targetLocator, currentFrameChain);
+            }
+        }
+
+        for (int i = 0; i < frameChain.size(); i++) {
+            Frame frame = frameChain.getAt(i);
+            if (i >= commonFramesCount) {
+                this.frame(frame.getReference());
+                logger.verbose(String.format("frame.Reference: %s ; frame.ScrollRootElement: %s", frame.getReference(), frame.getScrollRootElement()));
+            }
+            Frame newFrame = driver.getFrameChain().getAt(i);
             newFrame.setScrollRootElement(frame.getScrollRootElement());
         }
         logger.verbose("Done switching into nested frames!");
         return driver;
     }
 
+    /**
+     * @return The number of frames at the start of both frame chains which are the same frames.
+     */
+    static int getCommonFramesCount(FrameChain frameChain1, FrameChain frameChain2) {
+        int maxCount = Math.min(frameChain1.size(), frameChain2.size());
+        int count = 0;
+        while (count < maxCount &&
+                frameChain1.getAt(count).getReference().equals(frameChain2.getAt(count).getReference())) {
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Switches into every frame in the list. This is used as way to
      * switch into nested frames in a single call.
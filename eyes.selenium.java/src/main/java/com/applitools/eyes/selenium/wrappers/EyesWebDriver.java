@@ -18,7 +18,9 @@ import org.openqa.selenium.internal.*;
 import org.openqa.selenium.remote.*;
 
 import java.awt.image.BufferedImage;
+import java.net.URL;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An SeleniumEyes implementation of the interfaces implemented by
@@ -31,12 +33,24 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         FindsByName, FindsByTagName, FindsByXPath, JavascriptExecutor,
         SearchContext, TakesScreenshot, WebDriver, HasTouchScreen, IEyesJsExecutor {
 
+    // The most elements kept for id lookups, the least recently used are dropped first
+    static final int MAX_ELEMENT_IDS = 1000;
+
+    // Returns [user agent, device pixel ratio]
+    private static final String JS_GET_ENVIRONMENT = "return [navigator.userAgent, window.devicePixelRatio];";
+
     private final Logger logger;
     private final SeleniumEyes eyes;
     private final RemoteWebDriver driver;
     private final TouchScreen touch;
     private final Map<String, WebElement> elementsIds;
     private final FrameChain frameChain;
+    private final ElementBoundsBatch elementBoundsBatch;
+    private final ElementGeometryCache elementGeometryCache;
+    private final AtomicInteger commandsCount = new AtomicInteger();
+
+    // The user agent and device pixel ratio, kept until the page navigates or the browser is resized
+    private List<?> environment = null;
 
     private ImageRotation rotation;
     private RectangleSize defaultContentViewportSize;
@@ -96,8 +110,15 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         this.eyes = eyes;
         this.driver = driver;
 
-        this.elementsIds = new HashMap<>();
+        this.elementsIds = new LinkedHashMap<String, WebElement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WebElement> eldest) {
+                return size() > MAX_ELEMENT_IDS;
+            }
+        };
         this.frameChain = new FrameChain(logger);
+        this.elementBoundsBatch = new ElementBoundsBatch(logger, this);
+        this.elementGeometryCache = new ElementGeometryCache(logger, this);
         this.defaultContentViewportSize = null;
 
         // initializing "touch" if possible
@@ -129,6 +150,14 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         return touch;
     }
 
+    public ElementBoundsBatch getElementBoundsBatch() {
+        return elementBoundsBatch;
+    }
+
+    public ElementGeometryCache getElementGeometryCache() {
+        return elementGeometryCache;
+    }
+
     /**
      *
      * @return The image rotation model.
@@ -146,6 +175,8 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
 
     public void get(String s) {
         frameChain.clear();
+        clearElementIds();
+        clearEnvironment();
         driver.get(s);
     }
 
@@ -158,6 +189,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
     }
 
     public List<WebElement> findElements(By by) {
+        commandsCount.incrementAndGet();
         List<WebElement> foundWebElementsList = driver.findElements(by);
 
         // This list will contain the found elements wrapped with our class.
@@ -184,6 +216,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
     }
 
     public WebElement findElement(By by) {
+        commandsCount.incrementAndGet();
         WebElement webElement = driver.findElement(by);
         if ((webElement instanceof RemoteWebElement) && !(webElement instanceof EyesRemoteWebElement)) {
             webElement = new EyesRemoteWebElement(logger, this, webElement);
@@ -209,6 +242,13 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         return elementsIds;
     }
 
+    /**
+     * Clears the IDs of found elements, which are stale after the page navigates.
+     */
+    public void clearElementIds() {
+        elementsIds.clear();
+    }
+
     public String getPageSource() {
         return driver.getPageSource();
     }
@@ -234,7 +274,43 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
     }
 
     public Navigation navigate() {
-        return driver.navigate();
+        final Navigation navigation = driver.navigate();
+        return new Navigation() {
+            @Override
+            public void back() {
+                clearElementIds();
+                clearEnvironment();
+                navigation.back();
+            }
+
+            @Override
+            public void forward() {
+                clearElementIds();
+                clearEnvironment();
+                navigation.forward();
+            }
+
+            @Override
+            public void to(String url) {
+                clearElementIds();
+                clearEnvironment();
+                navigation.to(url);
+            }
+
+            @Override
+            public void to(URL url) {
+                clearElementIds();
+                clearEnvironment();
+                navigation.to(url);
+            }
+
+            @Override
+            public void refresh() {
+                clearElementIds();
+                clearEnvironment();
+                navigation.refresh();
+            }
+        };
     }
 
     public Options manage() {
@@ -334,6 +410,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
             }
         }
 
+        commandsCount.incrementAndGet();
         @SuppressWarnings("UnnecessaryLocalVariable")
         Object result = driver.executeScript(script, args);
         return result;
@@ -357,6 +434,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
             }
         }
 
+        commandsCount.incrementAndGet();
         return driver.executeAsyncScript(script, args);
     }
 
@@ -414,6 +492,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
     public <X> X getScreenshotAs(OutputType<X> xOutputType)
             throws WebDriverException {
         // Get the image as base64.
+        commandsCount.incrementAndGet();
         String screenshot64 = driver.getScreenshotAs(OutputType.BASE64);
         BufferedImage screenshot = ImageUtils.imageFromBase64(screenshot64);
         screenshot = normalizeRotation(logger, driver, screenshot, rotation);
@@ -427,7 +506,7 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         String userAgent = null;
         try {
             if (!EyesSeleniumUtils.isMobileDevice(driver)) {
-                userAgent = (String) this.driver.executeScript("return navigator.userAgent");
+                userAgent = (String) getEnvironment().get(0);
                 logger.verbose("user agent: " + userAgent);
             } else {
                 logger.verbose("no user agent for native apps");
@@ -440,6 +519,39 @@ public class EyesWebDriver implements HasCapabilities, HasInputDevices,
         return userAgent;
     }
 
+    /**
+     * @return The device pixel ratio of the browser.
+     */
+    public float getDevicePixelRatio() {
+        return Float.parseFloat(String.valueOf(getEnvironment().get(1)));
+    }
+
+    /**
+     * Reads the user agent and device pixel ratio again on their next use, for example after the browser was resized.
+     */
+    public synchronized void clearEnvironment() {
+        environment = null;
+    }
+
+    private synchronized List<?> getEnvironment() {
+        if (environment == null) {
+            commandsCount.incrementAndGet();
+            Object retVal = driver.executeScript(JS_GET_ENVIRONMENT);
+            if (!(retVal instanceof List) || ((List<?>) retVal).size() != 2) {
+                throw new EyesException("Failed getting the browser environment");
+            }
+            environment = (List<?>) retVal;
+        }
+        return environment;
+    }
+
+    /**
+     * @return The number of commands sent to the browser through this driver, like scripts, element lookups and screenshots.
+     */
+    public int getCommandsCount() {
+        return commandsCount.get();
+    }
+
     private String getSessionId() {
         // extract remote web driver information
         return driver.getSessionId().toString();
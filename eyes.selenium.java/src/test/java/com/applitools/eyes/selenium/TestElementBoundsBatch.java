@@ -0,0 +1,107 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.wrappers.ElementBoundsBatch;
+import com.applitools.eyes.selenium.wrappers.EyesWebDriver;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestElementBoundsBatch extends ReportingTestSuite {
+
+    public TestElementBoundsBatch() {
+        super.setGroupName("selenium");
+    }
+
+    @Test
+    public void testBoundsOfAllElementsAreFetchedTogether() {
+        BoundsPage page = new BoundsPage(false);
+        ElementBoundsBatch batch = new ElementBoundsBatch(new Logger(), page.driver);
+        batch.add(Arrays.asList(createElement("a"), createElement("b")));
+
+        Assert.assertEquals(batch.getBounds("b"), new Rectangle(21, 200, 15, 25));
+        Assert.assertEquals(batch.getBounds("a"), new Rectangle(10, 100, 15, 25));
+        Assert.assertEquals(page.scriptCallsCount, 1);
+        Assert.assertNull(batch.getBounds("c"));
+    }
+
+    @Test
+    public void testAddedElementIsFetchedAgain() {
+        BoundsPage page = new BoundsPage(false);
+        ElementBoundsBatch batch = new ElementBoundsBatch(new Logger(), page.driver);
+        batch.add(Collections.singletonList(createElement("a")));
+        batch.getBounds("a");
+        batch.add(Collections.singletonList(createElement("a")));
+
+        Assert.assertEquals(batch.getBounds("a"), new Rectangle(10, 100, 15, 25));
+        Assert.assertEquals(page.scriptCallsCount, 2);
+    }
+
+    @Test
+    public void testFailedScriptLeavesElementsWithoutBounds() {
+        BoundsPage page = new BoundsPage(true);
+        ElementBoundsBatch batch = new ElementBoundsBatch(new Logger(), page.driver);
+        batch.add(Arrays.asList(createElement("a"), createElement("b")));
+
+        Assert.assertNull(batch.getBounds("a"));
+        Assert.assertNull(batch.getBounds("b"));
+        Assert.assertEquals(page.scriptCallsCount, 1);
+    }
+
+    @Test
+    public void testClear() {
+        BoundsPage page = new BoundsPage(false);
+        ElementBoundsBatch batch = new ElementBoundsBatch(new Logger(), page.driver);
+        batch.add(Collections.singletonList(createElement("a")));
+        batch.clear();
+
+        Assert.assertNull(batch.getBounds("a"));
+        Assert.assertEquals(page.scriptCallsCount, 0);
+    }
+
+    public static RemoteWebElement createElement(String id) {
+        RemoteWebElement element = mock(RemoteWebElement.class);
+        when(element.getId()).thenReturn(id);
+        return element;
+    }
+
+    /**
+     * A page whose elements are at 10.4 * (index + 1), 100 * (index + 1), sized 24.2 x 14.6.
+     */
+    private static class BoundsPage {
+        private final EyesWebDriver driver;
+        private int scriptCallsCount = 0;
+
+        BoundsPage(final boolean shouldFail) {
+            driver = mock(EyesWebDriver.class, new Answer<Object>() {
+                @Override
+                public Object answer(InvocationOnMock invocation) {
+                    if (!invocation.getMethod().getName().equals("executeScript")) {
+                        return null;
+                    }
+                    scriptCallsCount++;
+                    if (shouldFail) {
+                        throw new WebDriverException("Elements are in different frames");
+                    }
+                    List<?> elements = (List<?>) invocation.getArguments()[3];
+                    List<List<Object>> result = new ArrayList<>();
+                    for (int i = 0; i < elements.size(); i++) {
+                        result.add(Arrays.<Object>asList(null, 10.4 * (i + 1), 100 * (i + 1), 24.2, 14.6));
+                    }
+                    return result;
+                }
+            });
+        }
+    }
+}
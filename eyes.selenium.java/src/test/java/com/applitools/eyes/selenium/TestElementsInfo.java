@@ -0,0 +1,66 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.selenium.exceptions.EyesDriverOperationException;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestElementsInfo extends ReportingTestSuite {
+
+    public TestElementsInfo() {
+        super.setGroupName("selenium");
+    }
+
+    @Test
+    public void testGetElementsXPaths() {
+        List<WebElement> elements = Arrays.asList(mock(WebElement.class), mock(WebElement.class));
+        JavascriptExecutor executor = mock(JavascriptExecutor.class);
+        when(executor.executeScript(anyString(), eq(true), eq(false), eq(elements))).thenReturn(Arrays.asList(
+                Collections.singletonList("/HTML[1]/BODY[1]/DIV[1]"),
+                Collections.singletonList("/HTML[1]/BODY[1]/DIV[2]")));
+
+        Assert.assertEquals(EyesSeleniumUtils.getElementsXPaths(executor, elements),
+                Arrays.asList("/HTML[1]/BODY[1]/DIV[1]", "/HTML[1]/BODY[1]/DIV[2]"));
+    }
+
+    @Test
+    public void testGetElementsBounds() {
+        List<WebElement> elements = Arrays.asList(mock(WebElement.class), mock(WebElement.class));
+        JavascriptExecutor executor = mock(JavascriptExecutor.class);
+        when(executor.executeScript(anyString(), eq(false), eq(true), eq(elements))).thenReturn(Arrays.asList(
+                Arrays.<Object>asList(null, 10.5, 20.4, 30.1, 40L),
+                Arrays.<Object>asList(null, 0L, 7.6, 0.2, 1.0)));
+
+        List<Rectangle> bounds = EyesSeleniumUtils.getElementsBounds(executor, elements);
+
+        // The location is rounded and the size is rounded up
+        Assert.assertEquals(bounds, Arrays.asList(new Rectangle(11, 20, 40, 31), new Rectangle(0, 8, 1, 1)));
+    }
+
+    @Test
+    public void testNoElementsDontRunScript() {
+        JavascriptExecutor executor = mock(JavascriptExecutor.class);
+
+        Assert.assertTrue(EyesSeleniumUtils.getElementsBounds(executor, new ArrayList<WebElement>()).isEmpty());
+        Assert.assertTrue(EyesSeleniumUtils.getElementsXPaths(executor, new ArrayList<WebElement>()).isEmpty());
+        verifyNoInteractions(executor);
+    }
+
+    @Test(expectedExceptions = EyesDriverOperationException.class)
+    public void testMissingResultsThrow() {
+        List<WebElement> elements = Arrays.asList(mock(WebElement.class), mock(WebElement.class));
+        JavascriptExecutor executor = mock(JavascriptExecutor.class);
+        when(executor.executeScript(anyString(), any(), any(), any())).thenReturn(
+                Collections.singletonList(Collections.singletonList("/HTML[1]")));
+
+        EyesSeleniumUtils.getElementsXPaths(executor, elements);
+    }
+}
@@ -0,0 +1,50 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.wrappers.ElementGeometryCache;
+import com.applitools.eyes.selenium.wrappers.EyesRemoteWebElement;
+import com.applitools.eyes.selenium.wrappers.EyesWebDriver;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestEyesRemoteWebElement extends ReportingTestSuite {
+
+    private EyesWebDriver driver;
+    private ElementGeometryCache geometryCache;
+    private EyesRemoteWebElement element;
+
+    public TestEyesRemoteWebElement() {
+        super.setGroupName("selenium");
+    }
+
+    @BeforeMethod
+    public void createElement() {
+        driver = mock(EyesWebDriver.class);
+        geometryCache = mock(ElementGeometryCache.class);
+        when(driver.getElementGeometryCache()).thenReturn(geometryCache);
+        ElementGeometryCache.ElementGeometry geometry = mock(ElementGeometryCache.ElementGeometry.class);
+        when(geometry.getComputedStyle("display")).thenReturn("block");
+        when(geometryCache.get(any(EyesRemoteWebElement.class))).thenReturn(geometry);
+        element = new EyesRemoteWebElement(new Logger(), driver, TestElementBoundsBatch.createElement("element"));
+    }
+
+    @Test
+    public void testGeometryStyleIsReadFromGeometry() {
+        Assert.assertEquals(element.getComputedStyle("display"), "block");
+        verify(driver, never()).executeScript(anyString(), any());
+    }
+
+    @Test
+    public void testOtherStyleDoesNotReadGeometry() {
+        when(driver.executeScript(anyString(), any())).thenReturn("red");
+
+        Assert.assertEquals(element.getComputedStyle("color"), "red");
+        verify(geometryCache, never()).get(any(EyesRemoteWebElement.class));
+        verify(driver, times(1)).executeScript(anyString(), any());
+    }
+}
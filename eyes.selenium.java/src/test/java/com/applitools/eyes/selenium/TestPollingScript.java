@@ -0,0 +1,187 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class TestPollingScript extends ReportingTestSuite {
+
+    private static final String NOT_INSTALLED = "__EYES__APPLITOOLS__NOT_INSTALLED__";
+    private static final String CHUNKED = "__EYES__APPLITOOLS__CHUNKED__:";
+    private static final String LIBRARY = "function pollLibrary() { return 'result'; }";
+
+    public TestPollingScript() {
+        super.setGroupName("selenium");
+    }
+
+    @Test
+    public void testInstallsLibraryWhenNotInstalled() throws IOException {
+        JavascriptExecutor driver = mock(JavascriptExecutor.class);
+        when(driver.executeScript(anyString())).thenReturn(NOT_INSTALLED, "result");
+
+        Reader reader = new PollingScript("pollLibrary", LIBRARY).poll(driver, new Logger());
+
+        Assert.assertEquals(readAll(reader), "result");
+        ArgumentCaptor<String> scripts = ArgumentCaptor.forClass(String.class);
+        verify(driver, times(2)).executeScript(scripts.capture());
+        Assert.assertFalse(scripts.getAllValues().get(0).contains(LIBRARY));
+        Assert.assertTrue(scripts.getAllValues().get(1).startsWith(LIBRARY));
+    }
+
+    @Test
+    public void testInstalledLibraryIsOnlyPolled() throws IOException {
+        JavascriptExecutor driver = mock(JavascriptExecutor.class);
+        when(driver.executeScript(anyString())).thenReturn("first", "second");
+
+        PollingScript pollingScript = new PollingScript("pollLibrary", LIBRARY);
+        Assert.assertEquals(readAll(pollingScript.poll(driver, new Logger())), "first");
+        Assert.assertEquals(readAll(pollingScript.poll(driver, new Logger())), "second");
+
+        ArgumentCaptor<String> scripts = ArgumentCaptor.forClass(String.class);
+        verify(driver, times(2)).executeScript(scripts.capture());
+        for (String script : scripts.getAllValues()) {
+            Assert.assertFalse(script.contains(LIBRARY));
+        }
+    }
+
+    @Test
+    public void testPollChecksVersionOfLibrary() {
+        JavascriptExecutor driver = mock(JavascriptExecutor.class);
+        when(driver.executeScript(anyString())).thenReturn("result");
+
+        new PollingScript("pollLibrary", LIBRARY).poll(driver, new Logger());
+        new PollingScript("pollLibrary", LIBRARY + "// changed").poll(driver, new Logger());
+
+        ArgumentCaptor<String> scripts = ArgumentCaptor.forClass(String.class);
+        verify(driver, times(2)).executeScript(scripts.capture());
+        List<String> pollScripts = scripts.getAllValues();
+        Assert.assertTrue(pollScripts.get(0).contains("'" + Integer.toHexString(LIBRARY.hashCode()) + "'"));
+        Assert.assertTrue(pollScripts.get(0).contains(NOT_INSTALLED));
+        // An older version installed in the page is reported as not installed, so the new library replaces it
+        Assert.assertNotEquals(pollScripts.get(0), pollScripts.get(1));
+        Assert.assertTrue(pollScripts.get(1).contains("'" + Integer.toHexString((LIBRARY + "// changed").hashCode()) + "'"));
+    }
+
+    @Test
+    public void testReinstallsLibraryAfterNavigation() throws IOException {
+        JavascriptExecutor driver = mock(JavascriptExecutor.class);
+        when(driver.executeScript(anyString())).thenReturn(NOT_INSTALLED, "first", NOT_INSTALLED, "second");
+
+        PollingScript pollingScript = new PollingScript("pollLibrary", LIBRARY);
+        Assert.assertEquals(readAll(pollingScript.poll(driver, new Logger())), "first");
+        Assert.assertEquals(readAll(pollingScript.poll(driver, new Logger())), "second");
+
+        ArgumentCaptor<String> scripts = ArgumentCaptor.forClass(String.class);
+        verify(driver, times(4)).executeScript(scripts.capture());
+        Assert.assertTrue(scripts.getAllValues().get(1).startsWith(LIBRARY));
+        Assert.assertTrue(scripts.getAllValues().get(3).startsWith(LIBRARY));
+    }
+
+    @Test
+    public void testChunkedResultOfExactMultipleLength() throws IOException {
+        ChunkedPage page = new ChunkedPage("abcdefgh", false);
+        Reader reader = new PollingScript("pollLibrary", LIBRARY, 4).poll(page.driver, new Logger());
+
+        Assert.assertEquals(readAll(reader), "abcdefgh");
+        Assert.assertEquals(page.chunkOffsets, Arrays.asList(0, 4));
+        Assert.assertEquals(page.releasesCount, 0);
+    }
+
+    @Test
+    public void testChunkedResultOfPartialLastChunk() throws IOException {
+        ChunkedPage page = new ChunkedPage("abcdefghij", false);
+        Reader reader = new PollingScript("pollLibrary", LIBRARY, 4).poll(page.driver, new Logger());
+
+        Assert.assertEquals(readAll(reader), "abcdefghij");
+        Assert.assertEquals(page.chunkOffsets, Arrays.asList(0, 4, 8));
+        Assert.assertEquals(page.releasesCount, 0);
+    }
+
+    @Test
+    public void testClosingBeforeEndReleasesResult() throws IOException {
+        ChunkedPage page = new ChunkedPage("abcdefghij", false);
+        Reader reader = new PollingScript("pollLibrary", LIBRARY, 4).poll(page.driver, new Logger());
+
+        char[] buffer = new char[4];
+        Assert.assertEquals(reader.read(buffer, 0, buffer.length), 4);
+        reader.close();
+
+        Assert.assertEquals(page.chunkOffsets, Collections.singletonList(0));
+        Assert.assertEquals(page.releasesCount, 1);
+    }
+
+    @Test
+    public void testFailedChunkReadThrowsAndReleasesResult() throws IOException {
+        ChunkedPage page = new ChunkedPage("abcdefghij", true);
+        Reader reader = new PollingScript("pollLibrary", LIBRARY, 4).poll(page.driver, new Logger());
+
+        char[] buffer = new char[4];
+        Assert.assertEquals(reader.read(buffer, 0, buffer.length), 4);
+        try {
+            reader.read(buffer, 0, buffer.length);
+            Assert.fail("The failure of the chunk script wasn't thrown");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getCause() instanceof WebDriverException);
+        }
+        reader.close();
+
+        Assert.assertEquals(page.releasesCount, 1);
+    }
+
+    /**
+     * A page whose poll returns a result which is read in chunks.
+     */
+    private static class ChunkedPage {
+        private final List<Integer> chunkOffsets = new ArrayList<>();
+        private int releasesCount = 0;
+        private final JavascriptExecutor driver;
+
+        ChunkedPage(final String result, final boolean shouldFailSecondChunk) {
+            driver = mock(JavascriptExecutor.class, new Answer<Object>() {
+                @Override
+                public Object answer(InvocationOnMock invocation) {
+                    String script = invocation.getArgument(0);
+                    if (script.contains("substring")) {
+                        int offset = invocation.getArgument(1);
+                        chunkOffsets.add(offset);
+                        if (shouldFailSecondChunk && chunkOffsets.size() == 2) {
+                            throw new WebDriverException("The page navigated");
+                        }
+                        return result.substring(offset, Math.min(result.length(), offset + 4));
+                    }
+                    if (script.contains("lib.result = null")) {
+                        releasesCount++;
+                        return null;
+                    }
+                    return CHUNKED + result.length();
+                }
+            });
+        }
+    }
+
+    static String readAll(Reader reader) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[7];
+        int count;
+        while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+            result.append(buffer, 0, count);
+        }
+        reader.close();
+        return result.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.applitools.eyes.selenium;
+
+import com.applitools.eyes.IEyesJsExecutor;
+import com.applitools.eyes.Location;
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.positioning.CssTranslatePositionProvider;
+import com.applitools.eyes.selenium.positioning.ElementPositionProvider;
+import com.applitools.eyes.selenium.wrappers.EyesRemoteWebElement;
+import com.applitools.eyes.selenium.wrappers.EyesWebDriver;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.mockito.InOrder;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestPositionProviders extends ReportingTestSuite {
+
+    public TestPositionProviders() {
+        super.setGroupName("selenium");
+    }
+
+    @Test
+    public void testCssTranslateSetsTemporaryTransformFirst() {
+        IEyesJsExecutor executor = mock(IEyesJsExecutor.class);
+        WebElement scrollRootElement = mock(WebElement.class);
+        CssTranslatePositionProvider positionProvider = new CssTranslatePositionProvider(new Logger(), executor, scrollRootElement);
+
+        Assert.assertEquals(positionProvider.setPosition(new Location(20, 30)), new Location(20, 30));
+
+        // Browsers apply the final transform only after a different transform, so each move takes two separate calls
+        InOrder inOrder = inOrder(executor);
+        inOrder.verify(executor).executeScript("arguments[0].style.transform='translate(10px,-30px)';", scrollRootElement);
+        inOrder.verify(executor).executeScript("arguments[0].style.transform='translate(-20px,-30px)';", scrollRootElement);
+        verifyNoMoreInteractions(executor);
+        Assert.assertEquals(positionProvider.getCurrentPosition(), new Location(20, 30));
+    }
+
+    @Test
+    public void testElementPositionIsReadInOneCall() {
+        EyesWebDriver driver = mock(EyesWebDriver.class);
+        when(driver.executeScript(anyString(), any())).thenReturn("12.5;40");
+        EyesRemoteWebElement element = new EyesRemoteWebElement(new Logger(), driver, TestElementBoundsBatch.createElement("element"));
+        ElementPositionProvider positionProvider = new ElementPositionProvider(new Logger(), driver, element);
+
+        Assert.assertEquals(positionProvider.getCurrentPosition(), new Location(13, 40));
+        verify(driver, times(1)).executeScript(anyString(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.applitools.eyes.selenium.wrappers;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.frames.FrameChain;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestEyesTargetLocator extends ReportingTestSuite {
+
+    private final Logger logger = new Logger();
+    private FrameChain frameChain;
+    private WebDriver.TargetLocator targetLocator;
+    private EyesTargetLocator eyesTargetLocator;
+    private WebElement frameA;
+    private WebElement frameB;
+    private WebElement frameC;
+
+    public TestEyesTargetLocator() {
+        super.setGroupName("selenium");
+    }
+
+    @BeforeMethod
+    public void createLocator() {
+        frameChain = new FrameChain(logger);
+        EyesWebDriver driver = mock(EyesWebDriver.class);
+        when(driver.getFrameChain()).thenReturn(frameChain);
+        when(driver.executeScript(anyString(), any())).thenReturn(
+                Arrays.<Object>asList(0L, 0L, 100L, 100L, 100L, 100L, 0L, 0L, 0L, 0L, 0L, 0L));
+        targetLocator = mock(WebDriver.TargetLocator.class);
+        eyesTargetLocator = new EyesTargetLocator(driver, logger, targetLocator);
+        frameA = mock(WebElement.class);
+        frameB = mock(WebElement.class);
+        frameC = mock(WebElement.class);
+    }
+
+    @Test
+    public void testGetCommonFramesCount() {
+        Assert.assertEquals(EyesTargetLocator.getCommonFramesCount(createFrameChain(frameA, frameB), createFrameChain(frameA, frameC)), 1);
+        Assert.assertEquals(EyesTargetLocator.getCommonFramesCount(createFrameChain(frameA, frameB), createFrameChain(frameA, frameB, frameC)), 2);
+        Assert.assertEquals(EyesTargetLocator.getCommonFramesCount(createFrameChain(frameA), createFrameChain(frameB)), 0);
+        Assert.assertEquals(EyesTargetLocator.getCommonFramesCount(createFrameChain(), createFrameChain(frameA)), 0);
+    }
+
+    @Test
+    public void testSwitchingToSiblingFrameOnlyLeavesDifferentFrames() {
+        FrameChain target = createFrameChain(frameA, frameC);
+        eyesTargetLocator.frame(frameA);
+        eyesTargetLocator.frame(frameB);
+        clearInvocations(targetLocator);
+
+        eyesTargetLocator.frames(target);
+
+        verify(targetLocator, times(1)).parentFrame();
+        verify(targetLocator, times(1)).frame(frameC);
+        verify(targetLocator, never()).frame(frameA);
+        verify(targetLocator, never()).defaultContent();
+        assertFrameChain(frameA, frameC);
+    }
+
+    @Test
+    public void testSwitchingToNestedFrameOnlyEntersNewFrames() {
+        FrameChain target = createFrameChain(frameA, frameB);
+        eyesTargetLocator.frame(frameA);
+        clearInvocations(targetLocator);
+
+        eyesTargetLocator.frames(target);
+
+        verify(targetLocator, times(1)).frame(frameB);
+        verify(targetLocator, never()).frame(frameA);
+        verify(targetLocator, never()).parentFrame();
+        verify(targetLocator, never()).defaultContent();
+        assertFrameChain(frameA, frameB);
+    }
+
+    @Test
+    public void testSwitchingToUnrelatedFrameStartsFromDefaultContent() {
+        FrameChain target = createFrameChain(frameC);
+        eyesTargetLocator.frame(frameA);
+        eyesTargetLocator.frame(frameB);
+        clearInvocations(targetLocator);
+
+        eyesTargetLocator.frames(target);
+
+        verify(targetLocator, times(1)).defaultContent();
+        verify(targetLocator, times(1)).frame(frameC);
+        verify(targetLocator, never()).parentFrame();
+        assertFrameChain(frameC);
+    }
+
+    /**
+     * Switches into the frames with the locator and returns a copy of the resulting chain.
+     */
+    private FrameChain createFrameChain(WebElement... frames) {
+        eyesTargetLocator.defaultContent();
+        for (WebElement frame : frames) {
+            eyesTargetLocator.frame(frame);
+        }
+        FrameChain result = new FrameChain(logger, frameChain);
+        eyesTargetLocator.defaultContent();
+        return result;
+    }
+
+    private void assertFrameChain(WebElement... frames) {
+        Assert.assertEquals(frameChain.size(), frames.length);
+        for (int i = 0; i < frames.length; i++) {
+            Assert.assertSame(frameChain.getAt(i).getReference(), frames[i]);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.applitools.eyes.selenium.wrappers;
+
+import com.applitools.eyes.Logger;
+import com.applitools.eyes.selenium.TestElementBoundsBatch;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TestEyesWebDriver extends ReportingTestSuite {
+
+    private RemoteWebDriver remoteDriver;
+    private EyesWebDriver driver;
+
+    public TestEyesWebDriver() {
+        super.setGroupName("selenium");
+    }
+
+    @BeforeMethod
+    public void createDriver() {
+        remoteDriver = mock(RemoteWebDriver.class);
+        when(remoteDriver.getSessionId()).thenReturn(new SessionId("session"));
+        when(remoteDriver.navigate()).thenReturn(mock(WebDriver.Navigation.class));
+        when(remoteDriver.executeScript(anyString())).thenReturn(Arrays.<Object>asList("user agent", 2.0));
+        driver = new EyesWebDriver(new Logger(), null, remoteDriver);
+    }
+
+    @Test
+    public void testElementIdsAreBounded() {
+        for (int i = 0; i < EyesWebDriver.MAX_ELEMENT_IDS; i++) {
+            findElement("element" + i);
+        }
+        Assert.assertEquals(driver.getElementIds().size(), EyesWebDriver.MAX_ELEMENT_IDS);
+
+        // Using the oldest element makes the second one the least recently used
+        Assert.assertNotNull(driver.getElementIds().get("element0"));
+        findElement("newElement");
+
+        Assert.assertEquals(driver.getElementIds().size(), EyesWebDriver.MAX_ELEMENT_IDS);
+        Assert.assertTrue(driver.getElementIds().containsKey("element0"));
+        Assert.assertFalse(driver.getElementIds().containsKey("element1"));
+        Assert.assertTrue(driver.getElementIds().containsKey("newElement"));
+    }
+
+    @Test
+    public void testElementIdsAreClearedOnGet() {
+        findElement("element");
+
+        driver.get("https://applitools.com");
+        Assert.assertTrue(driver.getElementIds().isEmpty());
+    }
+
+    @Test
+    public void testElementIdsAreClearedOnNavigation() {
+        findElement("element");
+        driver.navigate().to("https://applitools.com");
+        Assert.assertTrue(driver.getElementIds().isEmpty());
+
+        findElement("element");
+        driver.navigate().back();
+        Assert.assertTrue(driver.getElementIds().isEmpty());
+
+        findElement("element");
+        driver.navigate().forward();
+        Assert.assertTrue(driver.getElementIds().isEmpty());
+
+        findElement("element");
+        driver.navigate().refresh();
+        Assert.assertTrue(driver.getElementIds().isEmpty());
+    }
+
+    @Test
+    public void testEnvironmentIsReadOnce() {
+        Assert.assertEquals(driver.getUserAgent(), "user agent");
+        Assert.assertEquals(driver.getDevicePixelRatio(), 2f);
+        Assert.assertEquals(driver.getUserAgent(), "user agent");
+        Assert.assertEquals(driver.getDevicePixelRatio(), 2f);
+        verify(remoteDriver, times(1)).executeScript(anyString());
+    }
+
+    @Test
+    public void testEnvironmentIsReadAgainAfterNavigation() {
+        driver.getUserAgent();
+        driver.get("https://applitools.com");
+        driver.getUserAgent();
+        verify(remoteDriver, times(2)).executeScript(anyString());
+
+        driver.navigate().to("https://applitools.com");
+        driver.getDevicePixelRatio();
+        driver.navigate().back();
+        driver.getDevicePixelRatio();
+        driver.navigate().forward();
+        driver.getDevicePixelRatio();
+        driver.navigate().refresh();
+        driver.getDevicePixelRatio();
+        verify(remoteDriver, times(6)).executeScript(anyString());
+    }
+
+    @Test
+    public void testEnvironmentIsReadAgainAfterClear() {
+        when(remoteDriver.executeScript(anyString())).thenReturn(
+                Arrays.<Object>asList("user agent", 1.0), Arrays.<Object>asList("user agent", 2.0));
+        Assert.assertEquals(driver.getDevicePixelRatio(), 1f);
+
+        // The device pixel ratio might change when the browser is resized
+        driver.clearEnvironment();
+        Assert.assertEquals(driver.getDevicePixelRatio(), 2f);
+        verify(remoteDriver, times(2)).executeScript(anyString());
+    }
+
+    private void findElement(String id) {
+        By by = By.id(id);
+        RemoteWebElement element = TestElementBoundsBatch.createElement(id);
+        when(remoteDriver.findElement(by)).thenReturn(element);
+        driver.findElement(by);
+    }
+}
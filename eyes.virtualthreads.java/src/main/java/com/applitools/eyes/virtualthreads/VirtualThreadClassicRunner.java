@@ -0,0 +1,89 @@
+package com.applitools.eyes.virtualthreads;
+
+import com.applitools.eyes.EyesException;
+import com.applitools.eyes.TestResultsSummary;
+import com.applitools.eyes.selenium.ClassicRunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A classic runner which runs each test on its own virtual thread.
+ * The screenshots and server calls of a classic test block the test's thread, so running the tests
+ * on virtual threads lets many of them wait on the server at once.
+ */
+public class VirtualThreadClassicRunner extends ClassicRunner {
+
+    private final ExecutorService testExecutor = Executors.newThreadPerTaskExecutor(VirtualThreads.createThreadFactory("classicTest"));
+
+    // The number of tests started and not finished yet, guarded by this
+    private int runningTestsCount = 0;
+
+    /**
+     * Starts a test on a new virtual thread. The test should open and close its eyes with this runner.
+     * The failure of a test is thrown by {@link Future#get()}.
+     */
+    public <T> Future<T> runTest(final Callable<T> test) {
+        testStarted();
+        try {
+            return testExecutor.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    try {
+                        return test.call();
+                    } finally {
+                        testFinished();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            testFinished();
+            throw e;
+        }
+    }
+
+    public <T> List<Future<T>> runTests(Collection<? extends Callable<T>> tests) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> test : tests) {
+            futures.add(runTest(test));
+        }
+        return futures;
+    }
+
+    /**
+     * Waits for all the started tests to finish before collecting their results.
+     * Tests can still be started with this runner afterwards.
+     */
+    @Override
+    public TestResultsSummary getAllTestResultsImpl(boolean shouldThrowException) {
+        waitForRunningTests();
+        return super.getAllTestResultsImpl(shouldThrowException);
+    }
+
+    private synchronized void testStarted() {
+        runningTestsCount++;
+    }
+
+    private synchronized void testFinished() {
+        runningTestsCount--;
+        if (runningTestsCount == 0) {
+            notifyAll();
+        }
+    }
+
+    private synchronized void waitForRunningTests() {
+        try {
+            while (runningTestsCount > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EyesException("Interrupted while waiting for the running tests", e);
+        }
+    }
+}
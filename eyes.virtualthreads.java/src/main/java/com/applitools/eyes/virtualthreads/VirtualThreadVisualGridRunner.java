@@ -0,0 +1,38 @@
+package com.applitools.eyes.virtualthreads;
+
+import com.applitools.eyes.visualgrid.services.ServiceExecutorConfiguration;
+import com.applitools.eyes.visualgrid.services.VisualGridRunner;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A visual grid runner whose open, render, check and close tasks each run on their own virtual thread,
+ * as do its resource status checks, render status polls, stage timeouts and resource parsing.
+ * Blocking server calls and render status polls park the virtual thread instead of holding a pool thread,
+ * so thousands of checks can be in flight without tuning the service pools.
+ */
+public class VirtualThreadVisualGridRunner extends VisualGridRunner {
+
+    public VirtualThreadVisualGridRunner(int concurrentOpenSessions) {
+        this(concurrentOpenSessions, Thread.currentThread().getStackTrace()[2].getClassName());
+    }
+
+    public VirtualThreadVisualGridRunner(int concurrentOpenSessions, String suiteName) {
+        super(concurrentOpenSessions, suiteName, createExecutorConfigurations());
+    }
+
+    @Override
+    protected ThreadFactory createThreadFactory(String serviceName) {
+        return VirtualThreads.createThreadFactory(serviceName);
+    }
+
+    private static Map<Service, ServiceExecutorConfiguration> createExecutorConfigurations() {
+        Map<Service, ServiceExecutorConfiguration> executorConfigurations = new EnumMap<>(Service.class);
+        for (Service service : Service.values()) {
+            executorConfigurations.put(service, VirtualThreads.createExecutorConfiguration(service.name().toLowerCase()));
+        }
+        return executorConfigurations;
+    }
+}
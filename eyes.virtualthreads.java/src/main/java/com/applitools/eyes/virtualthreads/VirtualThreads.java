@@ -0,0 +1,34 @@
+package com.applitools.eyes.virtualthreads;
+
+import com.applitools.eyes.visualgrid.services.ServiceExecutorConfiguration;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the thread settings which run the SDK's blocking work on virtual threads.
+ */
+public final class VirtualThreads {
+
+    private static final long KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private VirtualThreads() {
+    }
+
+    public static ThreadFactory createThreadFactory(String namePrefix) {
+        return Thread.ofVirtual().name(namePrefix + "-", 1).factory();
+    }
+
+    /**
+     * @return Service pool settings which start a virtual thread for each task instead of queueing it,
+     * so the number of concurrent tasks isn't bound by the pool size.
+     */
+    public static ServiceExecutorConfiguration createExecutorConfiguration(String namePrefix) {
+        return new ServiceExecutorConfiguration()
+                .setCorePoolSize(1)
+                .setMaximumPoolSize(Integer.MAX_VALUE)
+                .setQueueCapacity(0)
+                .setKeepAliveMillis(KEEP_ALIVE_MILLIS)
+                .setThreadFactory(createThreadFactory(namePrefix));
+    }
+}
@@ -0,0 +1,43 @@
+package com.applitools.eyes.virtualthreads;
+
+import com.applitools.eyes.utils.ReportingTestSuite;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestVirtualThreadClassicRunner extends ReportingTestSuite {
+
+    public TestVirtualThreadClassicRunner() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testGetAllTestResultsWaitsForRunningTests() throws Exception {
+        VirtualThreadClassicRunner runner = new VirtualThreadClassicRunner();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> test = runner.runTest(() -> {
+            started.countDown();
+            Thread.sleep(200);
+            return true;
+        });
+
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        runner.getAllTestResults(false);
+        Assert.assertTrue(test.isDone());
+        Assert.assertTrue(test.get());
+    }
+
+    @Test
+    public void testRunnerIsUsableAfterGetAllTestResults() throws Exception {
+        VirtualThreadClassicRunner runner = new VirtualThreadClassicRunner();
+        Assert.assertTrue(runner.runTest(() -> true).get(10, TimeUnit.SECONDS));
+        runner.getAllTestResults(false);
+
+        Future<Boolean> test = runner.runTest(() -> true);
+        runner.getAllTestResults(false);
+        Assert.assertTrue(test.get(10, TimeUnit.SECONDS));
+    }
+}
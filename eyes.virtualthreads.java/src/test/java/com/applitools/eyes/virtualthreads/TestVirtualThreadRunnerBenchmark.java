@@ -0,0 +1,81 @@
+package com.applitools.eyes.virtualthreads;
+
+import com.applitools.ICheckSettings;
+import com.applitools.eyes.*;
+import com.applitools.eyes.fluent.CheckSettings;
+import com.applitools.eyes.selenium.IConfigurationGetter;
+import com.applitools.eyes.utils.ReportingTestSuite;
+import com.applitools.eyes.visualgrid.model.RenderStatusResults;
+import com.applitools.eyes.visualgrid.model.VisualGridSelector;
+import com.applitools.eyes.visualgrid.services.*;
+import org.mockito.ArgumentMatchers;
+import org.mockito.stubbing.Answer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the platform thread runner with the virtual thread runner on many tests whose server calls block,
+ * using a local stub connector.
+ */
+public class TestVirtualThreadRunnerBenchmark extends ReportingTestSuite {
+
+    private static final int TESTS_COUNT = 200;
+    private static final long SERVER_CALL_MILLIS = 100;
+    // Virtual threads should be faster here, this only allows for the scheduling noise of a single run
+    private static final double MAX_RELATIVE_TIME = 1.25;
+
+    public TestVirtualThreadRunnerBenchmark() {
+        super.setGroupName("core");
+    }
+
+    @Test
+    public void testCompareRunners() {
+        long platformMillis = runTests(new VisualGridRunner(TESTS_COUNT, "platform threads"));
+        long virtualMillis = runTests(new VirtualThreadVisualGridRunner(TESTS_COUNT, "virtual threads"));
+
+        Logger logger = new Logger();
+        logger.setLogHandler(new StdoutLogHandler());
+        logger.log(String.format("%d tests - platform threads: %dms, virtual threads: %dms", TESTS_COUNT, platformMillis, virtualMillis));
+        Assert.assertTrue(virtualMillis <= platformMillis * MAX_RELATIVE_TIME,
+                String.format("Virtual threads took %dms while platform threads took %dms", virtualMillis, platformMillis));
+    }
+
+    private long runTests(VisualGridRunner runner) {
+        IEyesConnector connector = mock(IEyesConnector.class);
+        Answer<Object> serverCall = invocation -> {
+            Thread.sleep(SERVER_CALL_MILLIS);
+            return null;
+        };
+        doAnswer(serverCall).when(connector).open(any(IConfigurationGetter.class), nullable(String.class), nullable(String.class));
+        doAnswer(serverCall).when(connector).matchWindow(nullable(String.class), nullable(String.class), nullable(ICheckSettings.class),
+                ArgumentMatchers.<List<? extends IRegion>>any(), ArgumentMatchers.<List<VisualGridSelector[]>>any(),
+                nullable(Location.class), nullable(String.class), nullable(String.class));
+        doAnswer(serverCall).when(connector).close(anyBoolean());
+
+        long start = System.nanoTime();
+        List<StubRenderingEyes> allEyes = new ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT; i++) {
+            StubRenderingEyes eyes = new StubRenderingEyes(runner, connector, "benchmark");
+            runner.open(eyes, null);
+            eyes.getRunningTest().open().setRenderResult(new RenderStatusResults());
+            eyes.getRunningTest().check(new CheckSettings(0), new ArrayList<VisualGridSelector[]>(), "benchmark")
+                    .setRenderResult(new RenderStatusResults());
+            eyes.close();
+            allEyes.add(eyes);
+        }
+        TestResultsSummary summary = runner.getAllTestResults(false);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertEquals(summary.getAllResults().length, TESTS_COUNT);
+        for (StubRenderingEyes eyes : allEyes) {
+            Assert.assertTrue(eyes.isEyesClosed());
+        }
+        return elapsedMillis;
+    }
+}